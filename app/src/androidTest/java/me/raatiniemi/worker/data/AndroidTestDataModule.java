@@ -30,7 +30,7 @@ public class AndroidTestDataModule extends DataModule {
 
     @NonNull
     @Override
-    WorkerDatabase providesWorkerDatabase() {
+    WorkerDatabase createWorkerDatabase() {
         return WorkerDatabase.inMemory(context);
     }
 }
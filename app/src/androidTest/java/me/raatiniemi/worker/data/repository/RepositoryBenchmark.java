@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.repository.PageRequest;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.domain.repository.TimesheetRepository;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compare the repositories going through the content provider with the
+ * repositories using the database directly.
+ * <p>
+ * Both implementations are reading from the same database, i.e. the results
+ * have to be equal and only the time spent should differ.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class RepositoryBenchmark {
+    private static final String TAG = "RepositoryBenchmark";
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int ITERATIONS = 100;
+    private static final int NUMBER_OF_DAYS = 120;
+    private static final int TIME_PER_DAY = 4;
+
+    private ProjectRepository projectResolverRepository;
+    private ProjectRepository projectDatabaseRepository;
+    private TimeRepository timeResolverRepository;
+    private TimeRepository timeDatabaseRepository;
+    private TimesheetRepository timesheetResolverRepository;
+    private TimesheetRepository timesheetDatabaseRepository;
+
+    private Project project;
+
+    private interface Operation {
+        Object execute(RepositorySet repositories) throws Exception;
+    }
+
+    private static class RepositorySet {
+        private final ProjectRepository projects;
+        private final TimeRepository time;
+        private final TimesheetRepository timesheet;
+
+        private RepositorySet(
+                ProjectRepository projects,
+                TimeRepository time,
+                TimesheetRepository timesheet
+        ) {
+            this.projects = projects;
+            this.time = time;
+            this.timesheet = timesheet;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        ContentResolver contentResolver = InstrumentationRegistry.getTargetContext()
+                .getContentResolver();
+        WorkerDatabase database = WorkerApplication.getInstance()
+                .getDataComponent()
+                .database();
+
+        projectResolverRepository = new ProjectResolverRepository(contentResolver);
+        projectDatabaseRepository = new ProjectDatabaseRepository(contentResolver, database);
+        timeResolverRepository = new TimeResolverRepository(contentResolver);
+        timeDatabaseRepository = new TimeDatabaseRepository(contentResolver, database);
+        timesheetResolverRepository = new TimesheetResolverRepository(contentResolver);
+        timesheetDatabaseRepository = new TimesheetDatabaseRepository(contentResolver, database);
+
+        project = projectDatabaseRepository.add(Project.builder(TAG).build()).get();
+
+        List<Time> times = new ArrayList<>();
+        long start = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(NUMBER_OF_DAYS);
+        for (int day = 0; day < NUMBER_OF_DAYS; day++) {
+            for (int i = 0; i < TIME_PER_DAY; i++) {
+                long startInMilliseconds = start + TimeUnit.HOURS.toMillis(2 * i);
+
+                times.add(
+                        Time.builder(project.getId())
+                                .startInMilliseconds(startInMilliseconds)
+                                .stopInMilliseconds(startInMilliseconds + TimeUnit.HOURS.toMillis(1))
+                                .build()
+                );
+            }
+
+            start += TimeUnit.DAYS.toMillis(1);
+        }
+        timeDatabaseRepository.add(times);
+    }
+
+    @After
+    public void tearDown() {
+        projectDatabaseRepository.remove(project.getId());
+    }
+
+    private void benchmark(String name, Operation operation) throws Exception {
+        RepositorySet resolver = new RepositorySet(
+                projectResolverRepository,
+                timeResolverRepository,
+                timesheetResolverRepository
+        );
+        RepositorySet database = new RepositorySet(
+                projectDatabaseRepository,
+                timeDatabaseRepository,
+                timesheetDatabaseRepository
+        );
+
+        assertEquals(name, operation.execute(resolver), operation.execute(database));
+
+        long resolverNanos = measure(resolver, operation);
+        long databaseNanos = measure(database, operation);
+
+        Log.i(TAG, String.format(
+                "%s: resolver %d µs/op, database %d µs/op",
+                name,
+                TimeUnit.NANOSECONDS.toMicros(resolverNanos / ITERATIONS),
+                TimeUnit.NANOSECONDS.toMicros(databaseNanos / ITERATIONS)
+        ));
+    }
+
+    private static long measure(RepositorySet repositories, Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.execute(repositories);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.execute(repositories);
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    public void getProjects() throws Exception {
+        benchmark("getProjects", repositories -> repositories.projects.get());
+    }
+
+    @Test
+    public void getProject() throws Exception {
+        benchmark("getProject", repositories -> repositories.projects.get(project.getId()));
+    }
+
+    @Test
+    public void getActiveProjects() throws Exception {
+        benchmark("getActiveProjects", repositories -> repositories.projects.getActive());
+    }
+
+    @Test
+    public void getElapsedTimeForProjectSince() throws Exception {
+        long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(7);
+
+        benchmark("getElapsedTimeForProjectSince", repositories -> {
+            ElapsedTime elapsedTime = repositories.time.getElapsedTimeForProjectSince(project.getId(), since);
+
+            // The elapsed time do not implement equals, i.e. the values have
+            // to be compared instead of the instances.
+            return Arrays.asList(
+                    elapsedTime.getRegisteredInMilliseconds(),
+                    elapsedTime.getActiveStartInMilliseconds()
+            );
+        });
+    }
+
+    @Test
+    public void summarizeProjectTime() throws Exception {
+        long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+
+        benchmark(
+                "summarizeProjectTime",
+                repositories -> repositories.time.summarizeProjectTimeSinceStartingPointInMilliseconds(since)
+        );
+    }
+
+    @Test
+    public void getTimesheet() throws Exception {
+        benchmark(
+                "getTimesheet",
+                repositories -> repositories.timesheet.getTimesheet(
+                        project.getId(),
+                        PageRequest.withOffset(0)
+                )
+        );
+    }
+
+    @Test
+    public void getTimesheetWithoutRegisteredEntries() throws Exception {
+        benchmark(
+                "getTimesheetWithoutRegisteredEntries",
+                repositories -> repositories.timesheet.getTimesheetWithoutRegisteredEntries(
+                        project.getId(),
+                        PageRequest.withOffset(0)
+                )
+        );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.util;
+
+import android.os.Debug;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+import me.raatiniemi.worker.domain.model.CalculatedTime;
+import me.raatiniemi.worker.domain.util.CalculateTime;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compare the interval formats with the previous implementations, which
+ * were using {@link String#format} with the calculated time.
+ * <p>
+ * Both the throughput and the number of allocations on the thread is logged.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class IntervalFormatBenchmark {
+    private static final String TAG = "IntervalFormatBenchmark";
+
+    private static final int WARMUP_ITERATIONS = 10000;
+    private static final int ITERATIONS = 100000;
+
+    // Intervals from zero up to a long working day, with seconds.
+    private static final long STEP_IN_MILLISECONDS = 37000L;
+    private static final long MAX_INTERVAL_IN_MILLISECONDS = 12 * 3600000L;
+
+    private static final DateIntervalFormat previousFractionFormat = milliseconds -> {
+        CalculatedTime calculatedTime = CalculateTime.calculateTime(milliseconds);
+
+        return String.format(
+                Locale.forLanguageTag("en_US"),
+                "%.2f",
+                calculatedTime.getHours() + (float) calculatedTime.getMinutes() / 60
+        );
+    };
+
+    private static final DateIntervalFormat previousHoursMinutesFormat = milliseconds -> {
+        CalculatedTime calculatedTime = CalculateTime.calculateTime(milliseconds);
+
+        return String.format(
+                Locale.forLanguageTag("en_US"),
+                0 == calculatedTime.getHours() ? "%2$dm" : "%1$dh %2$dm",
+                calculatedTime.getHours(),
+                calculatedTime.getMinutes()
+        );
+    };
+
+    private static long intervalForIteration(int iteration) {
+        return iteration * STEP_IN_MILLISECONDS % MAX_INTERVAL_IN_MILLISECONDS;
+    }
+
+    private static void run(DateIntervalFormat intervalFormat, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            intervalFormat.format(intervalForIteration(i));
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void measure(String name, DateIntervalFormat intervalFormat) {
+        run(intervalFormat, WARMUP_ITERATIONS);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+        run(intervalFormat, ITERATIONS);
+        long nanos = System.nanoTime() - start;
+        Debug.stopAllocCounting();
+
+        Log.i(TAG, String.format(
+                Locale.ROOT,
+                "%s: %d ns/op, %.2f allocations/op",
+                name,
+                nanos / ITERATIONS,
+                (double) Debug.getThreadAllocCount() / ITERATIONS
+        ));
+    }
+
+    private static void benchmark(
+            String name,
+            DateIntervalFormat previousFormat,
+            DateIntervalFormat intervalFormat
+    ) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            long interval = intervalForIteration(i);
+
+            assertEquals(previousFormat.format(interval), intervalFormat.format(interval));
+        }
+
+        measure(name + " (previous)", previousFormat);
+        measure(name, intervalFormat);
+    }
+
+    @Test
+    public void fractionIntervalFormat() {
+        benchmark(
+                "FractionIntervalFormat",
+                previousFractionFormat,
+                new FractionIntervalFormat()
+        );
+    }
+
+    @Test
+    public void hoursMinutesIntervalFormat() {
+        benchmark(
+                "HoursMinutesIntervalFormat",
+                previousHoursMinutesFormat,
+                new HoursMinutesIntervalFormat()
+        );
+    }
+}
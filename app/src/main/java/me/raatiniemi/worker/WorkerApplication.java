@@ -82,6 +82,7 @@ public class WorkerApplication extends Application {
 
     private static WorkerApplication instance;
 
+    private DataModule dataModule;
     private DataComponent dataComponent;
     private ProjectComponent projectComponent;
     private ProjectsComponent projectsComponent;
@@ -96,7 +97,7 @@ public class WorkerApplication extends Application {
         }
 
         AndroidModule androidModule = createAndroidModule();
-        DataModule dataModule = createDataModule();
+        dataModule = createDataModule();
         PreferenceModule preferenceModule = createPreferenceModule();
         dataComponent = DaggerDataComponent.builder()
                 .dataModule(dataModule)
@@ -128,6 +129,13 @@ public class WorkerApplication extends Application {
         }
     }
 
+    @Override
+    public void onTerminate() {
+        dataModule.close();
+
+        super.onTerminate();
+    }
+
     public static synchronized WorkerApplication getInstance() {
         if (null == instance) {
             throw new NoApplicationInstanceException();
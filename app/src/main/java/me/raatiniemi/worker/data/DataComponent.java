@@ -19,6 +19,7 @@ package me.raatiniemi.worker.data;
 import javax.inject.Singleton;
 
 import dagger.Component;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
 import me.raatiniemi.worker.data.provider.WorkerProvider;
 import me.raatiniemi.worker.data.service.ongoing.OngoingService;
 import me.raatiniemi.worker.presentation.PreferenceModule;
@@ -29,6 +30,8 @@ import me.raatiniemi.worker.presentation.PreferenceModule;
         PreferenceModule.class
 })
 public interface DataComponent {
+    WorkerDatabase database();
+
     void inject(WorkerProvider provider);
 
     void inject(OngoingService service);
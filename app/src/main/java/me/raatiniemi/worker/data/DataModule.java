@@ -16,6 +16,7 @@
 
 package me.raatiniemi.worker.data;
 
+import android.content.ContentResolver;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
@@ -24,8 +25,12 @@ import javax.inject.Singleton;
 import dagger.Module;
 import dagger.Provides;
 import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.data.repository.CachedProjectRepository;
+import me.raatiniemi.worker.data.repository.ProjectDatabaseRepository;
 import me.raatiniemi.worker.data.repository.ProjectResolverRepository;
+import me.raatiniemi.worker.data.repository.TimeDatabaseRepository;
 import me.raatiniemi.worker.data.repository.TimeResolverRepository;
+import me.raatiniemi.worker.data.repository.TimesheetDatabaseRepository;
 import me.raatiniemi.worker.data.repository.TimesheetResolverRepository;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
@@ -35,35 +40,107 @@ import me.raatiniemi.worker.domain.repository.TimesheetRepository;
 public class DataModule {
     final Context context;
 
+    /**
+     * Whether the repositories should use the database directly, or go
+     * through the content provider.
+     * <p>
+     * Within the application there is no need for the overhead of the
+     * provider, e.g. building and parsing uris and the cursor window
+     * copying, the provider is kept for external access.
+     */
+    private final boolean useDatabaseRepositories;
+
+    /**
+     * The module is shared between the components, each with its own scope,
+     * i.e. the database have to be kept by the module to make sure that the
+     * provider and repositories are using the same connection pool.
+     */
+    private WorkerDatabase database;
+
+    /**
+     * The cached projects have to be shared between the components as well,
+     * otherwise each component would observe and cache the projects on its own.
+     */
+    private CachedProjectRepository projectRepository;
+
     public DataModule(@NonNull Context context) {
+        this(context, true);
+    }
+
+    public DataModule(@NonNull Context context, boolean useDatabaseRepositories) {
         this.context = context;
+        this.useDatabaseRepositories = useDatabaseRepositories;
+    }
+
+    /**
+     * Release the resources held by the module, i.e. stop observing changes
+     * for the cached projects.
+     */
+    public synchronized void close() {
+        if (null != projectRepository) {
+            projectRepository.close();
+            projectRepository = null;
+        }
+    }
+
+    @NonNull
+    WorkerDatabase createWorkerDatabase() {
+        return new WorkerDatabase(context);
     }
 
     @NonNull
     @Provides
     @Singleton
-    WorkerDatabase providesWorkerDatabase() {
-        return new WorkerDatabase(context);
+    synchronized WorkerDatabase providesWorkerDatabase() {
+        if (null == database) {
+            database = createWorkerDatabase();
+        }
+
+        return database;
     }
 
     @NonNull
     @Provides
     @Singleton
-    ProjectRepository providesProjectRepository() {
-        return new ProjectResolverRepository(context.getContentResolver());
+    synchronized ProjectRepository providesProjectRepository(@NonNull WorkerDatabase database) {
+        if (null != projectRepository) {
+            return projectRepository;
+        }
+
+        ContentResolver contentResolver = context.getContentResolver();
+
+        ProjectRepository repository;
+        if (useDatabaseRepositories) {
+            repository = new ProjectDatabaseRepository(contentResolver, database);
+        } else {
+            repository = new ProjectResolverRepository(contentResolver);
+        }
+
+        projectRepository = new CachedProjectRepository(contentResolver, repository);
+        return projectRepository;
     }
 
     @NonNull
     @Provides
     @Singleton
-    TimeRepository providesTimeRepository() {
-        return new TimeResolverRepository(context.getContentResolver());
+    TimeRepository providesTimeRepository(@NonNull WorkerDatabase database) {
+        ContentResolver contentResolver = context.getContentResolver();
+        if (useDatabaseRepositories) {
+            return new TimeDatabaseRepository(contentResolver, database);
+        }
+
+        return new TimeResolverRepository(contentResolver);
     }
 
     @NonNull
     @Provides
     @Singleton
-    TimesheetRepository providesTimesheetRepository() {
-        return new TimesheetResolverRepository(context.getContentResolver());
+    TimesheetRepository providesTimesheetRepository(@NonNull WorkerDatabase database) {
+        ContentResolver contentResolver = context.getContentResolver();
+        if (useDatabaseRepositories) {
+            return new TimesheetDatabaseRepository(contentResolver, database);
+        }
+
+        return new TimesheetResolverRepository(contentResolver);
     }
 }
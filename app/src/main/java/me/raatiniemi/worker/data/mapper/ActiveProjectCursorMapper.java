@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.mapper;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+import java.util.Collections;
+
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+
+/**
+ * Handle transformation from {@link Cursor} to {@link Project} with its active {@link Time}.
+ * <p>
+ * The cursor is expected to contain the columns from
+ * {@link ProviderContract.Project#getActiveColumns()}.
+ */
+public class ActiveProjectCursorMapper implements CursorMapper<Project> {
+    private final ProjectCursorMapper projectCursorMapper = new ProjectCursorMapper();
+
+    @Override
+    @NonNull
+    public Project transform(@NonNull Cursor cursor) throws DomainException {
+        return bind(cursor).transform(cursor);
+    }
+
+    @Override
+    @NonNull
+    public Bound bind(@NonNull Cursor cursor) {
+        return new Bound(projectCursorMapper.bind(cursor), cursor);
+    }
+
+    public static final class Bound implements BoundCursorMapper<Project> {
+        private final ProjectCursorMapper.Bound projectMapper;
+        private final int idIndex;
+        private final int projectIdIndex;
+        private final int startIndex;
+        private final int registeredIndex;
+
+        private Bound(@NonNull ProjectCursorMapper.Bound projectMapper, @NonNull Cursor cursor) {
+            this.projectMapper = projectMapper;
+
+            idIndex = cursor.getColumnIndexOrThrow(ProviderContract.Project.TIME_ID);
+            projectIdIndex = cursor.getColumnIndexOrThrow(TimeColumns.PROJECT_ID);
+            startIndex = cursor.getColumnIndexOrThrow(TimeColumns.START);
+            registeredIndex = cursor.getColumnIndexOrThrow(TimeColumns.REGISTERED);
+        }
+
+        @Override
+        @NonNull
+        public Project transform(@NonNull Cursor cursor) throws DomainException {
+            Project project = projectMapper.transform(cursor);
+
+            long id = cursor.getLong(idIndex);
+            long projectId = cursor.getLong(projectIdIndex);
+            long start = cursor.getLong(startIndex);
+            long registered = cursor.getLong(registeredIndex);
+
+            Time.Builder builder = Time.builder(projectId)
+                    .id(id)
+                    .startInMilliseconds(start);
+
+            if (0 != registered) {
+                builder.register();
+            }
+
+            project.addTime(Collections.singletonList(builder.build()));
+            return project;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.mapper;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+
+/**
+ * Interface for transforming rows from a {@link Cursor} to domain entity, with
+ * the column indexes resolved when the mapper was bound to the cursor.
+ * <p>
+ * The bound mapper is only valid for the cursor it was bound to, or cursors
+ * with the same set of columns.
+ *
+ * @param <T> Type reference from the domain entity.
+ */
+public interface BoundCursorMapper<T> {
+    /**
+     * Transform the current row of the cursor.
+     *
+     * @param cursor Cursor positioned at the row to transform.
+     * @return Domain entity for the row.
+     * @throws DomainException If domain rules are violated.
+     */
+    @NonNull
+    T transform(@NonNull Cursor cursor) throws DomainException;
+}
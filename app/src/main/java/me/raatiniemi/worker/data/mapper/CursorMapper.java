@@ -31,4 +31,14 @@ interface CursorMapper<T> extends EntityMapper<T, Cursor> {
     @Override
     @NonNull
     T transform(@NonNull Cursor cursor) throws DomainException;
+
+    /**
+     * Bind the mapper to the cursor, i.e. resolve the column indexes once
+     * instead of for every row that is transformed.
+     *
+     * @param cursor Cursor to bind the mapper to.
+     * @return Mapper bound to the column indexes of the cursor.
+     */
+    @NonNull
+    BoundCursorMapper<T> bind(@NonNull Cursor cursor);
 }
@@ -31,6 +31,7 @@ public class ProjectContentValuesMapper implements ContentValuesMapper<Project>
     public ContentValues transform(@NonNull Project entity) {
         ContentValues contentValues = new ContentValues();
         contentValues.put(ProjectColumns.NAME, entity.getName());
+        contentValues.put(ProjectColumns.DAILY_TARGET, entity.getDailyTargetInMinutes());
 
         return contentValues;
     }
@@ -31,11 +31,43 @@ public class ProjectCursorMapper implements CursorMapper<Project> {
     @Override
     @NonNull
     public Project transform(@NonNull Cursor cursor) throws InvalidProjectNameException {
-        long id = cursor.getLong(cursor.getColumnIndexOrThrow(BaseColumns._ID));
-        String name = cursor.getString(cursor.getColumnIndexOrThrow(ProjectColumns.NAME));
+        return bind(cursor).transform(cursor);
+    }
+
+    @Override
+    @NonNull
+    public Bound bind(@NonNull Cursor cursor) {
+        return new Bound(cursor);
+    }
+
+    public static final class Bound implements BoundCursorMapper<Project> {
+        private final int idIndex;
+        private final int nameIndex;
+        private final int dailyTargetIndex;
+
+        private Bound(@NonNull Cursor cursor) {
+            idIndex = cursor.getColumnIndexOrThrow(BaseColumns._ID);
+            nameIndex = cursor.getColumnIndexOrThrow(ProjectColumns.NAME);
+
+            // The daily target is optional, projects without it will use the
+            // default target.
+            dailyTargetIndex = cursor.getColumnIndex(ProjectColumns.DAILY_TARGET);
+        }
+
+        @Override
+        @NonNull
+        public Project transform(@NonNull Cursor cursor) throws InvalidProjectNameException {
+            long id = cursor.getLong(idIndex);
+            String name = cursor.getString(nameIndex);
+
+            Project.Builder builder = Project.builder(name)
+                    .id(id);
+
+            if (0 <= dailyTargetIndex && !cursor.isNull(dailyTargetIndex)) {
+                builder.dailyTargetInMinutes(cursor.getLong(dailyTargetIndex));
+            }
 
-        return Project.builder(name)
-                .id(id)
-                .build();
+            return builder.build();
+        }
     }
 }
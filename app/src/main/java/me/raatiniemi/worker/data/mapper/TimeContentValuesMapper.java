@@ -20,6 +20,7 @@ import android.content.ContentValues;
 import android.support.annotation.NonNull;
 
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.util.DayKey;
 import me.raatiniemi.worker.domain.model.Time;
 
 /**
@@ -34,6 +35,7 @@ public class TimeContentValuesMapper implements ContentValuesMapper<Time> {
         contentValues.put(TimeColumns.START, entity.getStartInMilliseconds());
         contentValues.put(TimeColumns.STOP, entity.getStopInMilliseconds());
         contentValues.put(TimeColumns.REGISTERED, entity.isRegistered() ? 1L : 0L);
+        contentValues.put(TimeColumns.DAY, DayKey.fromMilliseconds(entity.getStartInMilliseconds()));
 
         return contentValues;
     }
@@ -23,6 +23,7 @@ import android.support.annotation.NonNull;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
 import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
 import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
 
 /**
  * Handle transformation from {@link Cursor} to {@link Time}.
@@ -31,24 +32,69 @@ public class TimeCursorMapper implements CursorMapper<Time> {
     @Override
     @NonNull
     public Time transform(@NonNull Cursor cursor) throws ClockOutBeforeClockInException {
-        long id = cursor.getLong(cursor.getColumnIndexOrThrow(BaseColumns._ID));
-        long projectId = cursor.getLong(cursor.getColumnIndexOrThrow(TimeColumns.PROJECT_ID));
-        long start = cursor.getLong(cursor.getColumnIndexOrThrow(TimeColumns.START));
-
-        // Handle the nullability of the `stop`-column.
-        int stopIndex = cursor.getColumnIndexOrThrow(TimeColumns.STOP);
-        long stop = !cursor.isNull(stopIndex) ? cursor.getLong(stopIndex) : 0;
-        long registered = cursor.getLong(cursor.getColumnIndexOrThrow(TimeColumns.REGISTERED));
-
-        Time.Builder builder = Time.builder(projectId)
-                .id(id)
-                .startInMilliseconds(start)
-                .stopInMilliseconds(stop);
-
-        if (0 != registered) {
-            builder.register();
+        return bind(cursor).transform(cursor);
+    }
+
+    @Override
+    @NonNull
+    public Bound bind(@NonNull Cursor cursor) {
+        return new Bound(cursor);
+    }
+
+    public static final class Bound implements BoundCursorMapper<Time> {
+        private final int idIndex;
+        private final int projectIdIndex;
+        private final int startIndex;
+        private final int stopIndex;
+        private final int registeredIndex;
+
+        private Bound(@NonNull Cursor cursor) {
+            idIndex = cursor.getColumnIndexOrThrow(BaseColumns._ID);
+            projectIdIndex = cursor.getColumnIndexOrThrow(TimeColumns.PROJECT_ID);
+            startIndex = cursor.getColumnIndexOrThrow(TimeColumns.START);
+            stopIndex = cursor.getColumnIndexOrThrow(TimeColumns.STOP);
+            registeredIndex = cursor.getColumnIndexOrThrow(TimeColumns.REGISTERED);
         }
 
-        return builder.build();
+        @Override
+        @NonNull
+        public Time transform(@NonNull Cursor cursor) throws ClockOutBeforeClockInException {
+            long id = cursor.getLong(idIndex);
+            long projectId = cursor.getLong(projectIdIndex);
+            long start = cursor.getLong(startIndex);
+
+            // Handle the nullability of the `stop`-column.
+            long stop = !cursor.isNull(stopIndex) ? cursor.getLong(stopIndex) : 0;
+            long registered = cursor.getLong(registeredIndex);
+
+            Time.Builder builder = Time.builder(projectId)
+                    .id(id)
+                    .startInMilliseconds(start)
+                    .stopInMilliseconds(stop);
+
+            if (0 != registered) {
+                builder.register();
+            }
+
+            return builder.build();
+        }
+
+        /**
+         * Append the current row of the cursor to the series, i.e. without
+         * transforming the row to {@link Time}.
+         *
+         * @param cursor Cursor positioned at the row to append.
+         * @param series Series to append the row to.
+         */
+        public void appendTo(@NonNull Cursor cursor, @NonNull TimeSeries series) {
+            long stop = !cursor.isNull(stopIndex) ? cursor.getLong(stopIndex) : 0;
+
+            series.add(
+                    cursor.getLong(idIndex),
+                    cursor.getLong(startIndex),
+                    stop,
+                    0 != cursor.getLong(registeredIndex)
+            );
+        }
     }
 }
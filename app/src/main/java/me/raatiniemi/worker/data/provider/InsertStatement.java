@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.provider;
+
+import android.content.ContentValues;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiled insert statement for a table and a fixed set of columns.
+ * <p>
+ * The statement is compiled once and can be executed for any number of rows
+ * with the same set of columns, i.e. the statement is reused within a bulk insert.
+ */
+public final class InsertStatement {
+    private final List<String> columns;
+    private final SQLiteStatement statement;
+
+    private InsertStatement(List<String> columns, SQLiteStatement statement) {
+        this.columns = columns;
+        this.statement = statement;
+    }
+
+    @NonNull
+    public static InsertStatement compile(
+            @NonNull SQLiteDatabase db,
+            @NonNull String table,
+            @NonNull Set<String> columns
+    ) {
+        return compile(db, table, columns, null);
+    }
+
+    /**
+     * Compile the insert statement with a conflict resolution.
+     * <p>
+     * The resolution for the statement takes precedence over the resolution
+     * for the constraint, and for the statements within triggers, i.e. it
+     * should not be used for tables with triggers that rely on their own
+     * resolution.
+     *
+     * @param db Database to compile the statement for.
+     * @param table Table to insert the rows into.
+     * @param columns Columns for the rows.
+     * @param conflictResolution Resolution, e.g. `ABORT`, or null for the default resolution.
+     * @return Compiled insert statement.
+     */
+    @NonNull
+    public static InsertStatement compile(
+            @NonNull SQLiteDatabase db,
+            @NonNull String table,
+            @NonNull Set<String> columns,
+            @Nullable String conflictResolution
+    ) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Unable to insert row without values");
+        }
+
+        List<String> orderedColumns = new ArrayList<>(columns);
+
+        StringBuilder sql = new StringBuilder("INSERT ");
+        if (null != conflictResolution) {
+            sql.append("OR ")
+                    .append(conflictResolution)
+                    .append(' ');
+        }
+        sql.append("INTO ")
+                .append(table)
+                .append(" (");
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < orderedColumns.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+                placeholders.append(',');
+            }
+            sql.append(orderedColumns.get(i));
+            placeholders.append('?');
+        }
+        sql.append(") VALUES (")
+                .append(placeholders)
+                .append(')');
+
+        return new InsertStatement(orderedColumns, db.compileStatement(sql.toString()));
+    }
+
+    /**
+     * Bind the values and execute the insert.
+     *
+     * @param values Values to insert, have to contain the same columns as the statement.
+     * @return Id for the inserted row.
+     */
+    public long execute(@NonNull ContentValues values) {
+        statement.clearBindings();
+
+        for (int i = 0; i < columns.size(); i++) {
+            DatabaseUtils.bindObjectToProgram(statement, i + 1, values.get(columns.get(i)));
+        }
+
+        return statement.executeInsert();
+    }
+
+    public void close() {
+        statement.close();
+    }
+}
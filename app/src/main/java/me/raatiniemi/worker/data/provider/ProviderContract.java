@@ -18,6 +18,11 @@ package me.raatiniemi.worker.data.provider;
 
 import android.net.Uri;
 import android.provider.BaseColumns;
+import android.text.TextUtils;
+
+import java.util.List;
+
+import me.raatiniemi.worker.util.Optional;
 
 public final class ProviderContract {
     public static final String AUTHORITY = "me.raatiniemi.worker";
@@ -26,19 +31,62 @@ public final class ProviderContract {
     private static final String PATH_PROJECTS = "projects";
     private static final String PATH_TIMESHEET = "timesheet";
     private static final String PATH_TIME = "time";
+    private static final String PATH_SUMMARY = "summary";
+    private static final String PATH_REGISTERED = "registered";
+    private static final String PATH_DAILY_SUMMARY = "daily_summary";
+    private static final String PATH_ACTIVE = "active";
+    private static final String PATH_BALANCE = "balance";
+
+    private static Optional<Long> findItemId(Uri uri, String path) {
+        List<String> segments = uri.getPathSegments();
+        if (segments.size() < 2 || !path.equals(segments.get(0))) {
+            return Optional.empty();
+        }
+
+        String id = segments.get(1);
+        if (!TextUtils.isDigitsOnly(id)) {
+            return Optional.empty();
+        }
 
-    final class Tables {
-        static final String PROJECT = "project";
-        static final String TIME = "time";
+        return Optional.of(Long.valueOf(id));
+    }
+
+    public final class Tables {
+        public static final String PROJECT = "project";
+        public static final String TIME = "time";
+        public static final String DAILY_SUMMARY = "daily_summary";
+        public static final String PROJECT_BALANCE = "project_balance";
 
         private Tables() {
         }
     }
 
+    final class Indexes {
+        static final String TIME_PROJECT_START = "time_project_id_start";
+        static final String TIME_STOP_PROJECT = "time_stop_project_id";
+        static final String TIME_PROJECT_DAY = "time_project_id_day";
+
+        private Indexes() {
+        }
+    }
+
+    final class Triggers {
+        static final String TIME_DAILY_SUMMARY_INSERT = "time_daily_summary_insert";
+        static final String TIME_DAILY_SUMMARY_UPDATE = "time_daily_summary_update";
+        static final String TIME_DAILY_SUMMARY_DELETE = "time_daily_summary_delete";
+        static final String DAILY_SUMMARY_PROJECT_BALANCE_INSERT = "daily_summary_project_balance_insert";
+        static final String DAILY_SUMMARY_PROJECT_BALANCE_UPDATE = "daily_summary_project_balance_update";
+        static final String DAILY_SUMMARY_PROJECT_BALANCE_DELETE = "daily_summary_project_balance_delete";
+
+        private Triggers() {
+        }
+    }
+
     public final class ProjectColumns {
         public static final String NAME = "name";
         static final String DESCRIPTION = "description";
         static final String ARCHIVED = "archived";
+        public static final String DAILY_TARGET = "daily_target";
 
         private ProjectColumns() {
         }
@@ -49,19 +97,44 @@ public final class ProviderContract {
         public static final String START = "start";
         public static final String STOP = "stop";
         public static final String REGISTERED = "registered";
+        public static final String DAY = "day";
 
         private TimeColumns() {
         }
     }
 
+    public final class DailySummaryColumns {
+        public static final String PROJECT_ID = "project_id";
+        public static final String DAY = "day";
+        public static final String TOTAL = "total_ms";
+        public static final String REGISTERED = "registered_ms";
+        public static final String ENTRY_COUNT = "entry_count";
+
+        private DailySummaryColumns() {
+        }
+    }
+
+    public final class ProjectBalanceColumns {
+        public static final String PROJECT_ID = "project_id";
+        public static final String TOTAL = "total_ms";
+        public static final String DAY_COUNT = "day_count";
+
+        private ProjectBalanceColumns() {
+        }
+    }
+
     public final static class Project {
         public static final String ORDER_BY_TIME = TimeColumns.STOP + " ASC," + TimeColumns.START + " ASC";
         public static final String ORDER_BY = BaseColumns._ID + " ASC";
+        public static final String TIME_ID = "time_id";
+        public static final String BALANCE = "balance";
 
         static final String STREAM_TYPE = "vnd.android.cursor.dir/vnd.me.raatiniemi.worker.project";
         static final String ITEM_TYPE = "vnd.android.cursor.item/vnd.me.raatiniemi.worker.project";
 
         private static final Uri STREAM_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_PROJECTS);
+        private static final Uri ACTIVE_URI = Uri.withAppendedPath(STREAM_URI, PATH_ACTIVE);
+        private static final Uri BALANCE_URI = Uri.withAppendedPath(STREAM_URI, PATH_BALANCE);
 
         private Project() {
         }
@@ -69,7 +142,57 @@ public final class ProviderContract {
         public static String[] getColumns() {
             return new String[]{
                     BaseColumns._ID,
-                    ProjectColumns.NAME
+                    ProjectColumns.NAME,
+                    ProjectColumns.DAILY_TARGET
+            };
+        }
+
+        /**
+         * Get the columns for the active projects, i.e. the project joined
+         * with its active time. The id of the time is available as `time_id`.
+         *
+         * @return Columns for the active projects.
+         */
+        public static String[] getActiveColumns() {
+            return new String[]{
+                    Tables.PROJECT + "." + BaseColumns._ID + " AS " + BaseColumns._ID,
+                    ProjectColumns.NAME,
+                    ProjectColumns.DAILY_TARGET,
+                    Tables.TIME + "." + BaseColumns._ID + " AS " + TIME_ID,
+                    TimeColumns.PROJECT_ID,
+                    TimeColumns.START,
+                    TimeColumns.STOP,
+                    TimeColumns.REGISTERED
+            };
+        }
+
+        /**
+         * Get the columns for the flex balance, i.e. the time registered for
+         * the days with time minus the daily target for each of the days.
+         * The balance is available as `balance`.
+         * <p>
+         * The excluded day, i.e. the current day, do not count towards the
+         * balance until it have passed. Its time is subtracted from the total
+         * and the day from the day count, otherwise the full daily target
+         * would be charged as soon as any time, e.g. a running session, have
+         * been registered for the day.
+         *
+         * @param excludedDay Day key, i.e. `yyyymmdd`, for the day to exclude.
+         * @return Columns for the flex balance.
+         */
+        public static String[] getBalanceColumns(long excludedDay) {
+            String target = Tables.PROJECT + "." + ProjectColumns.DAILY_TARGET + " * 60000";
+
+            return new String[]{
+                    Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.PROJECT_ID + " AS " + ProjectBalanceColumns.PROJECT_ID,
+                    Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.TOTAL + " - " +
+                            Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.DAY_COUNT + " * " + target +
+                            " - (SELECT COALESCE(SUM(" + Tables.DAILY_SUMMARY + "." + DailySummaryColumns.TOTAL + " - " + target + "), 0)" +
+                            " FROM " + Tables.DAILY_SUMMARY +
+                            " WHERE " + Tables.DAILY_SUMMARY + "." + DailySummaryColumns.PROJECT_ID + " = " +
+                            Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.PROJECT_ID +
+                            " AND " + Tables.DAILY_SUMMARY + "." + DailySummaryColumns.DAY + " = " + excludedDay + ")" +
+                            " AS " + BALANCE
             };
         }
 
@@ -77,6 +200,19 @@ public final class ProviderContract {
             return STREAM_URI;
         }
 
+        public static Uri getActiveUri() {
+            return ACTIVE_URI;
+        }
+
+        /**
+         * Get the URI for the flex balance for all projects.
+         *
+         * @return URI for the flex balance.
+         */
+        public static Uri getBalanceUri() {
+            return BALANCE_URI;
+        }
+
         public static Uri getItemUri(final long id) {
             return Uri.withAppendedPath(getStreamUri(), String.valueOf(id));
         }
@@ -88,10 +224,26 @@ public final class ProviderContract {
         public static String getItemId(Uri uri) {
             return uri.getPathSegments().get(1);
         }
+
+        /**
+         * Find the id for the project from an item uri, or any uri below it.
+         *
+         * @param uri Uri, e.g. from a change notification.
+         * @return Id for the project, or empty if uri is not for a project item.
+         */
+        public static Optional<Long> findItemId(Uri uri) {
+            return ProviderContract.findItemId(uri, PATH_PROJECTS);
+        }
     }
 
     public final static class Time {
+        public static final String SUMMARY = "summary";
+        public static final String ACTIVE_START = "active_start";
+
         private static final Uri STREAM_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_TIME);
+        private static final Uri SUMMARY_URI = Uri.withAppendedPath(STREAM_URI, PATH_SUMMARY);
+        private static final Uri REGISTERED_URI = Uri.withAppendedPath(STREAM_URI, PATH_REGISTERED);
+        private static final Uri ACTIVE_URI = Uri.withAppendedPath(STREAM_URI, PATH_ACTIVE);
 
         static final String STREAM_TYPE = "vnd.android.cursor.dir/vnd.me.raatiniemi.worker.time";
         static final String ITEM_TYPE = "vnd.android.cursor.item/vnd.me.raatiniemi.worker.time";
@@ -109,10 +261,55 @@ public final class ProviderContract {
             };
         }
 
+        public static String[] getSummaryColumns() {
+            return new String[]{
+                    TimeColumns.PROJECT_ID,
+                    "SUM(" + TimeColumns.STOP + " - " + TimeColumns.START + ") AS " + SUMMARY
+            };
+        }
+
+        /**
+         * Get the columns for the elapsed time, i.e. the sum of the time that
+         * is not active together with the start of the active time.
+         *
+         * @return Columns for the elapsed time.
+         */
+        public static String[] getElapsedColumns() {
+            return new String[]{
+                    "SUM(CASE WHEN " + TimeColumns.STOP + " > 0 THEN " +
+                            TimeColumns.STOP + " - " + TimeColumns.START +
+                            " ELSE 0 END) AS " + SUMMARY,
+                    "MAX(CASE WHEN " + TimeColumns.STOP + " = 0 THEN " +
+                            TimeColumns.START + " ELSE 0 END) AS " + ACTIVE_START
+            };
+        }
+
         public static Uri getStreamUri() {
             return STREAM_URI;
         }
 
+        public static Uri getSummaryUri() {
+            return SUMMARY_URI;
+        }
+
+        /**
+         * Get the URI for updating the registered state for multiple rows.
+         *
+         * @return URI only accepting updates of the registered column.
+         */
+        public static Uri getRegisteredUri() {
+            return REGISTERED_URI;
+        }
+
+        /**
+         * Get the URI for the active time, i.e. time without a stop, for all projects.
+         *
+         * @return URI for the active time.
+         */
+        public static Uri getActiveUri() {
+            return ACTIVE_URI;
+        }
+
         public static Uri getItemUri(final long id) {
             return Uri.withAppendedPath(getStreamUri(), String.valueOf(id));
         }
@@ -120,12 +317,53 @@ public final class ProviderContract {
         public static String getItemId(Uri uri) {
             return uri.getPathSegments().get(1);
         }
+
+        /**
+         * Find the id for the time from an item uri.
+         *
+         * @param uri Uri, e.g. from a change notification.
+         * @return Id for the time, or empty if uri is not for a time item.
+         */
+        public static Optional<Long> findItemId(Uri uri) {
+            return ProviderContract.findItemId(uri, PATH_TIME);
+        }
+    }
+
+    public final static class DailySummary {
+        public static final String ORDER_BY = DailySummaryColumns.DAY + " DESC";
+
+        static final String STREAM_TYPE = "vnd.android.cursor.dir/vnd.me.raatiniemi.worker.daily_summary";
+
+        private static final Uri STREAM_URI = Uri.withAppendedPath(AUTHORITY_URI, PATH_DAILY_SUMMARY);
+
+        private DailySummary() {
+        }
+
+        public static String[] getColumns() {
+            return new String[]{
+                    DailySummaryColumns.PROJECT_ID,
+                    DailySummaryColumns.DAY,
+                    DailySummaryColumns.TOTAL,
+                    DailySummaryColumns.REGISTERED,
+                    DailySummaryColumns.ENTRY_COUNT
+            };
+        }
+
+        public static Uri getStreamUri() {
+            return STREAM_URI;
+        }
+
+        public static Uri getItemDailySummaryUri(final long id) {
+            return Uri.withAppendedPath(Project.getItemUri(id), PATH_DAILY_SUMMARY);
+        }
     }
 
     public final static class Timesheet {
         public static final String ORDER_BY = TimeColumns.START + " DESC," + TimeColumns.STOP + " DESC";
 
-        static final String GROUP_BY = "strftime('%Y%m%d', " + TimeColumns.START + " / 1000, 'unixepoch')";
+        static final String GROUP_BY = TimeColumns.DAY;
+
+        public static final String DAY = TimeColumns.DAY;
 
         public static String[] getTimesheetColumns() {
             return new String[]{
@@ -134,8 +372,23 @@ public final class ProviderContract {
             };
         }
 
+        public static String[] getTimesheetTimeColumns() {
+            return new String[]{
+                    BaseColumns._ID,
+                    TimeColumns.PROJECT_ID,
+                    TimeColumns.START,
+                    TimeColumns.STOP,
+                    TimeColumns.REGISTERED,
+                    TimeColumns.DAY
+            };
+        }
+
         public static Uri getItemTimesheetUri(final long id) {
             return Uri.withAppendedPath(Project.getItemUri(id), PATH_TIMESHEET);
         }
+
+        public static Uri getItemTimesheetTimeUri(final long id) {
+            return Uri.withAppendedPath(getItemTimesheetUri(id), PATH_TIME);
+        }
     }
 }
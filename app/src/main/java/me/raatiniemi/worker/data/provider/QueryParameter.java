@@ -19,15 +19,19 @@ package me.raatiniemi.worker.data.provider;
 import android.net.Uri;
 import android.support.annotation.NonNull;
 
+import java.util.Date;
+
 import me.raatiniemi.worker.domain.repository.PageRequest;
 import me.raatiniemi.worker.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 import static me.raatiniemi.worker.util.NullUtil.isNull;
+import static me.raatiniemi.worker.util.NullUtil.nonNull;
 
 public final class QueryParameter {
     static final String OFFSET = "offset";
     static final String LIMIT = "limit";
+    static final String BEFORE = "before";
 
     private QueryParameter() {
     }
@@ -36,10 +40,16 @@ public final class QueryParameter {
         requireNonNull(uri, "Uri is required when appending page request");
         requireNonNull(pageRequest, "Page request is required when appending to Uri");
 
-        return uri.buildUpon()
+        Uri.Builder builder = uri.buildUpon()
                 .appendQueryParameter(OFFSET, String.valueOf(pageRequest.getOffset()))
-                .appendQueryParameter(LIMIT, String.valueOf(pageRequest.getMaxResults()))
-                .build();
+                .appendQueryParameter(LIMIT, String.valueOf(pageRequest.getMaxResults()));
+
+        Optional<Date> before = pageRequest.getBefore();
+        if (before.isPresent()) {
+            builder.appendQueryParameter(BEFORE, String.valueOf(before.get().getTime()));
+        }
+
+        return builder.build();
     }
 
     @NonNull
@@ -51,6 +61,14 @@ public final class QueryParameter {
 
         int limit = Integer.parseInt(rawLimit);
 
+        String rawBefore = uri.getQueryParameter(BEFORE);
+        if (nonNull(rawBefore)) {
+            Date before = new Date(Long.parseLong(rawBefore));
+
+            PageRequest pageRequest = PageRequest.withBeforeAndMaxResults(before, limit);
+            return Optional.of(pageRequest);
+        }
+
         String rawOffset = uri.getQueryParameter(OFFSET);
         if (isNull(rawOffset)) {
             PageRequest pageRequest = PageRequest.withMaxResults(limit);
@@ -29,12 +29,14 @@ class Selection {
     private final String selection;
     private final String[] selectionArgs;
     private final String groupBy;
+    private final String limit;
 
     private Selection(Builder builder) {
         table = builder.table;
         selection = builder.selection();
         selectionArgs = builder.selectionArgs();
         groupBy = builder.groupBy;
+        limit = builder.limit;
     }
 
     String getTable() {
@@ -53,11 +55,16 @@ class Selection {
         return groupBy;
     }
 
+    String getLimit() {
+        return limit;
+    }
+
     static class Builder {
         private final StringBuilder selection = new StringBuilder();
         private final List<String> selectionArgs = new ArrayList<>();
         private String table;
         private String groupBy;
+        private String limit;
 
         Builder table(String table) {
             this.table = table;
@@ -98,6 +105,11 @@ class Selection {
             return this;
         }
 
+        Builder limit(String limit) {
+            this.limit = limit;
+            return this;
+        }
+
         Selection build() {
             return new Selection(this);
         }
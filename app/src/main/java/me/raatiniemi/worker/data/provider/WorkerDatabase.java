@@ -23,31 +23,57 @@ import android.database.sqlite.SQLiteOpenHelper;
 import android.provider.BaseColumns;
 
 import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.ProviderContract.DailySummaryColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Indexes;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectBalanceColumns;
 import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
 import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Triggers;
+import me.raatiniemi.worker.domain.model.Project;
 
 /**
  * A helper class to manage database creation and version management.
  */
 public class WorkerDatabase extends SQLiteOpenHelper {
-    static final int DATABASE_VERSION = 2;
+    static final int DATABASE_VERSION = 7;
 
-    private WorkerDatabase(Context context, String name) {
+    /**
+     * Name of the index for active time used before version 6.
+     */
+    private static final String INDEX_TIME_PROJECT_STOP = "time_project_id_stop";
+
+    private WorkerDatabase(Context context, String name, boolean writeAheadLoggingEnabled) {
         super(context, name, null, DATABASE_VERSION);
+
+        // With write-ahead logging the connection pool is able to open
+        // additional connections for reading, i.e. reads are able to run
+        // concurrently with an open write transaction.
+        setWriteAheadLoggingEnabled(writeAheadLoggingEnabled);
     }
 
     /**
      * Constructor.
      *
+     * @param context                  Context used with the database.
+     * @param writeAheadLoggingEnabled Whether write-ahead logging should be used.
+     */
+    public WorkerDatabase(Context context, boolean writeAheadLoggingEnabled) {
+        this(context, WorkerApplication.DATABASE_NAME, writeAheadLoggingEnabled);
+    }
+
+    /**
+     * Constructor, write-ahead logging is enabled.
+     *
      * @param context Context used with the database.
      */
     public WorkerDatabase(Context context) {
-        this(context, WorkerApplication.DATABASE_NAME);
+        this(context, true);
     }
 
     public static WorkerDatabase inMemory(Context context) {
-        return new WorkerDatabase(context, null);
+        // Write-ahead logging is not available for in-memory databases.
+        return new WorkerDatabase(context, null, false);
     }
 
     /**
@@ -75,6 +101,299 @@ public class WorkerDatabase extends SQLiteOpenHelper {
         return exists;
     }
 
+    /**
+     * Create the indexes for the `time`-table.
+     *
+     * @param db The database.
+     */
+    private static void createTimeIndexes(SQLiteDatabase db) {
+        // Most of the queries against the `time`-table is filtered on the
+        // project, either with a range of the start or sorted by the start.
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + Indexes.TIME_PROJECT_START +
+                " ON " + Tables.TIME + " (" +
+                TimeColumns.PROJECT_ID + ", " +
+                TimeColumns.START + ")");
+
+        // Active time is looked up with a stop of zero, either for a single
+        // project or for all of the projects. With the stop as the leading
+        // column both of the lookups can use the index.
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + Indexes.TIME_STOP_PROJECT +
+                " ON " + Tables.TIME + " (" +
+                TimeColumns.STOP + ", " +
+                TimeColumns.PROJECT_ID + ")");
+
+        // The timesheet is grouped and paged by the day for a project.
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + Indexes.TIME_PROJECT_DAY +
+                " ON " + Tables.TIME + " (" +
+                TimeColumns.PROJECT_ID + ", " +
+                TimeColumns.DAY + ")");
+    }
+
+    /**
+     * Add the `day`-column to the `time`-table, and populate it from the start.
+     *
+     * @param db The database.
+     */
+    private static void addTimeDay(SQLiteDatabase db) {
+        if (!columnExists(db, Tables.TIME, TimeColumns.DAY)) {
+            db.execSQL("ALTER TABLE " + Tables.TIME +
+                    " ADD COLUMN " + TimeColumns.DAY +
+                    " INTEGER NOT NULL DEFAULT 0");
+        }
+
+        // The migration is only executed when upgrading from a version prior
+        // to 5. The column might still exist if the database have been
+        // downgraded, and since the older version modify the time without the
+        // day every row is populated rather than only the new column.
+        db.execSQL("UPDATE " + Tables.TIME + " SET " + TimeColumns.DAY + " = " +
+                "CAST(strftime('%Y%m%d', " + TimeColumns.START + " / 1000, 'unixepoch', 'localtime') AS INTEGER)");
+    }
+
+    /**
+     * Build the expression for the day of a `time`-row.
+     *
+     * @param row Name of the row, i.e. `NEW`, `OLD` or the table name.
+     * @return Expression for the day.
+     */
+    private static String dayOf(String row) {
+        return row + "." + TimeColumns.DAY;
+    }
+
+    /**
+     * Build the expression for the interval of a `time`-row.
+     *
+     * @param row Name of the row, i.e. `NEW`, `OLD` or the table name.
+     * @return Expression for the interval, active time have no interval.
+     */
+    private static String intervalOf(String row) {
+        return "(CASE WHEN " + row + "." + TimeColumns.STOP + " > 0" +
+                " THEN " + row + "." + TimeColumns.STOP + " - " + row + "." + TimeColumns.START +
+                " ELSE 0 END)";
+    }
+
+    /**
+     * Build the expression for the registered interval of a `time`-row.
+     *
+     * @param row Name of the row, i.e. `NEW`, `OLD` or the table name.
+     * @return Expression for the interval if the row is registered.
+     */
+    private static String registeredIntervalOf(String row) {
+        return "(CASE WHEN " + row + "." + TimeColumns.REGISTERED + " = 1" +
+                " THEN " + intervalOf(row) +
+                " ELSE 0 END)";
+    }
+
+    /**
+     * Build the trigger statements for adding a `time`-row to the daily summary.
+     *
+     * @param row Name of the row, i.e. `NEW`.
+     * @return Statements for the trigger body.
+     */
+    private static String addToDailySummary(String row) {
+        String whereDay = " WHERE " + DailySummaryColumns.PROJECT_ID + " = " + row + "." + TimeColumns.PROJECT_ID +
+                " AND " + DailySummaryColumns.DAY + " = " + dayOf(row) + ";";
+
+        return "INSERT OR IGNORE INTO " + Tables.DAILY_SUMMARY + " (" +
+                DailySummaryColumns.PROJECT_ID + ", " +
+                DailySummaryColumns.DAY + ")" +
+                " VALUES (" + row + "." + TimeColumns.PROJECT_ID + ", " + dayOf(row) + "); " +
+                "UPDATE " + Tables.DAILY_SUMMARY + " SET " +
+                DailySummaryColumns.TOTAL + " = " + DailySummaryColumns.TOTAL + " + " + intervalOf(row) + ", " +
+                DailySummaryColumns.REGISTERED + " = " + DailySummaryColumns.REGISTERED + " + " + registeredIntervalOf(row) + ", " +
+                DailySummaryColumns.ENTRY_COUNT + " = " + DailySummaryColumns.ENTRY_COUNT + " + 1" +
+                whereDay;
+    }
+
+    /**
+     * Build the trigger statements for subtracting a `time`-row from the daily summary.
+     *
+     * @param row Name of the row, i.e. `OLD`.
+     * @return Statements for the trigger body.
+     */
+    private static String subtractFromDailySummary(String row) {
+        String whereDay = " WHERE " + DailySummaryColumns.PROJECT_ID + " = " + row + "." + TimeColumns.PROJECT_ID +
+                " AND " + DailySummaryColumns.DAY + " = " + dayOf(row);
+
+        return "UPDATE " + Tables.DAILY_SUMMARY + " SET " +
+                DailySummaryColumns.TOTAL + " = " + DailySummaryColumns.TOTAL + " - " + intervalOf(row) + ", " +
+                DailySummaryColumns.REGISTERED + " = " + DailySummaryColumns.REGISTERED + " - " + registeredIntervalOf(row) + ", " +
+                DailySummaryColumns.ENTRY_COUNT + " = " + DailySummaryColumns.ENTRY_COUNT + " - 1" +
+                whereDay + "; " +
+                "DELETE FROM " + Tables.DAILY_SUMMARY +
+                whereDay + " AND " + DailySummaryColumns.ENTRY_COUNT + " <= 0;";
+    }
+
+    /**
+     * Create the `daily_summary`-table, and the triggers for keeping it up to
+     * date with the `time`-table.
+     *
+     * @param db The database.
+     */
+    private static void createDailySummary(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + Tables.DAILY_SUMMARY + " ( " +
+                DailySummaryColumns.PROJECT_ID + " INTEGER NOT NULL, " +
+                DailySummaryColumns.DAY + " INTEGER NOT NULL, " +
+                DailySummaryColumns.TOTAL + " INTEGER NOT NULL DEFAULT 0, " +
+                DailySummaryColumns.REGISTERED + " INTEGER NOT NULL DEFAULT 0, " +
+                DailySummaryColumns.ENTRY_COUNT + " INTEGER NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (" + DailySummaryColumns.PROJECT_ID + ", " + DailySummaryColumns.DAY + "))");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.TIME_DAILY_SUMMARY_INSERT +
+                " AFTER INSERT ON " + Tables.TIME +
+                " BEGIN " + addToDailySummary("NEW") + " END");
+
+        // Only changes to the columns used by the summary have to be applied.
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.TIME_DAILY_SUMMARY_UPDATE +
+                " AFTER UPDATE OF " +
+                TimeColumns.PROJECT_ID + ", " +
+                TimeColumns.START + ", " +
+                TimeColumns.STOP + ", " +
+                TimeColumns.REGISTERED + ", " +
+                TimeColumns.DAY +
+                " ON " + Tables.TIME +
+                " BEGIN " + subtractFromDailySummary("OLD") + " " + addToDailySummary("NEW") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.TIME_DAILY_SUMMARY_DELETE +
+                " AFTER DELETE ON " + Tables.TIME +
+                " BEGIN " + subtractFromDailySummary("OLD") + " END");
+    }
+
+    /**
+     * Drop the `daily_summary`-table, and the triggers for keeping it up to date.
+     *
+     * @param db The database.
+     */
+    private static void dropDailySummary(SQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.TIME_DAILY_SUMMARY_INSERT);
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.TIME_DAILY_SUMMARY_UPDATE);
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.TIME_DAILY_SUMMARY_DELETE);
+        db.execSQL("DROP TABLE IF EXISTS " + Tables.DAILY_SUMMARY);
+    }
+
+    /**
+     * Rebuild the `daily_summary`-table from the `time`-table.
+     *
+     * @param db The database.
+     */
+    private static void rebuildDailySummary(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + Tables.DAILY_SUMMARY);
+        db.execSQL("INSERT INTO " + Tables.DAILY_SUMMARY + " (" +
+                DailySummaryColumns.PROJECT_ID + ", " +
+                DailySummaryColumns.DAY + ", " +
+                DailySummaryColumns.TOTAL + ", " +
+                DailySummaryColumns.REGISTERED + ", " +
+                DailySummaryColumns.ENTRY_COUNT + ")" +
+                " SELECT " +
+                TimeColumns.PROJECT_ID + ", " +
+                dayOf(Tables.TIME) + ", " +
+                "SUM(" + intervalOf(Tables.TIME) + "), " +
+                "SUM(" + registeredIntervalOf(Tables.TIME) + "), " +
+                "COUNT(*)" +
+                " FROM " + Tables.TIME +
+                " GROUP BY " + TimeColumns.PROJECT_ID + ", " + dayOf(Tables.TIME));
+    }
+
+    /**
+     * Add the `daily_target`-column to the `project`-table.
+     *
+     * @param db The database.
+     */
+    private static void addProjectDailyTarget(SQLiteDatabase db) {
+        if (columnExists(db, Tables.PROJECT, ProjectColumns.DAILY_TARGET)) {
+            return;
+        }
+
+        db.execSQL("ALTER TABLE " + Tables.PROJECT +
+                " ADD COLUMN " + ProjectColumns.DAILY_TARGET +
+                " INTEGER NOT NULL DEFAULT " + Project.DEFAULT_DAILY_TARGET_IN_MINUTES);
+    }
+
+    /**
+     * Create the `project_balance`-table, and the triggers for keeping it up
+     * to date with the `daily_summary`-table.
+     * <p>
+     * The balance only keeps the total and the number of days with time, i.e.
+     * the daily target can change without having to rebuild the balance.
+     *
+     * @param db The database.
+     */
+    private static void createProjectBalance(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + Tables.PROJECT_BALANCE + " ( " +
+                ProjectBalanceColumns.PROJECT_ID + " INTEGER PRIMARY KEY, " +
+                ProjectBalanceColumns.TOTAL + " INTEGER NOT NULL DEFAULT 0, " +
+                ProjectBalanceColumns.DAY_COUNT + " INTEGER NOT NULL DEFAULT 0)");
+
+        String balanceTotal = Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.TOTAL;
+        String balanceDayCount = Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.DAY_COUNT;
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_INSERT +
+                " AFTER INSERT ON " + Tables.DAILY_SUMMARY +
+                " BEGIN " +
+                "INSERT OR IGNORE INTO " + Tables.PROJECT_BALANCE + " (" +
+                ProjectBalanceColumns.PROJECT_ID + ")" +
+                " VALUES (NEW." + DailySummaryColumns.PROJECT_ID + "); " +
+                "UPDATE " + Tables.PROJECT_BALANCE + " SET " +
+                ProjectBalanceColumns.TOTAL + " = " + balanceTotal + " + NEW." + DailySummaryColumns.TOTAL + ", " +
+                ProjectBalanceColumns.DAY_COUNT + " = " + balanceDayCount + " + 1" +
+                " WHERE " + ProjectBalanceColumns.PROJECT_ID + " = NEW." + DailySummaryColumns.PROJECT_ID + ";" +
+                " END");
+
+        // The summary is only updated for the same project and day, i.e. only
+        // the difference in the total have to be applied.
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_UPDATE +
+                " AFTER UPDATE OF " + DailySummaryColumns.TOTAL +
+                " ON " + Tables.DAILY_SUMMARY +
+                " BEGIN " +
+                "UPDATE " + Tables.PROJECT_BALANCE + " SET " +
+                ProjectBalanceColumns.TOTAL + " = " + balanceTotal +
+                " + NEW." + DailySummaryColumns.TOTAL + " - OLD." + DailySummaryColumns.TOTAL +
+                " WHERE " + ProjectBalanceColumns.PROJECT_ID + " = NEW." + DailySummaryColumns.PROJECT_ID + ";" +
+                " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_DELETE +
+                " AFTER DELETE ON " + Tables.DAILY_SUMMARY +
+                " BEGIN " +
+                "UPDATE " + Tables.PROJECT_BALANCE + " SET " +
+                ProjectBalanceColumns.TOTAL + " = " + balanceTotal + " - OLD." + DailySummaryColumns.TOTAL + ", " +
+                ProjectBalanceColumns.DAY_COUNT + " = " + balanceDayCount + " - 1" +
+                " WHERE " + ProjectBalanceColumns.PROJECT_ID + " = OLD." + DailySummaryColumns.PROJECT_ID + "; " +
+                "DELETE FROM " + Tables.PROJECT_BALANCE +
+                " WHERE " + ProjectBalanceColumns.PROJECT_ID + " = OLD." + DailySummaryColumns.PROJECT_ID +
+                " AND " + ProjectBalanceColumns.DAY_COUNT + " <= 0;" +
+                " END");
+    }
+
+    /**
+     * Drop the `project_balance`-table, and the triggers for keeping it up to date.
+     *
+     * @param db The database.
+     */
+    private static void dropProjectBalance(SQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_INSERT);
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_UPDATE);
+        db.execSQL("DROP TRIGGER IF EXISTS " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_DELETE);
+        db.execSQL("DROP TABLE IF EXISTS " + Tables.PROJECT_BALANCE);
+    }
+
+    /**
+     * Rebuild the `project_balance`-table from the `daily_summary`-table.
+     *
+     * @param db The database.
+     */
+    private static void rebuildProjectBalance(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + Tables.PROJECT_BALANCE);
+        db.execSQL("INSERT INTO " + Tables.PROJECT_BALANCE + " (" +
+                ProjectBalanceColumns.PROJECT_ID + ", " +
+                ProjectBalanceColumns.TOTAL + ", " +
+                ProjectBalanceColumns.DAY_COUNT + ")" +
+                " SELECT " +
+                DailySummaryColumns.PROJECT_ID + ", " +
+                "SUM(" + DailySummaryColumns.TOTAL + "), " +
+                "COUNT(*)" +
+                " FROM " + Tables.DAILY_SUMMARY +
+                " GROUP BY " + DailySummaryColumns.PROJECT_ID);
+    }
+
     @Override
     public void onCreate(SQLiteDatabase db) {
         // Create the structure for the `project`-table.
@@ -83,6 +402,7 @@ public class WorkerDatabase extends SQLiteOpenHelper {
                 ProjectColumns.NAME + " TEXT NOT NULL, " +
                 ProjectColumns.DESCRIPTION + " TEXT NULL, " +
                 ProjectColumns.ARCHIVED + " INTEGER DEFAULT 0, " +
+                ProjectColumns.DAILY_TARGET + " INTEGER NOT NULL DEFAULT " + Project.DEFAULT_DAILY_TARGET_IN_MINUTES + ", " +
                 "UNIQUE (" + ProjectColumns.NAME + ") ON CONFLICT ROLLBACK)");
 
         // Create the structure for the `time`-table.
@@ -91,7 +411,12 @@ public class WorkerDatabase extends SQLiteOpenHelper {
                 TimeColumns.PROJECT_ID + " INTEGER NOT NULL, " +
                 TimeColumns.START + " INTEGER NOT NULL, " +
                 TimeColumns.STOP + " INTEGER DEFAULT 0, " +
-                TimeColumns.REGISTERED + " INTEGER NOT NULL DEFAULT 0)");
+                TimeColumns.REGISTERED + " INTEGER NOT NULL DEFAULT 0, " +
+                TimeColumns.DAY + " INTEGER NOT NULL DEFAULT 0)");
+
+        createTimeIndexes(db);
+        createDailySummary(db);
+        createProjectBalance(db);
     }
 
     /**
@@ -138,6 +463,49 @@ public class WorkerDatabase extends SQLiteOpenHelper {
                     " ADD COLUMN " + TimeColumns.REGISTERED +
                     " INTEGER NOT NULL DEFAULT 0");
         }
+
+        // The derived tables are only recreated when their structure have
+        // changed, i.e. the summary in version 5 when it started to depend
+        // on the day, and the balance when it was introduced in version 7.
+        boolean rebuildDailySummary = 5 > oldVersion;
+        boolean rebuildProjectBalance = 7 > oldVersion;
+
+        if (7 > oldVersion) {
+            addProjectDailyTarget(db);
+        }
+
+        // The derived tables have to be dropped before the day is populated,
+        // otherwise the triggers would be executed for each of the rows. The
+        // balance is maintained from the summary, i.e. it have to be dropped
+        // along with the summary.
+        if (rebuildProjectBalance) {
+            dropProjectBalance(db);
+        }
+
+        if (rebuildDailySummary) {
+            dropDailySummary(db);
+            addTimeDay(db);
+        }
+
+        if (6 > oldVersion) {
+            // The index for the active time have been replaced with an index
+            // leading with the stop, which is also able to serve all projects.
+            db.execSQL("DROP INDEX IF EXISTS " + INDEX_TIME_PROJECT_STOP);
+
+            // The indexes are created with `IF NOT EXISTS`, i.e. it's safe to
+            // create them regardless of which of them that already exists.
+            createTimeIndexes(db);
+        }
+
+        if (rebuildDailySummary) {
+            createDailySummary(db);
+            rebuildDailySummary(db);
+        }
+
+        if (rebuildProjectBalance) {
+            createProjectBalance(db);
+            rebuildProjectBalance(db);
+        }
     }
 
     /**
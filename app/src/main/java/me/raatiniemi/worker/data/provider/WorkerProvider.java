@@ -20,23 +20,35 @@ import android.content.ContentProvider;
 import android.content.ContentProviderOperation;
 import android.content.ContentProviderResult;
 import android.content.ContentValues;
+import android.content.Context;
 import android.content.OperationApplicationException;
 import android.content.UriMatcher;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQueryBuilder;
 import android.net.Uri;
 import android.provider.BaseColumns;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.ProviderContract.DailySummaryColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectBalanceColumns;
 import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.util.DayKey;
 import me.raatiniemi.worker.domain.repository.PageRequest;
 import me.raatiniemi.worker.util.Optional;
 
@@ -49,12 +61,35 @@ public class WorkerProvider extends ContentProvider {
 
     private static final int PROJECTS_TIMESHEET = 103;
 
+    private static final int PROJECTS_TIMESHEET_TIME = 104;
+
+    private static final int PROJECTS_DAILY_SUMMARY = 105;
+
+    private static final int PROJECTS_ACTIVE = 106;
+
+    private static final int PROJECTS_BALANCE = 107;
+
     private static final int TIME = 200;
 
     private static final int TIME_ID = 201;
 
+    private static final int TIME_SUMMARY = 202;
+
+    private static final int TIME_REGISTERED = 203;
+
+    private static final int TIME_ACTIVE = 204;
+
+    private static final int DAILY_SUMMARY = 300;
+
     private static final UriMatcher uriMatcher = buildUriMatcher();
 
+    /**
+     * Changes within a batch are collected and dispatched after the
+     * transaction have been committed, i.e. observers will not query
+     * for changes that might be rolled back.
+     */
+    private final ThreadLocal<Set<Uri>> pendingChanges = new ThreadLocal<>();
+
     @Inject
     WorkerDatabase openHelper;
 
@@ -66,9 +101,18 @@ public class WorkerProvider extends ContentProvider {
         matcher.addURI(authority, "projects/#", PROJECTS_ID);
         matcher.addURI(authority, "projects/#/time", PROJECTS_TIME);
         matcher.addURI(authority, "projects/#/timesheet", PROJECTS_TIMESHEET);
+        matcher.addURI(authority, "projects/#/timesheet/time", PROJECTS_TIMESHEET_TIME);
+        matcher.addURI(authority, "projects/#/daily_summary", PROJECTS_DAILY_SUMMARY);
+        matcher.addURI(authority, "projects/active", PROJECTS_ACTIVE);
+        matcher.addURI(authority, "projects/balance", PROJECTS_BALANCE);
 
         matcher.addURI(authority, "time", TIME);
         matcher.addURI(authority, "time/#", TIME_ID);
+        matcher.addURI(authority, "time/summary", TIME_SUMMARY);
+        matcher.addURI(authority, "time/registered", TIME_REGISTERED);
+        matcher.addURI(authority, "time/active", TIME_ACTIVE);
+
+        matcher.addURI(authority, "daily_summary", DAILY_SUMMARY);
 
         return matcher;
     }
@@ -95,6 +139,8 @@ public class WorkerProvider extends ContentProvider {
         final int match = uriMatcher.match(uri);
         switch (match) {
             case PROJECTS:
+            case PROJECTS_ACTIVE:
+            case PROJECTS_BALANCE:
                 mimeType = ProviderContract.Project.STREAM_TYPE;
                 break;
             case PROJECTS_ID:
@@ -102,12 +148,20 @@ public class WorkerProvider extends ContentProvider {
                 break;
             case PROJECTS_TIME:
             case PROJECTS_TIMESHEET:
+            case PROJECTS_TIMESHEET_TIME:
             case TIME:
+            case TIME_SUMMARY:
+            case TIME_REGISTERED:
+            case TIME_ACTIVE:
                 mimeType = ProviderContract.Time.STREAM_TYPE;
                 break;
             case TIME_ID:
                 mimeType = ProviderContract.Time.ITEM_TYPE;
                 break;
+            case PROJECTS_DAILY_SUMMARY:
+            case DAILY_SUMMARY:
+                mimeType = ProviderContract.DailySummary.STREAM_TYPE;
+                break;
             default:
                 throw new UnsupportedOperationException("Unknown uri: " + uri);
         }
@@ -127,7 +181,7 @@ public class WorkerProvider extends ContentProvider {
                         select.getGroupBy(),
                         null,
                         sortOrder,
-                        parseLimitFromUri(uri)
+                        select.getLimit()
                 );
     }
 
@@ -171,37 +225,239 @@ public class WorkerProvider extends ContentProvider {
         SQLiteDatabase db = getOpenHelper().getWritableDatabase();
 
         long id = db.insertOrThrow(Tables.PROJECT, null, values);
-        return ProviderContract.Project.getItemUri(id);
+        Uri uri = ProviderContract.Project.getItemUri(id);
+        notifyChange(uri);
+
+        return uri;
+    }
+
+    /**
+     * Populate the day for the time if it have not been supplied with the values.
+     *
+     * @param values Values for the time.
+     * @return Values with the day, if the start is available.
+     */
+    private static ContentValues withDay(ContentValues values) {
+        if (null == values || values.containsKey(TimeColumns.DAY)) {
+            return values;
+        }
+
+        Long start = values.getAsLong(TimeColumns.START);
+        if (null == start) {
+            return values;
+        }
+
+        ContentValues valuesWithDay = new ContentValues(values);
+        valuesWithDay.put(TimeColumns.DAY, DayKey.fromMilliseconds(start));
+        return valuesWithDay;
     }
 
     private Uri insertTime(ContentValues values) {
         SQLiteDatabase db = getOpenHelper().getWritableDatabase();
 
-        long id = db.insertOrThrow(Tables.TIME, null, values);
-        return ProviderContract.Time.getItemUri(id);
+        long id = db.insertOrThrow(Tables.TIME, null, withDay(values));
+        Uri uri = ProviderContract.Time.getItemUri(id);
+        notifyChange(uri);
+        notifyProjectTimeChanges(collectProjectIds(values));
+
+        return uri;
+    }
+
+    @Override
+    public int bulkInsert(@NonNull Uri uri, @NonNull ContentValues[] values) {
+        final int match = uriMatcher.match(uri);
+        switch (match) {
+            case PROJECTS:
+                return bulkInsert(Tables.PROJECT, values);
+            case TIME:
+                return bulkInsert(Tables.TIME, values);
+            default:
+                throw new UnsupportedOperationException("Unknown insert uri: " + uri);
+        }
+    }
+
+    private int bulkInsert(String table, ContentValues[] values) {
+        final SQLiteDatabase db = getOpenHelper().getWritableDatabase();
+        final Map<Set<String>, InsertStatement> statements = new HashMap<>();
+        final Set<Long> projectIds = new LinkedHashSet<>();
+
+        // All of the rows are inserted within a single transaction, i.e. if
+        // one of the rows fails none of the rows will be inserted.
+        db.beginTransactionNonExclusive();
+        try {
+            for (int i = 0; i < values.length; i++) {
+                ContentValues row = Tables.TIME.equals(table) ? withDay(values[i]) : values[i];
+                Set<String> columns = row.keySet();
+
+                InsertStatement statement = statements.get(columns);
+                if (null == statement) {
+                    // The `ON CONFLICT ROLLBACK` for the project name would
+                    // end the surrounding transaction, i.e. the statement have
+                    // to abort and let the transaction be rolled back below.
+                    statement = InsertStatement.compile(
+                            db,
+                            table,
+                            columns,
+                            Tables.PROJECT.equals(table) ? "ABORT" : null
+                    );
+                    statements.put(new HashSet<>(columns), statement);
+                }
+
+                try {
+                    statement.execute(row);
+                } catch (SQLiteConstraintException e) {
+                    throw new SQLiteConstraintException(
+                            "Unable to insert row " + i + " into " + table + ": " + e.getMessage()
+                    );
+                }
+
+                if (Tables.TIME.equals(table)) {
+                    addProjectId(projectIds, row);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            for (InsertStatement statement : statements.values()) {
+                statement.close();
+            }
+            db.endTransaction();
+        }
+
+        notifyChange(
+                Tables.TIME.equals(table)
+                        ? ProviderContract.Time.getStreamUri()
+                        : ProviderContract.Project.getStreamUri()
+        );
+        notifyProjectTimeChanges(projectIds);
+        return values.length;
+    }
+
+    private static boolean isReadOnly(Uri uri) {
+        // The daily summary and the balance are maintained by triggers on
+        // the `time`-table, i.e. they should only be modified via the time.
+        // The active projects are a join between the projects and time,
+        // which can't be modified.
+        final int match = uriMatcher.match(uri);
+        return PROJECTS_DAILY_SUMMARY == match
+                || DAILY_SUMMARY == match
+                || PROJECTS_ACTIVE == match
+                || PROJECTS_BALANCE == match;
     }
 
     @Override
     public int update(@NonNull Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+        if (isReadOnly(uri)) {
+            throw new UnsupportedOperationException("Unable to update read-only uri: " + uri);
+        }
+
+        if (TIME_REGISTERED == uriMatcher.match(uri)) {
+            return updateRegisteredTime(values, selection, selectionArgs);
+        }
+
         Selection builder = buildSelection(uri, selection, selectionArgs);
-        return getOpenHelper().getWritableDatabase()
-                .update(
-                        builder.getTable(),
-                        values,
-                        builder.getSelection(),
-                        builder.getSelectionArgs()
-                );
+        if (!Tables.TIME.equals(builder.getTable())) {
+            int count = getOpenHelper().getWritableDatabase()
+                    .update(
+                            builder.getTable(),
+                            values,
+                            builder.getSelection(),
+                            builder.getSelectionArgs()
+                    );
+
+            if (0 < count) {
+                notifyChange(uri);
+            }
+            return count;
+        }
+
+        final SQLiteDatabase db = getOpenHelper().getWritableDatabase();
+        final Set<Long> projectIds;
+        final int count;
+
+        // The time might be moved to another project, i.e. both the
+        // previous and the new project have to be notified.
+        db.beginTransactionNonExclusive();
+        try {
+            projectIds = findProjectIdsForTime(db, builder.getSelection(), builder.getSelectionArgs());
+            count = db.update(Tables.TIME, withDay(values), builder.getSelection(), builder.getSelectionArgs());
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < count) {
+            addProjectId(projectIds, values);
+
+            notifyChange(uri);
+            notifyProjectTimeChanges(projectIds);
+        }
+        return count;
+    }
+
+    private int updateRegisteredTime(ContentValues values, String selection, String[] selectionArgs) {
+        if (values.size() != 1 || !values.containsKey(TimeColumns.REGISTERED)) {
+            throw new IllegalArgumentException("Only registered is allowed to be updated");
+        }
+
+        final SQLiteDatabase db = getOpenHelper().getWritableDatabase();
+        final Set<Long> projectIds;
+        final int count;
+
+        db.beginTransactionNonExclusive();
+        try {
+            projectIds = findProjectIdsForTime(db, selection, selectionArgs);
+            count = db.update(Tables.TIME, values, selection, selectionArgs);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < count) {
+            notifyChange(ProviderContract.Time.getRegisteredUri());
+            notifyProjectTimeChanges(projectIds);
+        }
+        return count;
     }
 
     @Override
     public int delete(@NonNull Uri uri, String selection, String[] selectionArgs) {
+        if (isReadOnly(uri)) {
+            throw new UnsupportedOperationException("Unable to delete from read-only uri: " + uri);
+        }
+
         Selection select = buildSelection(uri, selection, selectionArgs);
-        return getOpenHelper().getWritableDatabase()
-                .delete(
-                        select.getTable(),
-                        select.getSelection(),
-                        select.getSelectionArgs()
-                );
+        if (!Tables.TIME.equals(select.getTable())) {
+            int count = getOpenHelper().getWritableDatabase()
+                    .delete(
+                            select.getTable(),
+                            select.getSelection(),
+                            select.getSelectionArgs()
+                    );
+
+            if (0 < count) {
+                notifyChange(uri);
+            }
+            return count;
+        }
+
+        final SQLiteDatabase db = getOpenHelper().getWritableDatabase();
+        final Set<Long> projectIds;
+        final int count;
+
+        db.beginTransactionNonExclusive();
+        try {
+            projectIds = findProjectIdsForTime(db, select.getSelection(), select.getSelectionArgs());
+            count = db.delete(Tables.TIME, select.getSelection(), select.getSelectionArgs());
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < count) {
+            notifyChange(uri);
+            notifyProjectTimeChanges(projectIds);
+        }
+        return count;
     }
 
     @Override
@@ -210,23 +466,118 @@ public class WorkerProvider extends ContentProvider {
             throws OperationApplicationException {
 
         final SQLiteDatabase db = getOpenHelper().getWritableDatabase();
-        db.beginTransaction();
+        final int numberOfOperations = operations.size();
+        final ContentProviderResult[] results = new ContentProviderResult[numberOfOperations];
+        final Set<Uri> changes = new LinkedHashSet<>();
+        pendingChanges.set(changes);
+
+        // An exclusive transaction would prevent readers from running on
+        // other connections while the batch is applied.
+        db.beginTransactionNonExclusive();
         try {
-            final int numberOfOperations = operations.size();
-            final ContentProviderResult[] results = new ContentProviderResult[numberOfOperations];
             for (int i = 0; i < numberOfOperations; i++) {
                 results[i] = operations.get(i).apply(this, results, i);
             }
             db.setTransactionSuccessful();
-
-            return results;
         } finally {
             db.endTransaction();
+            pendingChanges.remove();
+        }
+
+        for (Uri uri : changes) {
+            notifyChange(uri);
+        }
+        return results;
+    }
+
+    /**
+     * Find the projects for the time matching the selection, have to be
+     * called within the transaction for the change.
+     *
+     * @param db            Database with the time.
+     * @param selection     Selection for the time.
+     * @param selectionArgs Arguments for the selection.
+     * @return Ids for the projects.
+     */
+    private static Set<Long> findProjectIdsForTime(SQLiteDatabase db, String selection, String[] selectionArgs) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+
+        Cursor cursor = db.query(
+                true,
+                Tables.TIME,
+                new String[]{TimeColumns.PROJECT_ID},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                null,
+                null
+        );
+        if (null == cursor) {
+            return projectIds;
         }
+
+        try {
+            while (cursor.moveToNext()) {
+                projectIds.add(cursor.getLong(0));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return projectIds;
+    }
+
+    private static void addProjectId(Set<Long> projectIds, ContentValues values) {
+        if (null == values) {
+            return;
+        }
+
+        Long projectId = values.getAsLong(TimeColumns.PROJECT_ID);
+        if (null == projectId) {
+            return;
+        }
+
+        projectIds.add(projectId);
+    }
+
+    private static Set<Long> collectProjectIds(ContentValues values) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+        addProjectId(projectIds, values);
+
+        return projectIds;
+    }
+
+    /**
+     * Notify the observers of the projects when the time for the projects
+     * changes, regardless of which of the time uris that was modified.
+     *
+     * @param projectIds Ids for the projects with changed time.
+     */
+    private void notifyProjectTimeChanges(Set<Long> projectIds) {
+        for (Long projectId : projectIds) {
+            notifyChange(ProviderContract.Project.getItemTimeUri(projectId));
+        }
+    }
+
+    private void notifyChange(Uri uri) {
+        Set<Uri> changes = pendingChanges.get();
+        if (null != changes) {
+            changes.add(uri);
+            return;
+        }
+
+        Context context = getContext();
+        if (null == context) {
+            return;
+        }
+
+        context.getContentResolver().notifyChange(uri, null);
     }
 
     private static Selection buildSelection(Uri uri, String selection, String[] selectionArgs) {
         Selection.Builder builder;
+        String limit = parseLimitFromUri(uri);
 
         final int match = uriMatcher.match(uri);
         switch (match) {
@@ -236,22 +587,52 @@ public class WorkerProvider extends ContentProvider {
             case PROJECTS_ID:
                 builder = ProjectSelection.build(uri);
                 break;
+            case PROJECTS_ACTIVE:
+                builder = ActiveProjectsSelection.build();
+                break;
+            case PROJECTS_BALANCE:
+                builder = ProjectBalanceSelection.build();
+                break;
             case PROJECTS_TIME:
                 builder = ProjectTimeSelection.build(uri);
                 break;
             case PROJECTS_TIMESHEET:
                 builder = ProjectTimesheetSelection.build(uri);
                 break;
+            case PROJECTS_TIMESHEET_TIME:
+                builder = ProjectTimesheetTimeSelection.build(uri, selection, selectionArgs, limit);
+
+                // The limit have already been applied to the days within the
+                // sub query, the time for each of the days should not be limited.
+                limit = null;
+                break;
+            case TIME:
+                builder = TimesSelection.build();
+                break;
             case TIME_ID:
                 builder = TimeSelection.build(uri);
                 break;
+            case TIME_SUMMARY:
+                builder = TimeSummarySelection.build();
+                break;
+            case TIME_ACTIVE:
+                builder = ActiveTimeSelection.build();
+                break;
+            case PROJECTS_DAILY_SUMMARY:
+                builder = ProjectDailySummarySelection.build(uri);
+                break;
+            case DAILY_SUMMARY:
+                builder = DailySummarySelection.build();
+                break;
             default:
                 throw new UnsupportedOperationException(
                         "Unknown uri for selection: " + uri
                 );
         }
 
-        return builder.where(selection, selectionArgs).build();
+        return builder.where(selection, selectionArgs)
+                .limit(limit)
+                .build();
     }
 
     private static class ProjectsSelection {
@@ -264,6 +645,31 @@ public class WorkerProvider extends ContentProvider {
         }
     }
 
+    private static class ActiveProjectsSelection {
+        private ActiveProjectsSelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.PROJECT + " INNER JOIN " + Tables.TIME + " ON " +
+                            Tables.PROJECT + "." + BaseColumns._ID + " = " +
+                            Tables.TIME + "." + TimeColumns.PROJECT_ID)
+                    .where(Tables.TIME + "." + TimeColumns.STOP + " = 0");
+        }
+    }
+
+    private static class ProjectBalanceSelection {
+        private ProjectBalanceSelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.PROJECT_BALANCE + " INNER JOIN " + Tables.PROJECT + " ON " +
+                            Tables.PROJECT + "." + BaseColumns._ID + " = " +
+                            Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.PROJECT_ID);
+        }
+    }
+
     private static class ProjectSelection {
         private ProjectSelection() {
         }
@@ -307,6 +713,91 @@ public class WorkerProvider extends ContentProvider {
         }
     }
 
+    private static class ProjectTimesheetTimeSelection {
+        private ProjectTimesheetTimeSelection() {
+        }
+
+        private static Selection.Builder build(
+                Uri uri,
+                String selection,
+                String[] selectionArgs,
+                String limit
+        ) {
+            Selection.Builder builder = ProjectTimesheetSelection.build(uri)
+                    .where(selection, selectionArgs);
+
+            // When paging with a date, i.e. the start of the last day of the
+            // previous page, we can use the index with a range of days instead
+            // of having to skip each of the days from the previous pages.
+            Optional<PageRequest> pageRequest = QueryParameter.extractPageRequestFromUri(uri);
+            if (pageRequest.isPresent()) {
+                Optional<Date> before = pageRequest.get().getBefore();
+                if (before.isPresent()) {
+                    builder.where(
+                            TimeColumns.DAY + "<?",
+                            String.valueOf(DayKey.fromMilliseconds(before.get().getTime()))
+                    );
+                }
+            }
+
+            Selection days = builder.build();
+
+            String query = SQLiteQueryBuilder.buildQueryString(
+                    false,
+                    days.getTable(),
+                    new String[]{ProviderContract.Timesheet.GROUP_BY},
+                    days.getSelection(),
+                    days.getGroupBy(),
+                    null,
+                    ProviderContract.Timesheet.GROUP_BY + " DESC",
+                    limit
+            );
+
+            return new Selection.Builder()
+                    .table(Tables.TIME)
+                    .where(
+                            TimeColumns.PROJECT_ID + "=?",
+                            ProviderContract.Project.getItemId(uri)
+                    )
+                    .where(
+                            ProviderContract.Timesheet.GROUP_BY + " IN (" + query + ")",
+                            days.getSelectionArgs()
+                    );
+        }
+    }
+
+    private static class TimeSummarySelection {
+        private TimeSummarySelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.TIME)
+                    .groupBy(TimeColumns.PROJECT_ID);
+        }
+    }
+
+    private static class TimesSelection {
+        private TimesSelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.TIME);
+        }
+    }
+
+    private static class ActiveTimeSelection {
+        private ActiveTimeSelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.TIME)
+                    .where(TimeColumns.STOP + " = 0");
+        }
+    }
+
     private static class TimeSelection {
         private TimeSelection() {
         }
@@ -320,4 +811,27 @@ public class WorkerProvider extends ContentProvider {
                     );
         }
     }
+
+    private static class DailySummarySelection {
+        private DailySummarySelection() {
+        }
+
+        private static Selection.Builder build() {
+            return new Selection.Builder()
+                    .table(Tables.DAILY_SUMMARY);
+        }
+    }
+
+    private static class ProjectDailySummarySelection {
+        private ProjectDailySummarySelection() {
+        }
+
+        private static Selection.Builder build(Uri uri) {
+            return DailySummarySelection.build()
+                    .where(
+                            DailySummaryColumns.PROJECT_ID + "=?",
+                            ProviderContract.Project.getItemId(uri)
+                    );
+        }
+    }
 }
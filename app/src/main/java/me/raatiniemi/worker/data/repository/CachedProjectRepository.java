@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+import static me.raatiniemi.worker.util.NullUtil.nonNull;
+
+/**
+ * Keep the projects in memory, since the same small set of projects is
+ * retrieved repeatedly, e.g. when changing the clock activity.
+ * <p>
+ * The cache is invalidated when projects are added or removed, and when
+ * the provider notifies about changes to the projects.
+ * <p>
+ * Projects are mutable, i.e. time can be added, so each call receives its
+ * own copy of the cached projects. The active projects depend on the time
+ * and are always retrieved from the repository.
+ */
+public class CachedProjectRepository implements ProjectRepository {
+    private final ContentResolver contentResolver;
+    private final ProjectRepository repository;
+
+    // Without a handler the cache is invalidated before the change
+    // notification have been completed, i.e. before observers in
+    // the user interface can request the changed projects.
+    private final ContentObserver observer = new ContentObserver(null) {
+        @Override
+        public void onChange(boolean selfChange) {
+            invalidate();
+        }
+
+        @Override
+        public void onChange(boolean selfChange, Uri uri) {
+            if (isChangeForProjects(uri)) {
+                invalidate();
+            }
+        }
+    };
+
+    private List<Project> projects;
+    private final Map<Long, Optional<Project>> projectsById = new HashMap<>();
+
+    private long hitCount;
+    private long missCount;
+
+    public CachedProjectRepository(
+            @NonNull ContentResolver contentResolver,
+            @NonNull ProjectRepository repository
+    ) {
+        this.contentResolver = contentResolver;
+        this.repository = repository;
+
+        contentResolver.registerContentObserver(
+                ProviderContract.Project.getStreamUri(),
+                true,
+                observer
+        );
+    }
+
+    /**
+     * Check whether a change can affect the projects.
+     * <p>
+     * Changes to the time for a project, i.e. uris below the project item,
+     * do not affect the project itself.
+     *
+     * @param uri Uri for the change.
+     * @return True if the change can affect the projects, otherwise false.
+     */
+    private static boolean isChangeForProjects(Uri uri) {
+        return isNull(uri) || 2 >= uri.getPathSegments().size();
+    }
+
+    @NonNull
+    private static Project copy(@NonNull Project project) throws InvalidProjectNameException {
+        return Project.builder(project.getName())
+                .id(project.getId())
+                .dailyTargetInMinutes(project.getDailyTargetInMinutes())
+                .build();
+    }
+
+    @NonNull
+    private static List<Project> copy(@NonNull List<Project> projects) throws InvalidProjectNameException {
+        List<Project> copies = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            copies.add(copy(project));
+        }
+
+        return copies;
+    }
+
+    @NonNull
+    private static Optional<Project> copy(@NonNull Optional<Project> value) throws InvalidProjectNameException {
+        if (!value.isPresent()) {
+            return value;
+        }
+
+        return Optional.of(copy(value.get()));
+    }
+
+    /**
+     * Compare the names in the same way as the provider, i.e. "COLLATE NOCASE"
+     * which only ignores case for ASCII characters.
+     */
+    private static boolean isSameName(@NonNull String lhs, @NonNull String rhs) {
+        if (lhs.length() != rhs.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < lhs.length(); i++) {
+            if (toLowerAscii(lhs.charAt(i)) != toLowerAscii(rhs.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static char toLowerAscii(char c) {
+        if ('A' <= c && 'Z' >= c) {
+            return (char) (c + ('a' - 'A'));
+        }
+
+        return c;
+    }
+
+    /**
+     * Remove all of the cached projects.
+     */
+    public synchronized void invalidate() {
+        projects = null;
+        projectsById.clear();
+    }
+
+    /**
+     * Stop observing changes to the projects and remove the cached projects,
+     * the repository should not be used after it have been closed.
+     */
+    public synchronized void close() {
+        contentResolver.unregisterContentObserver(observer);
+        invalidate();
+    }
+
+    /**
+     * Get the number of requests that have been served from the cache.
+     *
+     * @return Number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of requests that have been served by the repository.
+     *
+     * @return Number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public synchronized Optional<Project> findProjectByName(String projectName) throws DomainException {
+        requireNonNull(projectName);
+
+        if (isNull(projects)) {
+            missCount++;
+            return repository.findProjectByName(projectName);
+        }
+
+        hitCount++;
+        for (Project project : projects) {
+            if (isSameName(projectName, project.getName())) {
+                return Optional.of(copy(project));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized List<Project> get() throws DomainException {
+        if (nonNull(projects)) {
+            hitCount++;
+            return copy(projects);
+        }
+
+        missCount++;
+        projects = copy(repository.get());
+        return copy(projects);
+    }
+
+    @Override
+    public List<Project> getActive() throws DomainException {
+        return repository.getActive();
+    }
+
+    @Override
+    public synchronized Optional<Project> get(long id) throws DomainException {
+        Optional<Project> value = projectsById.get(id);
+        if (nonNull(value)) {
+            hitCount++;
+            return copy(value);
+        }
+
+        if (nonNull(projects)) {
+            hitCount++;
+            for (Project project : projects) {
+                if (id == project.getId()) {
+                    return Optional.of(copy(project));
+                }
+            }
+
+            return Optional.empty();
+        }
+
+        missCount++;
+        value = copy(repository.get(id));
+        projectsById.put(id, value);
+        return copy(value);
+    }
+
+    @Override
+    public synchronized Optional<Project> add(Project project) throws DomainException {
+        Optional<Project> value = repository.add(project);
+        invalidate();
+
+        return value;
+    }
+
+    @Override
+    public synchronized Optional<Project> updateDailyTarget(long id, long dailyTargetInMinutes)
+            throws DomainException {
+        Optional<Project> value = repository.updateDailyTarget(id, dailyTargetInMinutes);
+        invalidate();
+
+        return value;
+    }
+
+    @Override
+    public synchronized void remove(long id) {
+        repository.remove(id);
+        invalidate();
+    }
+}
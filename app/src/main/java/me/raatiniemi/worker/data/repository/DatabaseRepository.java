@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.database.sqlite.SQLiteDatabase;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+
+/**
+ * Base for repositories using the database as data source, i.e. without
+ * going through the content provider.
+ * <p>
+ * Since the provider is bypassed, the repositories are responsible for
+ * notifying the observers about changes.
+ */
+abstract class DatabaseRepository {
+    /**
+     * Content resolver used for notifying about changes.
+     */
+    private final ContentResolver contentResolver;
+
+    /**
+     * Database used with the repository.
+     */
+    private final WorkerDatabase database;
+
+    /**
+     * Constructor.
+     *
+     * @param contentResolver Content resolver used for notifying about changes.
+     * @param database        Database used with the repository.
+     */
+    DatabaseRepository(@NonNull ContentResolver contentResolver, @NonNull WorkerDatabase database) {
+        this.contentResolver = contentResolver;
+        this.database = database;
+    }
+
+    @NonNull
+    SQLiteDatabase getReadableDatabase() {
+        return database.getReadableDatabase();
+    }
+
+    @NonNull
+    SQLiteDatabase getWritableDatabase() {
+        return database.getWritableDatabase();
+    }
+
+    /**
+     * Notify the observers about a change, have to be called after the
+     * transaction for the change have been committed.
+     *
+     * @param uri Uri for the change.
+     */
+    void notifyChange(@NonNull Uri uri) {
+        contentResolver.notifyChange(uri, null);
+    }
+}
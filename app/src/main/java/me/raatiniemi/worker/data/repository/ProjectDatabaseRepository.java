@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.raatiniemi.worker.data.mapper.ActiveProjectCursorMapper;
+import me.raatiniemi.worker.data.mapper.ProjectContentValuesMapper;
+import me.raatiniemi.worker.data.mapper.ProjectCursorMapper;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+
+public class ProjectDatabaseRepository extends DatabaseRepository implements ProjectRepository {
+    private static final String ACTIVE_PROJECTS_TABLE = Tables.PROJECT
+            + " INNER JOIN " + Tables.TIME
+            + " ON " + Tables.PROJECT + "." + BaseColumns._ID
+            + " = " + Tables.TIME + "." + TimeColumns.PROJECT_ID;
+
+    private final ProjectCursorMapper cursorMapper = new ProjectCursorMapper();
+    private final ActiveProjectCursorMapper activeCursorMapper = new ActiveProjectCursorMapper();
+    private final ProjectContentValuesMapper contentValuesMapper = new ProjectContentValuesMapper();
+
+    public ProjectDatabaseRepository(@NonNull ContentResolver contentResolver, @NonNull WorkerDatabase database) {
+        super(contentResolver, database);
+    }
+
+    @NonNull
+    private List<Project> fetch(@Nullable Cursor cursor) throws InvalidProjectNameException {
+        final List<Project> projects = new ArrayList<>();
+        if (isNull(cursor)) {
+            return projects;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                ProjectCursorMapper.Bound mapper = cursorMapper.bind(cursor);
+                do {
+                    projects.add(mapper.transform(cursor));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return projects;
+    }
+
+    @NonNull
+    private Optional<Project> fetchRow(@Nullable Cursor cursor) throws InvalidProjectNameException {
+        if (isNull(cursor)) {
+            return Optional.empty();
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                return Optional.of(cursorMapper.transform(cursor));
+            }
+
+            return Optional.empty();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @Override
+    public Optional<Project> findProjectByName(String projectName) throws InvalidProjectNameException {
+        requireNonNull(projectName);
+
+        final Cursor cursor = getReadableDatabase().query(
+                Tables.PROJECT,
+                ProviderContract.Project.getColumns(),
+                ProjectColumns.NAME + "=? COLLATE NOCASE",
+                new String[]{projectName},
+                null,
+                null,
+                null
+        );
+        return fetchRow(cursor);
+    }
+
+    @Override
+    public List<Project> get() throws InvalidProjectNameException {
+        final Cursor cursor = getReadableDatabase().query(
+                Tables.PROJECT,
+                ProviderContract.Project.getColumns(),
+                null,
+                null,
+                null,
+                null,
+                ProviderContract.Project.ORDER_BY
+        );
+        return fetch(cursor);
+    }
+
+    @Override
+    public List<Project> getActive() throws DomainException {
+        final Cursor cursor = getReadableDatabase().query(
+                ACTIVE_PROJECTS_TABLE,
+                ProviderContract.Project.getActiveColumns(),
+                Tables.TIME + "." + TimeColumns.STOP + " = 0",
+                null,
+                null,
+                null,
+                ProviderContract.Project.ORDER_BY
+        );
+        final List<Project> projects = new ArrayList<>();
+        if (isNull(cursor)) {
+            return projects;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                ActiveProjectCursorMapper.Bound mapper = activeCursorMapper.bind(cursor);
+                do {
+                    projects.add(mapper.transform(cursor));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return projects;
+    }
+
+    @Override
+    public Optional<Project> get(final long id) throws InvalidProjectNameException {
+        final Cursor cursor = getReadableDatabase().query(
+                Tables.PROJECT,
+                ProviderContract.Project.getColumns(),
+                BaseColumns._ID + "=?",
+                new String[]{String.valueOf(id)},
+                null,
+                null,
+                null
+        );
+        return fetchRow(cursor);
+    }
+
+    @Override
+    public Optional<Project> add(final Project project) throws InvalidProjectNameException {
+        requireNonNull(project);
+
+        long id = getWritableDatabase().insertOrThrow(
+                Tables.PROJECT,
+                null,
+                contentValuesMapper.transform(project)
+        );
+        notifyChange(ProviderContract.Project.getItemUri(id));
+
+        return get(id);
+    }
+
+    @Override
+    public Optional<Project> updateDailyTarget(final long id, final long dailyTargetInMinutes)
+            throws InvalidProjectNameException {
+        ContentValues values = new ContentValues();
+        values.put(ProjectColumns.DAILY_TARGET, dailyTargetInMinutes);
+
+        int numberOfUpdatedRows = getWritableDatabase().update(
+                Tables.PROJECT,
+                values,
+                BaseColumns._ID + "=?",
+                new String[]{String.valueOf(id)}
+        );
+        if (0 == numberOfUpdatedRows) {
+            return Optional.empty();
+        }
+
+        notifyChange(ProviderContract.Project.getItemUri(id));
+        return get(id);
+    }
+
+    @Override
+    public void remove(final long id) {
+        final SQLiteDatabase db = getWritableDatabase();
+        final String[] selectionArgs = new String[]{String.valueOf(id)};
+
+        // The registered time for the project have to be removed before the
+        // project, both within the same transaction.
+        int numberOfRemovedTime;
+        int numberOfRemovedProjects;
+        db.beginTransactionNonExclusive();
+        try {
+            numberOfRemovedTime = db.delete(Tables.TIME, TimeColumns.PROJECT_ID + "=?", selectionArgs);
+            numberOfRemovedProjects = db.delete(Tables.PROJECT, BaseColumns._ID + "=?", selectionArgs);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < numberOfRemovedTime) {
+            notifyChange(ProviderContract.Project.getItemTimeUri(id));
+        }
+        if (0 < numberOfRemovedProjects) {
+            notifyChange(ProviderContract.Project.getItemUri(id));
+        }
+    }
+}
@@ -18,6 +18,7 @@ package me.raatiniemi.worker.data.repository;
 
 import android.content.ContentProviderOperation;
 import android.content.ContentResolver;
+import android.content.ContentValues;
 import android.content.OperationApplicationException;
 import android.database.Cursor;
 import android.net.Uri;
@@ -28,11 +29,13 @@ import android.support.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
+import me.raatiniemi.worker.data.mapper.ActiveProjectCursorMapper;
 import me.raatiniemi.worker.data.mapper.ProjectContentValuesMapper;
 import me.raatiniemi.worker.data.mapper.ProjectCursorMapper;
 import me.raatiniemi.worker.data.provider.ProviderContract;
 import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
 import me.raatiniemi.worker.data.repository.exception.ContentResolverApplyBatchException;
+import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
@@ -43,6 +46,7 @@ import static me.raatiniemi.worker.util.NullUtil.isNull;
 
 public class ProjectResolverRepository extends ContentResolverRepository implements ProjectRepository {
     private final ProjectCursorMapper cursorMapper = new ProjectCursorMapper();
+    private final ActiveProjectCursorMapper activeCursorMapper = new ActiveProjectCursorMapper();
     private final ProjectContentValuesMapper contentValuesMapper = new ProjectContentValuesMapper();
 
     public ProjectResolverRepository(@NonNull ContentResolver contentResolver) {
@@ -58,8 +62,9 @@ public class ProjectResolverRepository extends ContentResolverRepository impleme
 
         try {
             if (cursor.moveToFirst()) {
+                ProjectCursorMapper.Bound mapper = cursorMapper.bind(cursor);
                 do {
-                    projects.add(cursorMapper.transform(cursor));
+                    projects.add(mapper.transform(cursor));
                 } while (cursor.moveToNext());
             }
         } finally {
@@ -115,6 +120,34 @@ public class ProjectResolverRepository extends ContentResolverRepository impleme
         return fetch(cursor);
     }
 
+    @Override
+    public List<Project> getActive() throws DomainException {
+        final Cursor cursor = getContentResolver().query(
+                ProviderContract.Project.getActiveUri(),
+                ProviderContract.Project.getActiveColumns(),
+                null,
+                null,
+                ProviderContract.Project.ORDER_BY
+        );
+        if (isNull(cursor)) {
+            return new ArrayList<>();
+        }
+
+        final List<Project> projects = new ArrayList<>();
+        try {
+            if (cursor.moveToFirst()) {
+                ActiveProjectCursorMapper.Bound mapper = activeCursorMapper.bind(cursor);
+                do {
+                    projects.add(mapper.transform(cursor));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return projects;
+    }
+
     @Override
     public Optional<Project> get(final long id) throws InvalidProjectNameException {
         final Cursor cursor = getContentResolver().query(
@@ -138,6 +171,25 @@ public class ProjectResolverRepository extends ContentResolverRepository impleme
         return get(Long.parseLong(ProviderContract.Project.getItemId(uri)));
     }
 
+    @Override
+    public Optional<Project> updateDailyTarget(final long id, final long dailyTargetInMinutes)
+            throws InvalidProjectNameException {
+        ContentValues values = new ContentValues();
+        values.put(ProjectColumns.DAILY_TARGET, dailyTargetInMinutes);
+
+        int numberOfUpdatedRows = getContentResolver().update(
+                ProviderContract.Project.getItemUri(id),
+                values,
+                null,
+                null
+        );
+        if (0 == numberOfUpdatedRows) {
+            return Optional.empty();
+        }
+
+        return get(id);
+    }
+
     @Override
     public void remove(final long id) {
         ArrayList<ContentProviderOperation> batch = new ArrayList<>();
@@ -0,0 +1,586 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import me.raatiniemi.worker.data.mapper.TimeContentValuesMapper;
+import me.raatiniemi.worker.data.mapper.TimeCursorMapper;
+import me.raatiniemi.worker.data.provider.InsertStatement;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectBalanceColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.util.Consumer;
+import me.raatiniemi.worker.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.MAX_IDS_PER_STATEMENT;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.PROJECT_BALANCE_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.SINCE_OR_ACTIVE_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.SUMMARY_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildPlaceholders;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildRegisteredValues;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildSelectionArgs;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetch;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchElapsedTime;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchFlexBalance;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchFlexBalances;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchRow;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchSummaries;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchTimeSeries;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getBeginningOfMonthInMilliseconds;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getChunk;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getCurrentDay;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.visit;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.withId;
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+
+public class TimeDatabaseRepository extends DatabaseRepository implements TimeRepository {
+    private static final String PROJECT_SELECTION = TimeColumns.PROJECT_ID + "=?";
+    private static final String ITEM_SELECTION = BaseColumns._ID + "=?";
+    private static final String PROJECT_BALANCE_TABLE = Tables.PROJECT_BALANCE
+            + " INNER JOIN " + Tables.PROJECT
+            + " ON " + Tables.PROJECT + "." + BaseColumns._ID
+            + " = " + Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.PROJECT_ID;
+
+    private final TimeCursorMapper cursorMapper = new TimeCursorMapper();
+    private final TimeContentValuesMapper contentValuesMapper = new TimeContentValuesMapper();
+
+    public TimeDatabaseRepository(@NonNull ContentResolver contentResolver, @NonNull WorkerDatabase database) {
+        super(contentResolver, database);
+    }
+
+    @NonNull
+    private Cursor queryProjectTime(
+            long projectId,
+            @NonNull String[] columns,
+            @NonNull String selection,
+            @NonNull String[] selectionArgs,
+            @Nullable String orderBy
+    ) {
+        String[] args = new String[selectionArgs.length + 1];
+        args[0] = String.valueOf(projectId);
+        System.arraycopy(selectionArgs, 0, args, 1, selectionArgs.length);
+
+        return getReadableDatabase().query(
+                Tables.TIME,
+                columns,
+                PROJECT_SELECTION + " AND (" + selection + ")",
+                args,
+                null,
+                null,
+                orderBy
+        );
+    }
+
+    private void notifyProjectTimeChange(@NonNull Time time) {
+        notifyChange(ProviderContract.Project.getItemTimeUri(time.getProjectId()));
+    }
+
+    private void notifyProjectTimeChanges(@NonNull Set<Long> projectIds) {
+        for (Long projectId : projectIds) {
+            notifyChange(ProviderContract.Project.getItemTimeUri(projectId));
+        }
+    }
+
+    @NonNull
+    private static Set<Long> collectProjectIds(@NonNull List<Time> times) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+        for (Time time : times) {
+            projectIds.add(time.getProjectId());
+        }
+
+        return projectIds;
+    }
+
+    /**
+     * Find the projects for the time, have to be called within the
+     * transaction for the change to avoid missing concurrent changes.
+     *
+     * @param db  Database with the time.
+     * @param ids Ids for the time.
+     * @return Ids for the projects.
+     */
+    @NonNull
+    private static Set<Long> findProjectIds(@NonNull SQLiteDatabase db, @NonNull List<Long> ids) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+
+        Cursor cursor = db.query(
+                true,
+                Tables.TIME,
+                new String[]{TimeColumns.PROJECT_ID},
+                BaseColumns._ID + " IN (" + buildPlaceholders(ids.size()) + ")",
+                buildSelectionArgs(ids),
+                null,
+                null,
+                null,
+                null
+        );
+        try {
+            while (cursor.moveToNext()) {
+                projectIds.add(cursor.getLong(0));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return projectIds;
+    }
+
+    @Override
+    public List<Time> findProjectTimeSinceStartingPointInMilliseconds(Project project, long milliseconds) throws DomainException {
+        requireNonNull(project);
+
+        List<Time> results = new ArrayList<>();
+        visitProjectTimeSinceStartingPointInMilliseconds(project.getId(), milliseconds, results::add);
+
+        return results;
+    }
+
+    @Override
+    public void visitProjectTimeSinceStartingPointInMilliseconds(
+            long projectId,
+            long milliseconds,
+            Consumer<Time> consumer
+    ) throws DomainException {
+        requireNonNull(consumer);
+
+        Cursor cursor = queryProjectTime(
+                projectId,
+                ProviderContract.Time.getColumns(),
+                TimeColumns.START + ">=?",
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        visit(cursorMapper, cursor, consumer);
+    }
+
+    @Override
+    public TimeSeries findProjectTimeSeriesSinceStartingPointInMilliseconds(long projectId, long milliseconds) {
+        Cursor cursor = queryProjectTime(
+                projectId,
+                ProviderContract.Time.getColumns(),
+                TimeColumns.START + ">=?",
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        return fetchTimeSeries(cursorMapper, cursor);
+    }
+
+    @Override
+    public Map<Long, Long> summarizeProjectTimeSinceStartingPointInMilliseconds(long milliseconds) {
+        Cursor cursor = getReadableDatabase().query(
+                Tables.TIME,
+                ProviderContract.Time.getSummaryColumns(),
+                SUMMARY_SELECTION,
+                new String[]{String.valueOf(milliseconds)},
+                TimeColumns.PROJECT_ID,
+                null,
+                null
+        );
+        return fetchSummaries(cursor);
+    }
+
+    @Override
+    public Map<Long, Long> getFlexBalanceInMilliseconds() {
+        Cursor cursor = getReadableDatabase().query(
+                PROJECT_BALANCE_TABLE,
+                ProviderContract.Project.getBalanceColumns(getCurrentDay()),
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+        return fetchFlexBalances(cursor);
+    }
+
+    @Override
+    public long getFlexBalanceForProjectInMilliseconds(long projectId) {
+        Cursor cursor = getReadableDatabase().query(
+                PROJECT_BALANCE_TABLE,
+                ProviderContract.Project.getBalanceColumns(getCurrentDay()),
+                PROJECT_BALANCE_SELECTION,
+                new String[]{String.valueOf(projectId)},
+                null,
+                null,
+                null
+        );
+        return fetchFlexBalance(cursor);
+    }
+
+    @Override
+    public Optional<Time> get(final long id) throws ClockOutBeforeClockInException {
+        final Cursor cursor = getReadableDatabase().query(
+                Tables.TIME,
+                ProviderContract.Time.getColumns(),
+                ITEM_SELECTION,
+                new String[]{String.valueOf(id)},
+                null,
+                null,
+                null
+        );
+        return fetchRow(cursorMapper, cursor);
+    }
+
+    @Override
+    public List<Time> get(List<Long> ids) throws ClockOutBeforeClockInException {
+        requireNonNull(ids);
+
+        List<Time> results = new ArrayList<>();
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = getChunk(ids, offset);
+
+            Cursor cursor = getReadableDatabase().query(
+                    Tables.TIME,
+                    ProviderContract.Time.getColumns(),
+                    BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")",
+                    buildSelectionArgs(chunk),
+                    null,
+                    null,
+                    null
+            );
+            visit(cursorMapper, cursor, results::add);
+        }
+
+        return results;
+    }
+
+    @Override
+    public Optional<Time> add(final Time time) throws ClockOutBeforeClockInException {
+        requireNonNull(time);
+
+        long id = getWritableDatabase().insertOrThrow(
+                Tables.TIME,
+                null,
+                contentValuesMapper.transform(time)
+        );
+        notifyChange(ProviderContract.Time.getItemUri(id));
+        notifyProjectTimeChange(time);
+
+        return Optional.of(withId(time, id));
+    }
+
+    @Override
+    public int add(List<Time> times) {
+        requireNonNull(times);
+
+        if (times.isEmpty()) {
+            return 0;
+        }
+
+        final SQLiteDatabase db = getWritableDatabase();
+        InsertStatement statement = null;
+
+        // Every row is transformed with the same set of columns, i.e. the
+        // statement can be compiled once and reused for each of the rows.
+        db.beginTransactionNonExclusive();
+        try {
+            for (Time time : times) {
+                ContentValues values = contentValuesMapper.transform(time);
+                if (isNull(statement)) {
+                    statement = InsertStatement.compile(db, Tables.TIME, values.keySet());
+                }
+
+                statement.execute(values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            if (null != statement) {
+                statement.close();
+            }
+            db.endTransaction();
+        }
+
+        notifyChange(ProviderContract.Time.getStreamUri());
+        notifyProjectTimeChanges(collectProjectIds(times));
+        return times.size();
+    }
+
+    @Override
+    public Optional<Time> update(final Time time) throws ClockOutBeforeClockInException {
+        requireNonNull(time);
+
+        final SQLiteDatabase db = getWritableDatabase();
+        Set<Long> projectIds;
+        int numberOfUpdatedRows;
+
+        // The time might have been moved to another project, i.e. both the
+        // previous and the current project have to be notified.
+        db.beginTransactionNonExclusive();
+        try {
+            projectIds = findProjectIds(db, Collections.singletonList(time.getId()));
+            numberOfUpdatedRows = db.update(
+                    Tables.TIME,
+                    contentValuesMapper.transform(time),
+                    ITEM_SELECTION,
+                    new String[]{String.valueOf(time.getId())}
+            );
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (0 == numberOfUpdatedRows) {
+            return Optional.empty();
+        }
+        projectIds.add(time.getProjectId());
+
+        notifyChange(ProviderContract.Time.getItemUri(time.getId()));
+        notifyProjectTimeChanges(projectIds);
+
+        return Optional.of(time);
+    }
+
+    @Override
+    public List<Time> update(List<Time> times) throws ClockOutBeforeClockInException {
+        requireNonNull(times);
+
+        final SQLiteDatabase db = getWritableDatabase();
+        List<Time> updatedTimes = new ArrayList<>();
+        Set<Long> projectIds = new LinkedHashSet<>();
+
+        List<Long> ids = new ArrayList<>();
+        for (Time time : times) {
+            ids.add(time.getId());
+        }
+
+        db.beginTransactionNonExclusive();
+        try {
+            for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+                projectIds.addAll(findProjectIds(db, getChunk(ids, offset)));
+            }
+
+            for (Time time : times) {
+                int numberOfUpdatedRows = db.update(
+                        Tables.TIME,
+                        contentValuesMapper.transform(time),
+                        ITEM_SELECTION,
+                        new String[]{String.valueOf(time.getId())}
+                );
+                if (0 < numberOfUpdatedRows) {
+                    updatedTimes.add(time);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (updatedTimes.isEmpty()) {
+            return updatedTimes;
+        }
+
+        // Items might have been moved to another project, i.e. both the
+        // previous and the current projects have to be notified.
+        for (Time time : updatedTimes) {
+            notifyChange(ProviderContract.Time.getItemUri(time.getId()));
+        }
+        projectIds.addAll(collectProjectIds(updatedTimes));
+        notifyProjectTimeChanges(projectIds);
+
+        return updatedTimes;
+    }
+
+    @Override
+    public int updateRegistered(List<Long> ids, boolean registered) {
+        requireNonNull(ids);
+
+        final SQLiteDatabase db = getWritableDatabase();
+        ContentValues values = buildRegisteredValues(registered);
+        String registeredArg = registered ? "1" : "0";
+
+        int numberOfUpdatedRows = 0;
+        Set<Long> projectIds = new LinkedHashSet<>();
+        db.beginTransactionNonExclusive();
+        try {
+            for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+                List<Long> chunk = getChunk(ids, offset);
+
+                projectIds.addAll(findProjectIds(db, chunk));
+                numberOfUpdatedRows += db.update(
+                        Tables.TIME,
+                        values,
+                        BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")"
+                                + " AND " + TimeColumns.REGISTERED + " != ?",
+                        buildSelectionArgs(chunk, registeredArg)
+                );
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < numberOfUpdatedRows) {
+            notifyChange(ProviderContract.Time.getRegisteredUri());
+            notifyProjectTimeChanges(projectIds);
+        }
+        return numberOfUpdatedRows;
+    }
+
+    @Override
+    public void remove(final long id) {
+        final SQLiteDatabase db = getWritableDatabase();
+        Set<Long> projectIds;
+        int numberOfRemovedRows;
+
+        db.beginTransactionNonExclusive();
+        try {
+            projectIds = findProjectIds(db, Collections.singletonList(id));
+            numberOfRemovedRows = db.delete(
+                    Tables.TIME,
+                    ITEM_SELECTION,
+                    new String[]{String.valueOf(id)}
+            );
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < numberOfRemovedRows) {
+            notifyChange(ProviderContract.Time.getItemUri(id));
+            notifyProjectTimeChanges(projectIds);
+        }
+    }
+
+    @Override
+    public int remove(List<Time> times) {
+        requireNonNull(times);
+
+        List<Long> ids = new ArrayList<>();
+        for (Time time : times) {
+            ids.add(time.getId());
+        }
+
+        final SQLiteDatabase db = getWritableDatabase();
+        int numberOfRemovedRows = 0;
+        db.beginTransactionNonExclusive();
+        try {
+            for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+                List<Long> chunk = getChunk(ids, offset);
+
+                numberOfRemovedRows += db.delete(
+                        Tables.TIME,
+                        BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")",
+                        buildSelectionArgs(chunk)
+                );
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (0 < numberOfRemovedRows) {
+            notifyChange(ProviderContract.Time.getStreamUri());
+            notifyProjectTimeChanges(collectProjectIds(times));
+        }
+        return numberOfRemovedRows;
+    }
+
+    @Override
+    public int removeForProjectBetween(long projectId, long startInMilliseconds, long stopInMilliseconds) {
+        int numberOfRemovedRows = getWritableDatabase().delete(
+                Tables.TIME,
+                TimeColumns.PROJECT_ID + "=? AND "
+                        + TimeColumns.START + ">=? AND "
+                        + TimeColumns.START + "<?",
+                new String[]{
+                        String.valueOf(projectId),
+                        String.valueOf(startInMilliseconds),
+                        String.valueOf(stopInMilliseconds)
+                }
+        );
+
+        if (0 < numberOfRemovedRows) {
+            notifyChange(ProviderContract.Project.getItemTimeUri(projectId));
+        }
+        return numberOfRemovedRows;
+    }
+
+    @Override
+    public ElapsedTime getElapsedTimeForProjectSince(long projectId, long milliseconds) {
+        final Cursor cursor = queryProjectTime(
+                projectId,
+                ProviderContract.Time.getElapsedColumns(),
+                SINCE_OR_ACTIVE_SELECTION,
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        return fetchElapsedTime(cursor);
+    }
+
+    @Override
+    public List<Time> getProjectTimeSinceBeginningOfMonth(long projectId)
+            throws ClockOutBeforeClockInException {
+        final Cursor cursor = queryProjectTime(
+                projectId,
+                ProviderContract.Time.getColumns(),
+                SINCE_OR_ACTIVE_SELECTION,
+                new String[]{String.valueOf(getBeginningOfMonthInMilliseconds())},
+                ProviderContract.Project.ORDER_BY_TIME
+        );
+        return fetch(cursorMapper, cursor);
+    }
+
+    @Override
+    public Optional<Time> getActiveTimeForProject(long projectId)
+            throws ClockOutBeforeClockInException {
+        final Cursor cursor = queryProjectTime(
+                projectId,
+                ProviderContract.Time.getColumns(),
+                TimeColumns.STOP + " = 0",
+                new String[0],
+                null
+        );
+        return fetchRow(cursorMapper, cursor);
+    }
+
+    @Override
+    public List<Time> getActiveTime() throws ClockOutBeforeClockInException {
+        final Cursor cursor = getReadableDatabase().query(
+                Tables.TIME,
+                ProviderContract.Time.getColumns(),
+                TimeColumns.STOP + " = 0",
+                null,
+                null,
+                null,
+                null
+        );
+        return fetch(cursorMapper, cursor);
+    }
+}
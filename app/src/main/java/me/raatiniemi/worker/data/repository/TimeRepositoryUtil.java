@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.raatiniemi.worker.data.mapper.TimeCursorMapper;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectBalanceColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.util.DayKey;
+import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
+import me.raatiniemi.worker.util.Consumer;
+import me.raatiniemi.worker.util.Optional;
+
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+
+/**
+ * Queries and cursor handling shared between the time repositories.
+ */
+final class TimeRepositoryUtil {
+    /**
+     * SQLite have a limit on the number of arguments for a statement, i.e.
+     * large sets of ids have to be split into multiple statements.
+     */
+    static final int MAX_IDS_PER_STATEMENT = 500;
+
+    static final String PROJECT_BALANCE_SELECTION = Tables.PROJECT_BALANCE + "." + ProjectBalanceColumns.PROJECT_ID + "=?";
+
+    /**
+     * Active time do not have a stop timestamp, i.e. it should not be
+     * included with the summary since it would be a negative interval.
+     */
+    static final String SUMMARY_SELECTION = TimeColumns.START + ">=? AND " + TimeColumns.STOP + " > 0";
+
+    /**
+     * The active time is included even if it was started before the starting
+     * point, i.e. the summary can be used as base for a chronometer.
+     */
+    static final String SINCE_OR_ACTIVE_SELECTION = TimeColumns.START + ">=? OR " + TimeColumns.STOP + " = 0";
+
+    private TimeRepositoryUtil() {
+    }
+
+    /**
+     * Pass each of the rows from the cursor to the consumer, the cursor is
+     * closed once all rows have been visited.
+     *
+     * @param cursorMapper Mapper for transforming the rows.
+     * @param cursor       Cursor with the rows to visit.
+     * @param consumer     Consumer for the transformed rows.
+     * @throws ClockOutBeforeClockInException If a row have an invalid interval.
+     */
+    static void visit(
+            @NonNull TimeCursorMapper cursorMapper,
+            @Nullable Cursor cursor,
+            @NonNull Consumer<Time> consumer
+    ) throws ClockOutBeforeClockInException {
+        if (isNull(cursor)) {
+            return;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                TimeCursorMapper.Bound mapper = cursorMapper.bind(cursor);
+                do {
+                    consumer.accept(mapper.transform(cursor));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @NonNull
+    static List<Time> fetch(
+            @NonNull TimeCursorMapper cursorMapper,
+            @Nullable Cursor cursor
+    ) throws ClockOutBeforeClockInException {
+        List<Time> results = new ArrayList<>();
+        visit(cursorMapper, cursor, results::add);
+
+        return results;
+    }
+
+    @NonNull
+    static Optional<Time> fetchRow(
+            @NonNull TimeCursorMapper cursorMapper,
+            @Nullable Cursor cursor
+    ) throws ClockOutBeforeClockInException {
+        if (isNull(cursor)) {
+            return Optional.empty();
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                return Optional.of(cursorMapper.transform(cursor));
+            }
+
+            return Optional.empty();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Append each of the rows from the cursor to a series, the cursor is
+     * closed once all rows have been appended.
+     *
+     * @param cursorMapper Mapper for reading the rows.
+     * @param cursor       Cursor with the rows to append.
+     * @return Series with the rows from the cursor.
+     */
+    @NonNull
+    static TimeSeries fetchTimeSeries(@NonNull TimeCursorMapper cursorMapper, @Nullable Cursor cursor) {
+        if (isNull(cursor)) {
+            return new TimeSeries(0);
+        }
+
+        try {
+            TimeSeries series = new TimeSeries(cursor.getCount());
+            if (cursor.moveToFirst()) {
+                TimeCursorMapper.Bound mapper = cursorMapper.bind(cursor);
+                do {
+                    mapper.appendTo(cursor, series);
+                } while (cursor.moveToNext());
+            }
+
+            return series;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Fetch the summarized time for each of the projects in the cursor.
+     *
+     * @param cursor Cursor with the columns from {@link ProviderContract.Time#getSummaryColumns()}.
+     * @return Summarized time in milliseconds, keyed by the id for the project.
+     */
+    @NonNull
+    static Map<Long, Long> fetchSummaries(@Nullable Cursor cursor) {
+        Map<Long, Long> results = new HashMap<>();
+        if (isNull(cursor)) {
+            return results;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                int projectIdIndex = cursor.getColumnIndexOrThrow(TimeColumns.PROJECT_ID);
+                int summaryIndex = cursor.getColumnIndexOrThrow(ProviderContract.Time.SUMMARY);
+
+                do {
+                    results.put(cursor.getLong(projectIdIndex), cursor.getLong(summaryIndex));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return results;
+    }
+
+    /**
+     * Fetch the elapsed time for a project.
+     *
+     * @param cursor Cursor with the columns from {@link ProviderContract.Time#getElapsedColumns()}.
+     * @return Elapsed time, or no elapsed time if the cursor is empty.
+     */
+    @NonNull
+    static ElapsedTime fetchElapsedTime(@Nullable Cursor cursor) {
+        if (isNull(cursor)) {
+            return new ElapsedTime(0L, 0L);
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                return new ElapsedTime(
+                        cursor.getLong(cursor.getColumnIndexOrThrow(ProviderContract.Time.SUMMARY)),
+                        cursor.getLong(cursor.getColumnIndexOrThrow(ProviderContract.Time.ACTIVE_START))
+                );
+            }
+
+            return new ElapsedTime(0L, 0L);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Fetch the flex balance for each of the projects in the cursor.
+     *
+     * @param cursor Cursor with the columns from {@link ProviderContract.Project#getBalanceColumns(long)}.
+     * @return Flex balance in milliseconds, keyed by the id for the project.
+     */
+    @NonNull
+    static Map<Long, Long> fetchFlexBalances(@Nullable Cursor cursor) {
+        Map<Long, Long> results = new HashMap<>();
+        if (isNull(cursor)) {
+            return results;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                int projectIdIndex = cursor.getColumnIndexOrThrow(ProjectBalanceColumns.PROJECT_ID);
+                int balanceIndex = cursor.getColumnIndexOrThrow(ProviderContract.Project.BALANCE);
+
+                do {
+                    results.put(cursor.getLong(projectIdIndex), cursor.getLong(balanceIndex));
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return results;
+    }
+
+    /**
+     * Fetch the flex balance for a single project.
+     *
+     * @param cursor Cursor with the columns from {@link ProviderContract.Project#getBalanceColumns(long)}.
+     * @return Flex balance in milliseconds, or zero if the cursor is empty.
+     */
+    static long fetchFlexBalance(@Nullable Cursor cursor) {
+        if (isNull(cursor)) {
+            return 0L;
+        }
+
+        try {
+            if (cursor.moveToFirst()) {
+                return cursor.getLong(cursor.getColumnIndexOrThrow(ProviderContract.Project.BALANCE));
+            }
+
+            return 0L;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Build the time with the id for the inserted row.
+     * <p>
+     * The inserted row only differ from the time in hand by its id, i.e.
+     * there is no need for querying the row that was just inserted.
+     *
+     * @param time Time that was inserted.
+     * @param id   Id for the inserted row.
+     * @return Time with the id for the inserted row.
+     * @throws ClockOutBeforeClockInException If the time have an invalid interval.
+     */
+    @NonNull
+    static Time withId(@NonNull Time time, long id) throws ClockOutBeforeClockInException {
+        Time.Builder builder = Time.builder(time.getProjectId())
+                .id(id)
+                .startInMilliseconds(time.getStartInMilliseconds())
+                .stopInMilliseconds(time.getStopInMilliseconds());
+
+        if (time.isRegistered()) {
+            builder.register();
+        }
+
+        return builder.build();
+    }
+
+    @NonNull
+    static String buildPlaceholders(int numberOfPlaceholders) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < numberOfPlaceholders; i++) {
+            if (i > 0) {
+                placeholders.append(',');
+            }
+            placeholders.append('?');
+        }
+
+        return placeholders.toString();
+    }
+
+    @NonNull
+    static String[] buildSelectionArgs(@NonNull List<Long> ids, String... args) {
+        String[] selectionArgs = new String[ids.size() + args.length];
+        for (int i = 0; i < ids.size(); i++) {
+            selectionArgs[i] = String.valueOf(ids.get(i));
+        }
+        System.arraycopy(args, 0, selectionArgs, ids.size(), args.length);
+
+        return selectionArgs;
+    }
+
+    /**
+     * Get the chunk of ids starting at the offset, with at most
+     * {@link #MAX_IDS_PER_STATEMENT} ids.
+     *
+     * @param ids    Ids to split into chunks.
+     * @param offset Offset for the chunk.
+     * @return Chunk of ids.
+     */
+    @NonNull
+    static List<Long> getChunk(@NonNull List<Long> ids, int offset) {
+        return ids.subList(offset, Math.min(ids.size(), offset + MAX_IDS_PER_STATEMENT));
+    }
+
+    @NonNull
+    static ContentValues buildRegisteredValues(boolean registered) {
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.REGISTERED, registered ? 1L : 0L);
+
+        return values;
+    }
+
+    static long getBeginningOfMonthInMilliseconds() {
+        // Reset the calendar to retrieve timestamp
+        // of the beginning of the month.
+        final Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+
+        return calendar.getTimeInMillis();
+    }
+
+    static long getCurrentDay() {
+        return DayKey.fromMilliseconds(System.currentTimeMillis());
+    }
+}
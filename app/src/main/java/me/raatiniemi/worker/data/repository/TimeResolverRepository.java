@@ -17,18 +17,19 @@
 package me.raatiniemi.worker.data.repository;
 
 import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.OperationApplicationException;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.RemoteException;
+import android.provider.BaseColumns;
 import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
 
 import me.raatiniemi.worker.data.mapper.TimeContentValuesMapper;
 import me.raatiniemi.worker.data.mapper.TimeCursorMapper;
@@ -37,12 +38,34 @@ import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
 import me.raatiniemi.worker.data.repository.exception.ContentResolverApplyBatchException;
 import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.util.Consumer;
 import me.raatiniemi.worker.util.Optional;
 
 import static java.util.Objects.requireNonNull;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.MAX_IDS_PER_STATEMENT;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.PROJECT_BALANCE_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.SINCE_OR_ACTIVE_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.SUMMARY_SELECTION;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildPlaceholders;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildRegisteredValues;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.buildSelectionArgs;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetch;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchElapsedTime;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchFlexBalance;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchFlexBalances;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchRow;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchSummaries;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.fetchTimeSeries;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getBeginningOfMonthInMilliseconds;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getChunk;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.getCurrentDay;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.visit;
+import static me.raatiniemi.worker.data.repository.TimeRepositoryUtil.withId;
 import static me.raatiniemi.worker.util.NullUtil.isNull;
 
 public class TimeResolverRepository extends ContentResolverRepository implements TimeRepository {
@@ -53,56 +76,80 @@ public class TimeResolverRepository extends ContentResolverRepository implements
         super(contentResolver);
     }
 
-    @NonNull
-    private List<Time> fetch(@Nullable Cursor cursor) throws ClockOutBeforeClockInException {
-        List<Time> results = new ArrayList<>();
-        if (isNull(cursor)) {
-            return results;
-        }
+    @Override
+    public List<Time> findProjectTimeSinceStartingPointInMilliseconds(Project project, long milliseconds) throws DomainException {
+        requireNonNull(project);
 
-        try {
-            if (cursor.moveToFirst()) {
-                do {
-                    results.add(cursorMapper.transform(cursor));
-                } while (cursor.moveToNext());
-            }
-        } finally {
-            cursor.close();
-        }
+        List<Time> results = new ArrayList<>();
+        visitProjectTimeSinceStartingPointInMilliseconds(project.getId(), milliseconds, results::add);
 
         return results;
     }
 
-    @NonNull
-    private Optional<Time> fetchRow(@Nullable Cursor cursor) throws ClockOutBeforeClockInException {
-        if (isNull(cursor)) {
-            return Optional.empty();
-        }
-
-        try {
-            if (cursor.moveToFirst()) {
-                Time result = cursorMapper.transform(cursor);
-                return Optional.of(result);
-            }
+    @Override
+    public void visitProjectTimeSinceStartingPointInMilliseconds(
+            long projectId,
+            long milliseconds,
+            Consumer<Time> consumer
+    ) throws DomainException {
+        requireNonNull(consumer);
 
-            return Optional.empty();
-        } finally {
-            cursor.close();
-        }
+        Cursor cursor = getContentResolver().query(
+                ProviderContract.Project.getItemTimeUri(projectId),
+                ProviderContract.Time.getColumns(),
+                TimeColumns.START + ">=?",
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        visit(cursorMapper, cursor, consumer);
     }
 
     @Override
-    public List<Time> findProjectTimeSinceStartingPointInMilliseconds(Project project, long milliseconds) throws DomainException {
-        requireNonNull(project);
-
+    public TimeSeries findProjectTimeSeriesSinceStartingPointInMilliseconds(long projectId, long milliseconds) {
         Cursor cursor = getContentResolver().query(
-                ProviderContract.Project.getItemTimeUri(project.getId()),
+                ProviderContract.Project.getItemTimeUri(projectId),
                 ProviderContract.Time.getColumns(),
                 TimeColumns.START + ">=?",
                 new String[]{String.valueOf(milliseconds)},
                 null
         );
-        return fetch(cursor);
+        return fetchTimeSeries(cursorMapper, cursor);
+    }
+
+    @Override
+    public Map<Long, Long> summarizeProjectTimeSinceStartingPointInMilliseconds(long milliseconds) {
+        Cursor cursor = getContentResolver().query(
+                ProviderContract.Time.getSummaryUri(),
+                ProviderContract.Time.getSummaryColumns(),
+                SUMMARY_SELECTION,
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        return fetchSummaries(cursor);
+    }
+
+    @Override
+    public Map<Long, Long> getFlexBalanceInMilliseconds() {
+        Cursor cursor = getContentResolver().query(
+                ProviderContract.Project.getBalanceUri(),
+                ProviderContract.Project.getBalanceColumns(getCurrentDay()),
+                null,
+                null,
+                null
+        );
+        return fetchFlexBalances(cursor);
+    }
+
+    @Override
+    public long getFlexBalanceForProjectInMilliseconds(long projectId) {
+        Cursor cursor = getContentResolver().query(
+                ProviderContract.Project.getBalanceUri(),
+                ProviderContract.Project.getBalanceColumns(getCurrentDay()),
+                PROJECT_BALANCE_SELECTION,
+                new String[]{String.valueOf(projectId)},
+                null
+        );
+        return fetchFlexBalance(cursor);
     }
 
     @Override
@@ -114,7 +161,28 @@ public class TimeResolverRepository extends ContentResolverRepository implements
                 null,
                 null
         );
-        return fetchRow(cursor);
+        return fetchRow(cursorMapper, cursor);
+    }
+
+    @Override
+    public List<Time> get(List<Long> ids) throws ClockOutBeforeClockInException {
+        requireNonNull(ids);
+
+        List<Time> results = new ArrayList<>();
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = getChunk(ids, offset);
+
+            Cursor cursor = getContentResolver().query(
+                    ProviderContract.Time.getStreamUri(),
+                    ProviderContract.Time.getColumns(),
+                    BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")",
+                    buildSelectionArgs(chunk),
+                    null
+            );
+            visit(cursorMapper, cursor, results::add);
+        }
+
+        return results;
     }
 
     @Override
@@ -127,21 +195,44 @@ public class TimeResolverRepository extends ContentResolverRepository implements
                 ProviderContract.Time.getStreamUri(),
                 values
         );
-        return get(Long.parseLong(ProviderContract.Time.getItemId(uri)));
+        if (isNull(uri)) {
+            return Optional.empty();
+        }
+
+        long id = Long.parseLong(ProviderContract.Time.getItemId(uri));
+        return Optional.of(withId(time, id));
+    }
+
+    @Override
+    public int add(List<Time> times) {
+        requireNonNull(times);
+
+        ContentValues[] values = new ContentValues[times.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = contentValuesMapper.transform(times.get(i));
+        }
+
+        return getContentResolver().bulkInsert(
+                ProviderContract.Time.getStreamUri(),
+                values
+        );
     }
 
     @Override
     public Optional<Time> update(final Time time) throws ClockOutBeforeClockInException {
         requireNonNull(time);
 
-        getContentResolver().update(
+        int numberOfUpdatedRows = getContentResolver().update(
                 ProviderContract.Time.getItemUri(time.getId()),
                 contentValuesMapper.transform(time),
                 null,
                 null
         );
+        if (0 == numberOfUpdatedRows) {
+            return Optional.empty();
+        }
 
-        return get(time.getId());
+        return Optional.of(time);
     }
 
     @Override
@@ -159,23 +250,60 @@ public class TimeResolverRepository extends ContentResolverRepository implements
             batch.add(operation);
         }
 
+        ContentProviderResult[] results;
         try {
-            getContentResolver().applyBatch(ProviderContract.AUTHORITY, batch);
+            results = getContentResolver().applyBatch(ProviderContract.AUTHORITY, batch);
         } catch (RemoteException | OperationApplicationException e) {
             throw new ContentResolverApplyBatchException(e);
         }
 
+        // The updated rows are represented by the items in hand, it's only
+        // the items without a reported count that have to be fetched.
         List<Time> updatedTimes = new ArrayList<>();
-        for (Time time : times) {
-            Optional<Time> value = get(time.getId());
-            if (value.isPresent()) {
-                updatedTimes.add(value.get());
+        List<Long> idsWithoutCount = new ArrayList<>();
+        for (int i = 0; i < times.size(); i++) {
+            Time time = times.get(i);
+            Integer count = results[i].count;
+            if (isNull(count)) {
+                idsWithoutCount.add(time.getId());
+                continue;
+            }
+
+            if (count > 0) {
+                updatedTimes.add(time);
             }
         }
 
+        if (!idsWithoutCount.isEmpty()) {
+            updatedTimes.addAll(get(idsWithoutCount));
+        }
+
         return updatedTimes;
     }
 
+    @Override
+    public int updateRegistered(List<Long> ids, boolean registered) {
+        requireNonNull(ids);
+
+        ContentValues values = buildRegisteredValues(registered);
+        String registeredArg = registered ? "1" : "0";
+
+        int numberOfUpdatedRows = 0;
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = getChunk(ids, offset);
+
+            numberOfUpdatedRows += getContentResolver().update(
+                    ProviderContract.Time.getRegisteredUri(),
+                    values,
+                    BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")"
+                            + " AND " + TimeColumns.REGISTERED + " != ?",
+                    buildSelectionArgs(chunk, registeredArg)
+            );
+        }
+
+        return numberOfUpdatedRows;
+    }
+
     @Override
     public void remove(final long id) {
         getContentResolver().delete(
@@ -186,42 +314,63 @@ public class TimeResolverRepository extends ContentResolverRepository implements
     }
 
     @Override
-    public void remove(List<Time> times) {
+    public int remove(List<Time> times) {
         requireNonNull(times);
 
-        ArrayList<ContentProviderOperation> batch = new ArrayList<>();
-
+        List<Long> ids = new ArrayList<>();
         for (Time time : times) {
-            Uri uri = ProviderContract.Time.getItemUri(time.getId());
-            batch.add(ContentProviderOperation.newDelete(uri).build());
+            ids.add(time.getId());
         }
 
-        try {
-            getContentResolver().applyBatch(ProviderContract.AUTHORITY, batch);
-        } catch (RemoteException | OperationApplicationException e) {
-            throw new ContentResolverApplyBatchException(e);
+        int numberOfRemovedRows = 0;
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = getChunk(ids, offset);
+
+            numberOfRemovedRows += getContentResolver().delete(
+                    ProviderContract.Time.getStreamUri(),
+                    BaseColumns._ID + " IN (" + buildPlaceholders(chunk.size()) + ")",
+                    buildSelectionArgs(chunk)
+            );
         }
+
+        return numberOfRemovedRows;
+    }
+
+    @Override
+    public int removeForProjectBetween(long projectId, long startInMilliseconds, long stopInMilliseconds) {
+        return getContentResolver().delete(
+                ProviderContract.Project.getItemTimeUri(projectId),
+                TimeColumns.START + ">=? AND " + TimeColumns.START + "<?",
+                new String[]{
+                        String.valueOf(startInMilliseconds),
+                        String.valueOf(stopInMilliseconds)
+                }
+        );
+    }
+
+    @Override
+    public ElapsedTime getElapsedTimeForProjectSince(long projectId, long milliseconds) {
+        final Cursor cursor = getContentResolver().query(
+                ProviderContract.Project.getItemTimeUri(projectId),
+                ProviderContract.Time.getElapsedColumns(),
+                SINCE_OR_ACTIVE_SELECTION,
+                new String[]{String.valueOf(milliseconds)},
+                null
+        );
+        return fetchElapsedTime(cursor);
     }
 
     @Override
     public List<Time> getProjectTimeSinceBeginningOfMonth(long projectId)
             throws ClockOutBeforeClockInException {
-        // Reset the calendar to retrieve timestamp
-        // of the beginning of the month.
-        final Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-
         final Cursor cursor = getContentResolver().query(
                 ProviderContract.Project.getItemTimeUri(projectId),
                 ProviderContract.Time.getColumns(),
-                TimeColumns.START + ">=? OR " + TimeColumns.STOP + " = 0",
-                new String[]{String.valueOf(calendar.getTimeInMillis())},
+                SINCE_OR_ACTIVE_SELECTION,
+                new String[]{String.valueOf(getBeginningOfMonthInMilliseconds())},
                 ProviderContract.Project.ORDER_BY_TIME
         );
-        return fetch(cursor);
+        return fetch(cursorMapper, cursor);
     }
 
     @Override
@@ -234,6 +383,18 @@ public class TimeResolverRepository extends ContentResolverRepository implements
                 null,
                 null
         );
-        return fetchRow(cursor);
+        return fetchRow(cursorMapper, cursor);
+    }
+
+    @Override
+    public List<Time> getActiveTime() throws ClockOutBeforeClockInException {
+        final Cursor cursor = getContentResolver().query(
+                ProviderContract.Time.getActiveUri(),
+                ProviderContract.Time.getColumns(),
+                null,
+                null,
+                null
+        );
+        return fetch(cursorMapper, cursor);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteQueryBuilder;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import me.raatiniemi.worker.data.mapper.TimeCursorMapper;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.data.util.DayKey;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.repository.PageRequest;
+import me.raatiniemi.worker.domain.repository.TimesheetRepository;
+import me.raatiniemi.worker.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static me.raatiniemi.worker.data.repository.TimesheetRepositoryUtil.fetchTimesheet;
+
+public class TimesheetDatabaseRepository extends DatabaseRepository implements TimesheetRepository {
+    private static final String REGISTERED_SELECTION = TimeColumns.REGISTERED + " = 0";
+
+    private final TimeCursorMapper cursorMapper = new TimeCursorMapper();
+
+    public TimesheetDatabaseRepository(@NonNull ContentResolver contentResolver, @NonNull WorkerDatabase database) {
+        super(contentResolver, database);
+    }
+
+    @NonNull
+    private Cursor queryTimesheet(long projectId, @NonNull PageRequest pageRequest, boolean hideRegistered) {
+        List<String> selectionArgs = new ArrayList<>();
+        StringBuilder days = new StringBuilder(TimeColumns.PROJECT_ID + "=?");
+        selectionArgs.add(String.valueOf(projectId));
+
+        if (hideRegistered) {
+            days.append(" AND ").append(REGISTERED_SELECTION);
+        }
+
+        // When paging with a date, i.e. the start of the last day of the
+        // previous page, we can use the index with a range of days instead
+        // of having to skip each of the days from the previous pages.
+        Optional<Date> before = pageRequest.getBefore();
+        if (before.isPresent()) {
+            days.append(" AND ").append(TimeColumns.DAY).append("<?");
+            selectionArgs.add(String.valueOf(DayKey.fromMilliseconds(before.get().getTime())));
+        }
+
+        String query = SQLiteQueryBuilder.buildQueryString(
+                false,
+                Tables.TIME,
+                new String[]{ProviderContract.Timesheet.DAY},
+                days.toString(),
+                ProviderContract.Timesheet.DAY,
+                null,
+                ProviderContract.Timesheet.DAY + " DESC",
+                String.format(
+                        Locale.getDefault(),
+                        "%d,%d",
+                        pageRequest.getOffset(),
+                        pageRequest.getMaxResults()
+                )
+        );
+
+        // The limit have already been applied to the days within the
+        // sub query, the time for each of the days should not be limited.
+        String selection = TimeColumns.PROJECT_ID + "=? AND "
+                + ProviderContract.Timesheet.DAY + " IN (" + query + ")";
+        if (hideRegistered) {
+            selection += " AND " + REGISTERED_SELECTION;
+        }
+        selectionArgs.add(0, String.valueOf(projectId));
+
+        return getReadableDatabase().query(
+                Tables.TIME,
+                ProviderContract.Timesheet.getTimesheetTimeColumns(),
+                selection,
+                selectionArgs.toArray(new String[selectionArgs.size()]),
+                null,
+                null,
+                ProviderContract.Timesheet.ORDER_BY
+        );
+    }
+
+    @Override
+    public Map<Date, Set<Time>> getTimesheet(final long projectId, final PageRequest pageRequest) {
+        requireNonNull(pageRequest);
+
+        return fetchTimesheet(cursorMapper, queryTimesheet(projectId, pageRequest, false));
+    }
+
+    @Override
+    public Map<Date, Set<Time>> getTimesheetWithoutRegisteredEntries(long projectId, final PageRequest pageRequest) {
+        requireNonNull(pageRequest);
+
+        return fetchTimesheet(cursorMapper, queryTimesheet(projectId, pageRequest, true));
+    }
+}
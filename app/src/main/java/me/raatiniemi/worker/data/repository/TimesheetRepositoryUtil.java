@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.raatiniemi.worker.data.repository;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import me.raatiniemi.worker.data.mapper.TimeCursorMapper;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.util.Optional;
+import timber.log.Timber;
+
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+
+/**
+ * Cursor handling shared between the timesheet repositories.
+ */
+final class TimesheetRepositoryUtil {
+    private TimesheetRepositoryUtil() {
+    }
+
+    @NonNull
+    static Map<Date, Set<Time>> fetchTimesheet(
+            @NonNull TimeCursorMapper cursorMapper,
+            @Nullable Cursor cursor
+    ) {
+        if (isNull(cursor)) {
+            return Collections.emptyMap();
+        }
+
+        Map<Date, Set<Time>> result = new LinkedHashMap<>();
+
+        try {
+            if (!cursor.moveToFirst()) {
+                return result;
+            }
+
+            final int dayIndex = cursor.getColumnIndexOrThrow(ProviderContract.Timesheet.DAY);
+            final TimeCursorMapper.Bound mapper = cursorMapper.bind(cursor);
+
+            String day = null;
+            Set<Time> segment = new LinkedHashSet<>();
+            long date = 0;
+            do {
+                String currentDay = cursor.getString(dayIndex);
+                if (!currentDay.equals(day)) {
+                    addSegmentToTimesheet(result, date, segment);
+
+                    day = currentDay;
+                    segment = new LinkedHashSet<>();
+                }
+
+                Optional<Time> value = transformSegmentItem(mapper, cursor);
+                if (value.isPresent()) {
+                    Time time = value.get();
+
+                    // Items are sorted with the latest time first, i.e. the
+                    // last item for the day will contain the earliest start.
+                    segment.add(time);
+                    date = time.getStartInMilliseconds();
+                }
+            } while (cursor.moveToNext());
+
+            addSegmentToTimesheet(result, date, segment);
+        } finally {
+            cursor.close();
+        }
+
+        return result;
+    }
+
+    private static void addSegmentToTimesheet(
+            @NonNull Map<Date, Set<Time>> timesheet,
+            long date,
+            @NonNull Set<Time> segment
+    ) {
+        if (segment.isEmpty()) {
+            return;
+        }
+
+        timesheet.put(new Date(date), segment);
+    }
+
+    @NonNull
+    private static Optional<Time> transformSegmentItem(
+            @NonNull TimeCursorMapper.Bound mapper,
+            @NonNull Cursor cursor
+    ) {
+        try {
+            return Optional.of(mapper.transform(cursor));
+        } catch (DomainException e) {
+            Timber.w(e, "Unable to fetch item for timesheet");
+
+            return Optional.empty();
+        }
+    }
+}
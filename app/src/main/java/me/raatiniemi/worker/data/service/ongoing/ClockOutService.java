@@ -40,7 +40,6 @@ public class ClockOutService extends OngoingService {
             clockOutProjectNow(projectId);
 
             dismissPauseNotification(projectId);
-            updateUserInterface(projectId);
         } catch (Exception e) {
             Timber.w(e, "Unable to clock out project");
 
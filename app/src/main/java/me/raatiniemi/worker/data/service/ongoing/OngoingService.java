@@ -22,7 +22,6 @@ import android.app.NotificationManager;
 import android.content.Context;
 import android.content.Intent;
 
-import org.greenrobot.eventbus.EventBus;
 
 import javax.inject.Inject;
 
@@ -30,7 +29,6 @@ import me.raatiniemi.worker.WorkerApplication;
 import me.raatiniemi.worker.data.provider.ProviderContract;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 import me.raatiniemi.worker.presentation.util.OngoingNotificationPreferences;
 
 public abstract class OngoingService extends IntentService {
@@ -109,13 +107,4 @@ public abstract class OngoingService extends IntentService {
         return ongoingNotificationPreferences.isOngoingNotificationChronometerEnabled();
     }
 
-    void updateUserInterface(long projectId) {
-        getEventBus().post(
-                new OngoingNotificationActionEvent(projectId)
-        );
-    }
-
-    EventBus getEventBus() {
-        return EventBus.getDefault();
-    }
 }
@@ -42,8 +42,6 @@ public class PauseService extends OngoingService {
         try {
             clockOutProjectNow(projectId);
 
-            updateUserInterface(projectId);
-
             if (isOngoingNotificationEnabled()) {
                 GetProject getProject = buildGetProjectUseCase();
                 Project project = getProject.execute(projectId);
@@ -54,7 +54,12 @@ public class ProjectNotificationService extends OngoingService {
 
                 sendNotification(
                         project.getId(),
-                        PauseNotification.build(this, project, isOngoingNotificationChronometerEnabled())
+                        PauseNotification.build(
+                                this,
+                                project,
+                                getTimeRepository(),
+                                isOngoingNotificationChronometerEnabled()
+                        )
                 );
                 return;
             }
@@ -22,7 +22,7 @@ import android.content.Intent;
 import java.util.List;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
-import me.raatiniemi.worker.domain.interactor.GetProjects;
+import me.raatiniemi.worker.domain.interactor.GetActiveProjects;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.presentation.view.notification.PauseNotification;
 import timber.log.Timber;
@@ -43,18 +43,13 @@ public class ReloadNotificationService extends OngoingService {
             return;
         }
 
-        GetProjects getProjects = buildGetProjectsUseCase();
+        GetActiveProjects getActiveProjects = buildGetActiveProjectsUseCase();
         try {
-            List<Project> projects = getProjects.execute();
-            if (projects.isEmpty()) {
-                return;
-            }
+            List<Project> projects = getActiveProjects.execute();
 
             //noinspection Convert2streamapi
             for (Project project : projects) {
-                if (project.isActive()) {
-                    sendPauseNotification(project);
-                }
+                sendPauseNotification(project);
             }
         } catch (DomainException e) {
             Timber.e(e, "Unable to reload notifications");
@@ -65,14 +60,19 @@ public class ReloadNotificationService extends OngoingService {
         return !isOngoingNotificationEnabled();
     }
 
-    GetProjects buildGetProjectsUseCase() {
-        return new GetProjects(getProjectRepository(), getTimeRepository());
+    GetActiveProjects buildGetActiveProjectsUseCase() {
+        return new GetActiveProjects(getProjectRepository());
     }
 
     private void sendPauseNotification(Project project) {
         sendNotification(
                 project.getId(),
-                PauseNotification.build(this, project, isOngoingNotificationChronometerEnabled())
+                PauseNotification.build(
+                        this,
+                        project,
+                        getTimeRepository(),
+                        isOngoingNotificationChronometerEnabled()
+                )
         );
     }
 }
@@ -42,8 +42,6 @@ public class ResumeService extends OngoingService {
         try {
             clockInProjectNow(projectId);
 
-            updateUserInterface(projectId);
-
             if (isOngoingNotificationEnabled()) {
                 GetProject getProject = buildGetProjectUseCase();
                 Project project = getProject.execute(projectId);
@@ -80,7 +78,12 @@ public class ResumeService extends OngoingService {
     private void sendPauseNotification(Project project) {
         sendNotification(
                 project.getId(),
-                PauseNotification.build(this, project, isOngoingNotificationChronometerEnabled())
+                PauseNotification.build(
+                        this,
+                        project,
+                        getTimeRepository(),
+                        isOngoingNotificationChronometerEnabled()
+                )
         );
     }
 
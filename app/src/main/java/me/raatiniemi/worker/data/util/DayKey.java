@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.util;
+
+import java.util.Calendar;
+
+/**
+ * Build the key for the local day of a timestamp, e.g. 20170101.
+ * <p>
+ * The key is stored with each row in the `time`-table, which allows for
+ * grouping and filtering on days using an index.
+ */
+public final class DayKey {
+    private DayKey() {
+    }
+
+    /**
+     * Build the key for the local day.
+     *
+     * @param milliseconds Timestamp in milliseconds.
+     * @return Key for the local day of the timestamp.
+     */
+    public static long fromMilliseconds(long milliseconds) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(milliseconds);
+
+        return calendar.get(Calendar.YEAR) * 10000L
+                + (calendar.get(Calendar.MONTH) + 1) * 100L
+                + calendar.get(Calendar.DAY_OF_MONTH);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import java.util.Map;
+
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+
+/**
+ * Use case for getting the flex balance, i.e. the registered time compared
+ * to the daily target for the days with registered time.
+ */
+public class GetFlexBalance {
+    private final TimeRepository timeRepository;
+
+    public GetFlexBalance(TimeRepository timeRepository) {
+        this.timeRepository = timeRepository;
+    }
+
+    /**
+     * Get the flex balance for all projects.
+     *
+     * @return Flex balance in milliseconds, keyed by the id for the project.
+     */
+    public Map<Long, Long> execute() {
+        return timeRepository.getFlexBalanceInMilliseconds();
+    }
+
+    /**
+     * Get the flex balance for a project.
+     *
+     * @param projectId Id for the project.
+     * @return Flex balance in milliseconds.
+     */
+    public long execute(long projectId) {
+        return timeRepository.getFlexBalanceForProjectInMilliseconds(projectId);
+    }
+}
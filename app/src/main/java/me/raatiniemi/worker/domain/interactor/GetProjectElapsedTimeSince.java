@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+
+import static me.raatiniemi.worker.domain.interactor.GetProjectTimeSince.getMillisecondsForStartingPoint;
+
+/**
+ * Get the elapsed time for a project since a defined starting point, i.e.
+ * {@link GetProjectTimeSince#DAY}, {@link GetProjectTimeSince#WEEK}, or
+ * {@link GetProjectTimeSince#MONTH}.
+ * <p>
+ * Instead of retrieving each of the registered items, the time is
+ * summarized by the repository.
+ */
+public class GetProjectElapsedTimeSince {
+    private final TimeRepository timeRepository;
+
+    public GetProjectElapsedTimeSince(TimeRepository timeRepository) {
+        this.timeRepository = timeRepository;
+    }
+
+    /**
+     * Get the elapsed time for a project since the starting point.
+     *
+     * @param project       Project for which to get the elapsed time.
+     * @param startingPoint Starting point, e.g. {@link GetProjectTimeSince#DAY}.
+     * @return Elapsed time for the project since the starting point.
+     * @throws DomainException If domain rules are violated.
+     */
+    public ElapsedTime execute(Project project, int startingPoint) throws DomainException {
+        return timeRepository.getElapsedTimeForProjectSince(
+                project.getId(),
+                getMillisecondsForStartingPoint(startingPoint)
+        );
+    }
+}
@@ -23,6 +23,7 @@ import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidStartingPointException;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 
 /**
@@ -40,7 +41,7 @@ public class GetProjectTimeSince {
         this.timeRepository = timeRepository;
     }
 
-    private static long getMillisecondsForStartingPoint(int startingPoint) {
+    static long getMillisecondsForStartingPoint(int startingPoint) {
         Calendar calendar = Calendar.getInstance();
         calendar.set(Calendar.HOUR_OF_DAY, 0);
         calendar.set(Calendar.MINUTE, 0);
@@ -79,4 +80,23 @@ public class GetProjectTimeSince {
                 getMillisecondsForStartingPoint(startingPoint)
         );
     }
+
+    /**
+     * Summarize the registered time for a project since the starting point.
+     * <p>
+     * The time is read into a series, i.e. without building a {@link Time}
+     * for each of the registered intervals.
+     *
+     * @param project       Project for which to summarize the registered time.
+     * @param startingPoint Starting point, i.e. {@link #DAY}, {@link #WEEK}, or {@link #MONTH}.
+     * @return Summarized registered time in milliseconds.
+     */
+    public long executeSummary(Project project, int startingPoint) {
+        TimeSeries series = timeRepository.findProjectTimeSeriesSinceStartingPointInMilliseconds(
+                project.getId(),
+                getMillisecondsForStartingPoint(startingPoint)
+        );
+
+        return series.sum();
+    }
 }
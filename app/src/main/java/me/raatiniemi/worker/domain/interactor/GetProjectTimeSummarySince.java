@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import java.util.Map;
+
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+
+import static me.raatiniemi.worker.domain.interactor.GetProjectTimeSince.getMillisecondsForStartingPoint;
+
+/**
+ * Summarize the registered time for all projects since a defined starting point, i.e.
+ * {@link GetProjectTimeSince#DAY}, {@link GetProjectTimeSince#WEEK}, or
+ * {@link GetProjectTimeSince#MONTH}.
+ */
+public class GetProjectTimeSummarySince {
+    private final TimeRepository timeRepository;
+
+    public GetProjectTimeSummarySince(TimeRepository timeRepository) {
+        this.timeRepository = timeRepository;
+    }
+
+    /**
+     * Summarize the registered time for all projects since the starting point.
+     *
+     * @param startingPoint Starting point, i.e. {@link GetProjectTimeSince#DAY},
+     *                      {@link GetProjectTimeSince#WEEK}, or {@link GetProjectTimeSince#MONTH}.
+     * @return Summarized time in milliseconds, keyed by the id for the project.
+     */
+    public Map<Long, Long> execute(int startingPoint) {
+        return timeRepository.summarizeProjectTimeSinceStartingPointInMilliseconds(
+                getMillisecondsForStartingPoint(startingPoint)
+        );
+    }
+}
@@ -16,12 +16,17 @@
 
 package me.raatiniemi.worker.domain.interactor;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.util.Optional;
 
 /**
  * Use case for getting projects.
@@ -60,13 +65,46 @@ public class GetProjects {
     public List<Project> execute() throws DomainException {
         List<Project> projects = projectRepository.get();
 
+        // Only the active time is needed to determine the state of the
+        // project, the summary of the registered time is retrieved with
+        // the `GetProjectTimeSummarySince` use case.
+        //
+        // The active time for all of the projects is retrieved at once,
+        // instead of one lookup for each of the projects.
+        Map<Long, Time> activeTime = new HashMap<>();
+        for (Time time : timeRepository.getActiveTime()) {
+            activeTime.put(time.getProjectId(), time);
+        }
+
         for (Project project : projects) {
-            // Populate the project with the registered time.
-            project.addTime(
-                    timeRepository.getProjectTimeSinceBeginningOfMonth(project.getId())
-            );
+            Time time = activeTime.get(project.getId());
+            if (null != time) {
+                project.addTime(Collections.singletonList(time));
+            }
         }
 
         return projects;
     }
+
+    /**
+     * Get a single project, e.g. when the project have changed.
+     *
+     * @param projectId Id for the project.
+     * @return Project with its active time, or empty if the project do not exists.
+     * @throws DomainException If domain rules are violated.
+     */
+    public Optional<Project> execute(long projectId) throws DomainException {
+        Optional<Project> value = projectRepository.get(projectId);
+        if (!value.isPresent()) {
+            return value;
+        }
+
+        Project project = value.get();
+        Optional<Time> time = timeRepository.getActiveTimeForProject(projectId);
+        if (time.isPresent()) {
+            project.addTime(Collections.singletonList(time.get()));
+        }
+
+        return value;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.util.Optional;
+
+/**
+ * Use case for getting time.
+ */
+public class GetTime {
+    private final TimeRepository timeRepository;
+
+    public GetTime(TimeRepository timeRepository) {
+        this.timeRepository = timeRepository;
+    }
+
+    /**
+     * Get time.
+     *
+     * @param timeId Id of the time to get.
+     * @return Time with id, or empty if not found.
+     * @throws DomainException If domain rules are violated.
+     */
+    public Optional<Time> execute(long timeId) throws DomainException {
+        return timeRepository.get(timeId);
+    }
+}
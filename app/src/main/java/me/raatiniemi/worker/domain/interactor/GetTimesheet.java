@@ -16,7 +16,9 @@
 
 package me.raatiniemi.worker.domain.interactor;
 
+import java.util.Calendar;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -58,8 +60,76 @@ public class GetTimesheet {
             final int offset,
             boolean hideRegisteredTime
     ) {
-        PageRequest pageRequest = PageRequest.withOffset(offset);
+        return execute(projectId, PageRequest.withOffset(offset), hideRegisteredTime);
+    }
+
+    /**
+     * Get segment from project timesheet, with the days before a date.
+     *
+     * @param projectId          Id for project.
+     * @param before             Date for which the days in the segment should be before.
+     * @param hideRegisteredTime Should registered time be hidden.
+     * @return Segment of project timesheet.
+     */
+    public SortedMap<Date, SortedSet<Time>> execute(
+            final Long projectId,
+            final Date before,
+            boolean hideRegisteredTime
+    ) {
+        return execute(projectId, PageRequest.withBefore(before), hideRegisteredTime);
+    }
 
+    /**
+     * Get the timesheet for a single day, e.g. when time within the day have changed.
+     *
+     * @param projectId          Id for project.
+     * @param day                Date within the day.
+     * @param hideRegisteredTime Should registered time be hidden.
+     * @return Segment with the day, or empty if no time is available for the day.
+     */
+    public SortedMap<Date, SortedSet<Time>> executeForDay(
+            final Long projectId,
+            final Date day,
+            boolean hideRegisteredTime
+    ) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(day);
+        calendar.add(Calendar.DATE, 1);
+
+        // The page will contain the latest day with time before the next
+        // day, which is not necessarily the requested day.
+        SortedMap<Date, SortedSet<Time>> result = execute(
+                projectId,
+                PageRequest.withBeforeAndMaxResults(calendar.getTime(), 1),
+                hideRegisteredTime
+        );
+
+        Iterator<Date> dates = result.keySet().iterator();
+        while (dates.hasNext()) {
+            if (!isSameDay(day, dates.next())) {
+                dates.remove();
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isSameDay(Date lhs, Date rhs) {
+        Calendar lhsCalendar = Calendar.getInstance();
+        lhsCalendar.setTime(lhs);
+
+        Calendar rhsCalendar = Calendar.getInstance();
+        rhsCalendar.setTime(rhs);
+
+        return lhsCalendar.get(Calendar.YEAR) == rhsCalendar.get(Calendar.YEAR)
+                && lhsCalendar.get(Calendar.DAY_OF_YEAR) == rhsCalendar.get(Calendar.DAY_OF_YEAR);
+    }
+
+    private SortedMap<Date, SortedSet<Time>> execute(
+            final Long projectId,
+            final PageRequest pageRequest,
+            boolean hideRegisteredTime
+    ) {
         if (hideRegisteredTime) {
             return sortedEntries(repository.getTimesheetWithoutRegisteredEntries(projectId, pageRequest));
         }
@@ -66,8 +66,37 @@ public class MarkRegisteredTime {
         return !times.get(0).isRegistered();
     }
 
+    private static List<Long> collectIds(List<Time> times) {
+        List<Long> ids = new ArrayList<>();
+
+        //noinspection Convert2streamapi
+        for (Time time : times) {
+            ids.add(time.getId());
+        }
+
+        return ids;
+    }
+
+    /**
+     * Mark the items as registered, or not registered if the first item is registered.
+     *
+     * @param times Items to update.
+     * @return Updated items, items that no longer exist are excluded.
+     * @throws DomainException If domain rules are violated.
+     */
     public List<Time> execute(List<Time> times) throws DomainException {
         List<Time> timeToUpdate = collectTimeToUpdate(times);
-        return timeRepository.update(timeToUpdate);
+        List<Long> ids = collectIds(timeToUpdate);
+
+        // The registered state is updated with a single statement, as long
+        // as every item changed state the items in hand represent the update.
+        // Otherwise, some items already had the state or have been removed,
+        // and the current state is retrieved with a single query.
+        int numberOfUpdatedRows = timeRepository.updateRegistered(ids, shouldMarkAsRegistered(times));
+        if (ids.size() == numberOfUpdatedRows) {
+            return timeToUpdate;
+        }
+
+        return timeRepository.get(ids);
     }
 }
@@ -16,11 +16,14 @@
 
 package me.raatiniemi.worker.domain.interactor;
 
+import java.util.Date;
 import java.util.List;
 
 import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Use case for removing registered time.
  */
@@ -52,8 +55,24 @@ public class RemoveTime {
      * Remove multiple items.
      *
      * @param items Items to remove.
+     * @return Number of removed items.
      */
-    public void execute(List<Time> items) {
-        timeRepository.remove(items);
+    public int execute(List<Time> items) {
+        return timeRepository.remove(items);
+    }
+
+    /**
+     * Remove the time for a project within a range.
+     *
+     * @param projectId Id for the project.
+     * @param start     Start of the range, inclusive.
+     * @param stop      End of the range, exclusive.
+     * @return Number of removed items.
+     */
+    public int execute(long projectId, Date start, Date stop) {
+        requireNonNull(start);
+        requireNonNull(stop);
+
+        return timeRepository.removeForProjectBetween(projectId, start.getTime(), stop.getTime());
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.NoProjectException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.util.Optional;
+
+/**
+ * Use case for updating the daily target for a project.
+ */
+public class UpdateDailyTarget {
+    private final ProjectRepository projectRepository;
+
+    public UpdateDailyTarget(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Update the daily target for a project.
+     *
+     * @param projectId            Id of the project to update.
+     * @param dailyTargetInMinutes Time to work for each day, in minutes.
+     * @return Updated project.
+     * @throws DomainException If domain rules are violated.
+     */
+    public Project execute(long projectId, long dailyTargetInMinutes) throws DomainException {
+        if (0 > dailyTargetInMinutes) {
+            throw new IllegalArgumentException("Daily target is not allowed to be negative");
+        }
+
+        Optional<Project> value = projectRepository.updateDailyTarget(projectId, dailyTargetInMinutes);
+        if (value.isPresent()) {
+            return value.get();
+        }
+
+        throw new NoProjectException();
+    }
+}
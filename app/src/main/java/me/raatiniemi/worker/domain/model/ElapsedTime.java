@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.model;
+
+/**
+ * Summary of the time for a project, i.e. the registered time together with
+ * the start of the active time.
+ */
+public class ElapsedTime {
+    private final long registeredInMilliseconds;
+    private final long activeStartInMilliseconds;
+
+    /**
+     * Constructor.
+     *
+     * @param registeredInMilliseconds  Sum of the time that is not active.
+     * @param activeStartInMilliseconds Start of the active time, or zero if none is active.
+     */
+    public ElapsedTime(long registeredInMilliseconds, long activeStartInMilliseconds) {
+        this.registeredInMilliseconds = registeredInMilliseconds;
+        this.activeStartInMilliseconds = activeStartInMilliseconds;
+    }
+
+    public long getRegisteredInMilliseconds() {
+        return registeredInMilliseconds;
+    }
+
+    public long getActiveStartInMilliseconds() {
+        return activeStartInMilliseconds;
+    }
+
+    public boolean isActive() {
+        return 0 != getActiveStartInMilliseconds();
+    }
+
+    /**
+     * Get the elapsed time, including the active time up until a point in time.
+     *
+     * @param milliseconds Point in time for the active time, e.g. now.
+     * @return Elapsed time in milliseconds.
+     */
+    public long getElapsedAt(long milliseconds) {
+        if (isActive()) {
+            return getRegisteredInMilliseconds() + milliseconds - getActiveStartInMilliseconds();
+        }
+
+        return getRegisteredInMilliseconds();
+    }
+}
@@ -32,11 +32,21 @@ import static me.raatiniemi.worker.domain.validator.ProjectName.isValid;
  * Represent a project.
  */
 public class Project extends DomainObject {
+    /**
+     * Default daily target for a project, i.e. an eight hour day.
+     */
+    public static final long DEFAULT_DAILY_TARGET_IN_MINUTES = 8 * 60;
+
     /**
      * Name for the project.
      */
     private final String name;
 
+    /**
+     * Time to work for each day with registered time.
+     */
+    private final long dailyTargetInMinutes;
+
     /**
      * Time registered for the project.
      */
@@ -45,18 +55,25 @@ public class Project extends DomainObject {
     /**
      * Constructor.
      *
-     * @param id   Id for the project.
-     * @param name Name of the project.
+     * @param id                   Id for the project.
+     * @param name                 Name of the project.
+     * @param dailyTargetInMinutes Time to work for each day.
      * @throws InvalidProjectNameException If project name is null or empty.
      */
-    private Project(final Long id, final String name) throws InvalidProjectNameException {
+    private Project(final Long id, final String name, final long dailyTargetInMinutes)
+            throws InvalidProjectNameException {
         super(id);
 
         if (!isValid(name)) {
             throw new InvalidProjectNameException();
         }
 
+        if (0 > dailyTargetInMinutes) {
+            throw new IllegalArgumentException("Daily target is not allowed to be negative");
+        }
+
         this.name = name;
+        this.dailyTargetInMinutes = dailyTargetInMinutes;
     }
 
     public static Builder builder(String projectName) {
@@ -72,6 +89,15 @@ public class Project extends DomainObject {
         return name;
     }
 
+    /**
+     * Getter method for the daily target.
+     *
+     * @return Time to work for each day with registered time, in minutes.
+     */
+    public long getDailyTargetInMinutes() {
+        return dailyTargetInMinutes;
+    }
+
     /**
      * Getter method for the project time.
      *
@@ -174,6 +200,7 @@ public class Project extends DomainObject {
         Project project = (Project) o;
         return Objects.equals(getId(), project.getId())
                 && getName().equals(project.getName())
+                && getDailyTargetInMinutes() == project.getDailyTargetInMinutes()
                 && getRegisteredTime().equals(project.getRegisteredTime());
     }
 
@@ -182,6 +209,7 @@ public class Project extends DomainObject {
         int result = 17;
         result = 31 * result + Objects.hashCode(getId());
         result = 31 * result + getName().hashCode();
+        result = 31 * result + (int) (getDailyTargetInMinutes() ^ (getDailyTargetInMinutes() >>> 32));
         result = 31 * result + getRegisteredTime().hashCode();
         return result;
     }
@@ -189,6 +217,7 @@ public class Project extends DomainObject {
     public static class Builder {
         private final String projectName;
         private Long id;
+        private long dailyTargetInMinutes = DEFAULT_DAILY_TARGET_IN_MINUTES;
 
         private Builder(String projectName) {
             this.projectName = projectName;
@@ -199,8 +228,13 @@ public class Project extends DomainObject {
             return this;
         }
 
+        public Builder dailyTargetInMinutes(long dailyTargetInMinutes) {
+            this.dailyTargetInMinutes = dailyTargetInMinutes;
+            return this;
+        }
+
         public Project build() throws InvalidProjectNameException {
-            return new Project(id, projectName);
+            return new Project(id, projectName, dailyTargetInMinutes);
         }
     }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.model;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+import static me.raatiniemi.worker.util.NullUtil.isNull;
+
+/**
+ * Compact representation of time intervals, stored as parallel arrays.
+ * <p>
+ * The series is intended for aggregating large ranges of time, e.g. a year
+ * of registered time, where the overhead of a {@link Time} for each interval
+ * is unnecessary. None of the operations allocate for each of the intervals.
+ */
+public final class TimeSeries {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int BITS_PER_WORD = 64;
+
+    private long[] ids;
+    private long[] starts;
+    private long[] stops;
+
+    /**
+     * Whether the intervals have been registered, one bit for each interval.
+     */
+    private long[] registered;
+
+    private int size;
+
+    public TimeSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity Number of intervals to allocate space for.
+     */
+    public TimeSeries(int initialCapacity) {
+        if (0 > initialCapacity) {
+            throw new IllegalArgumentException("Initial capacity is not allowed to be negative");
+        }
+
+        ids = new long[initialCapacity];
+        starts = new long[initialCapacity];
+        stops = new long[initialCapacity];
+        registered = new long[wordsForCapacity(initialCapacity)];
+    }
+
+    private static int wordsForCapacity(int capacity) {
+        return (capacity + BITS_PER_WORD - 1) / BITS_PER_WORD;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= starts.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, starts.length * 2));
+        ids = Arrays.copyOf(ids, newCapacity);
+        starts = Arrays.copyOf(starts, newCapacity);
+        stops = Arrays.copyOf(stops, newCapacity);
+        registered = Arrays.copyOf(registered, wordsForCapacity(newCapacity));
+    }
+
+    private void checkIndex(int index) {
+        if (0 > index || size <= index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Add an interval to the series.
+     *
+     * @param id                  Id for the interval.
+     * @param startInMilliseconds Start of the interval.
+     * @param stopInMilliseconds  Stop of the interval, or zero if the interval is active.
+     * @param isRegistered        Whether the interval have been registered.
+     */
+    public void add(long id, long startInMilliseconds, long stopInMilliseconds, boolean isRegistered) {
+        ensureCapacity(size + 1);
+
+        ids[size] = id;
+        starts[size] = startInMilliseconds;
+        stops[size] = stopInMilliseconds;
+        if (isRegistered) {
+            registered[size / BITS_PER_WORD] |= 1L << (size % BITS_PER_WORD);
+        }
+        size++;
+    }
+
+    /**
+     * Add a time interval to the series, time without id is added with zero as id.
+     *
+     * @param time Time to add to the series.
+     */
+    public void add(Time time) {
+        Long id = time.getId();
+
+        add(
+                isNull(id) ? 0L : id,
+                time.getStartInMilliseconds(),
+                time.getStopInMilliseconds(),
+                time.isRegistered()
+        );
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    public long getId(int index) {
+        checkIndex(index);
+
+        return ids[index];
+    }
+
+    public long getStartInMilliseconds(int index) {
+        checkIndex(index);
+
+        return starts[index];
+    }
+
+    public long getStopInMilliseconds(int index) {
+        checkIndex(index);
+
+        return stops[index];
+    }
+
+    public boolean isRegistered(int index) {
+        checkIndex(index);
+
+        return 0 != (registered[index / BITS_PER_WORD] & (1L << (index % BITS_PER_WORD)));
+    }
+
+    public boolean isActive(int index) {
+        checkIndex(index);
+
+        return 0 == stops[index];
+    }
+
+    /**
+     * Get the time for an interval, same as {@link Time#getTime()}.
+     *
+     * @param index Index of the interval.
+     * @return Time in milliseconds, or zero if the interval is active.
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+
+        return timeAt(index);
+    }
+
+    private long timeAt(int index) {
+        if (0 == stops[index]) {
+            return 0L;
+        }
+
+        return stops[index] - starts[index];
+    }
+
+    /**
+     * Summarize the time for the intervals, active intervals are excluded.
+     *
+     * @return Summarized time in milliseconds.
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            sum += timeAt(i);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Summarize the time for the intervals starting within a range, active
+     * intervals are excluded.
+     *
+     * @param startInMilliseconds Start of the range, inclusive.
+     * @param stopInMilliseconds  End of the range, exclusive.
+     * @return Summarized time in milliseconds.
+     */
+    public long sum(long startInMilliseconds, long stopInMilliseconds) {
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            if (starts[i] >= startInMilliseconds && starts[i] < stopInMilliseconds) {
+                sum += timeAt(i);
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Get the intervals starting within a range.
+     *
+     * @param startInMilliseconds Start of the range, inclusive.
+     * @param stopInMilliseconds  End of the range, exclusive.
+     * @return Series with the intervals within the range.
+     */
+    public TimeSeries between(long startInMilliseconds, long stopInMilliseconds) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (starts[i] >= startInMilliseconds && starts[i] < stopInMilliseconds) {
+                count++;
+            }
+        }
+
+        TimeSeries series = new TimeSeries(count);
+        for (int i = 0; i < size; i++) {
+            if (starts[i] >= startInMilliseconds && starts[i] < stopInMilliseconds) {
+                series.add(ids[i], starts[i], stops[i], isRegistered(i));
+            }
+        }
+
+        return series;
+    }
+
+    /**
+     * Summarize the time for each local day, starting with the day of the
+     * starting point. The intervals are summarized for the day they started.
+     *
+     * @param startInMilliseconds Point in time within the first day.
+     * @param numberOfDays        Number of days to summarize.
+     * @return Summarized time in milliseconds for each of the days.
+     */
+    public long[] summarizeByDay(long startInMilliseconds, int numberOfDays) {
+        if (0 > numberOfDays) {
+            throw new IllegalArgumentException("Number of days is not allowed to be negative");
+        }
+
+        // The boundaries are calculated with the calendar since the days
+        // are not of equal length when switching to or from daylight saving.
+        long[] boundaries = new long[numberOfDays + 1];
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(startInMilliseconds);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        for (int i = 0; i <= numberOfDays; i++) {
+            boundaries[i] = calendar.getTimeInMillis();
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+
+        long[] days = new long[numberOfDays];
+        for (int i = 0; i < size; i++) {
+            int day = Arrays.binarySearch(boundaries, starts[i]);
+            if (0 > day) {
+                day = -day - 2;
+            }
+
+            if (0 <= day && numberOfDays > day) {
+                days[day] += timeAt(i);
+            }
+        }
+
+        return days;
+    }
+}
@@ -16,19 +16,45 @@
 
 package me.raatiniemi.worker.domain.repository;
 
+import java.util.Date;
+
+import me.raatiniemi.worker.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
 public class PageRequest {
     private static final int MAX_RESULTS = 10;
 
     private final int offset;
     private final int maxResults;
+    private final Date before;
 
-    private PageRequest(final int offset, int maxResults) {
+    private PageRequest(final int offset, int maxResults, Date before) {
         this.offset = offset;
         this.maxResults = maxResults;
+        this.before = before;
     }
 
     public static PageRequest withOffsetAndMaxResults(final int offset, final int maxResults) {
-        return new PageRequest(offset, maxResults);
+        return new PageRequest(offset, maxResults, null);
+    }
+
+    /**
+     * Build page request for items before a date, i.e. instead of skipping a number of
+     * items, the page will start directly after the last item of the previous page.
+     *
+     * @param before     Date for which items should be before.
+     * @param maxResults Maximum number of items for the page.
+     * @return Page request for items before the date.
+     */
+    public static PageRequest withBeforeAndMaxResults(final Date before, final int maxResults) {
+        requireNonNull(before, "Date is required for page request with before");
+
+        return new PageRequest(0, maxResults, before);
+    }
+
+    public static PageRequest withBefore(final Date before) {
+        return PageRequest.withBeforeAndMaxResults(before, MAX_RESULTS);
     }
 
     public static PageRequest withOffset(final int offset) {
@@ -47,6 +73,10 @@ public class PageRequest {
         return maxResults;
     }
 
+    public Optional<Date> getBefore() {
+        return Optional.ofNullable(before);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -58,12 +88,16 @@ public class PageRequest {
         }
 
         PageRequest that = (PageRequest) o;
-        return offset == that.offset;
+        return offset == that.offset
+                && getBefore().equals(that.getBefore());
 
     }
 
     @Override
     public int hashCode() {
-        return offset;
+        int result = 17;
+        result = 31 * result + offset;
+        result = 31 * result + getBefore().hashCode();
+        return result;
     }
 }
@@ -43,6 +43,14 @@ public interface ProjectRepository {
      */
     List<Project> get() throws DomainException;
 
+    /**
+     * Get the active projects.
+     *
+     * @return Active projects, each with its active time.
+     * @throws DomainException If domain rules are violated.
+     */
+    List<Project> getActive() throws DomainException;
+
     /**
      * Get project by id.
      *
@@ -61,6 +69,16 @@ public interface ProjectRepository {
      */
     Optional<Project> add(Project project) throws DomainException;
 
+    /**
+     * Update the daily target for a project.
+     *
+     * @param id                   Id of the project to update.
+     * @param dailyTargetInMinutes Time to work for each day, in minutes.
+     * @return Updated project, or empty if no project was found.
+     * @throws DomainException If domain rules are violated.
+     */
+    Optional<Project> updateDailyTarget(long id, long dailyTargetInMinutes) throws DomainException;
+
     /**
      * Remove project by id.
      * <p/>
@@ -17,10 +17,14 @@
 package me.raatiniemi.worker.domain.repository;
 
 import java.util.List;
+import java.util.Map;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
+import me.raatiniemi.worker.util.Consumer;
 import me.raatiniemi.worker.util.Optional;
 
 /**
@@ -37,6 +41,71 @@ public interface TimeRepository {
      */
     List<Time> findProjectTimeSinceStartingPointInMilliseconds(Project project, long milliseconds) throws DomainException;
 
+    /**
+     * Visit registered project time since starting point.
+     * <p>
+     * The time is passed to the consumer as it is read, i.e. without keeping
+     * all of the time in memory, making it suitable for aggregating over
+     * large ranges of time.
+     *
+     * @param projectId    Id for the project to use as filter.
+     * @param milliseconds Starting point in milliseconds.
+     * @param consumer     Consumer for each of the registered time.
+     * @throws DomainException If domain rules are violated.
+     */
+    void visitProjectTimeSinceStartingPointInMilliseconds(
+            long projectId,
+            long milliseconds,
+            Consumer<Time> consumer
+    ) throws DomainException;
+
+    /**
+     * Find registered project time since starting point, as a series.
+     *
+     * @param projectId    Id for the project to use as filter.
+     * @param milliseconds Starting point in milliseconds.
+     * @return Series with the registered time for project since starting point.
+     */
+    TimeSeries findProjectTimeSeriesSinceStartingPointInMilliseconds(long projectId, long milliseconds);
+
+    /**
+     * Summarize the registered time for each project since starting point.
+     *
+     * @param milliseconds Starting point in milliseconds.
+     * @return Summarized time in milliseconds, keyed by the id for the project.
+     */
+    Map<Long, Long> summarizeProjectTimeSinceStartingPointInMilliseconds(long milliseconds);
+
+    /**
+     * Get the flex balance for each project, i.e. the time registered for
+     * the days with time minus the daily target for each of the days.
+     * <p>
+     * Active time is not included with the balance.
+     *
+     * @return Flex balance in milliseconds, keyed by the id for the project.
+     */
+    Map<Long, Long> getFlexBalanceInMilliseconds();
+
+    /**
+     * Get the flex balance for a project.
+     *
+     * @param projectId Id for the project.
+     * @return Flex balance in milliseconds, or zero if project have no time.
+     */
+    long getFlexBalanceForProjectInMilliseconds(long projectId);
+
+    /**
+     * Summarize the time for a project since starting point.
+     * <p>
+     * The active time is included regardless of the starting point.
+     *
+     * @param projectId    Id for the project.
+     * @param milliseconds Starting point in milliseconds.
+     * @return Registered time since starting point, and the start of the active time.
+     * @throws DomainException If domain rules are violated.
+     */
+    ElapsedTime getElapsedTimeForProjectSince(long projectId, long milliseconds) throws DomainException;
+
     /**
      * Get time by id.
      *
@@ -46,6 +115,15 @@ public interface TimeRepository {
      */
     Optional<Time> get(long id) throws DomainException;
 
+    /**
+     * Get multiple items by id.
+     *
+     * @param ids Id for the items.
+     * @return Items that was found, in no particular order.
+     * @throws DomainException If domain rules are violated.
+     */
+    List<Time> get(List<Long> ids) throws DomainException;
+
     /**
      * Add time.
      *
@@ -55,6 +133,14 @@ public interface TimeRepository {
      */
     Optional<Time> add(Time time) throws DomainException;
 
+    /**
+     * Add multiple items.
+     *
+     * @param times Items to add.
+     * @return Number of added items.
+     */
+    int add(List<Time> times);
+
     /**
      * Update time.
      *
@@ -73,6 +159,15 @@ public interface TimeRepository {
      */
     List<Time> update(List<Time> times) throws DomainException;
 
+    /**
+     * Mark items as registered, or not registered.
+     *
+     * @param ids        Id for the items to update.
+     * @param registered Whether the items should be marked as registered.
+     * @return Number of items that changed registered state.
+     */
+    int updateRegistered(List<Long> ids, boolean registered);
+
     /**
      * Remove time by id.
      *
@@ -84,8 +179,19 @@ public interface TimeRepository {
      * Remove multiple items.
      *
      * @param times Items to remove.
+     * @return Number of removed items.
      */
-    void remove(List<Time> times);
+    int remove(List<Time> times);
+
+    /**
+     * Remove the time for a project within a range.
+     *
+     * @param projectId           Id for the project.
+     * @param startInMilliseconds Start of the range in milliseconds, inclusive.
+     * @param stopInMilliseconds  End of the range in milliseconds, exclusive.
+     * @return Number of removed items.
+     */
+    int removeForProjectBetween(long projectId, long startInMilliseconds, long stopInMilliseconds);
 
     /**
      * Get the time registered for a project since the beginning of the current month.
@@ -104,4 +210,12 @@ public interface TimeRepository {
      * @throws DomainException If domain rules are violated.
      */
     Optional<Time> getActiveTimeForProject(long projectId) throws DomainException;
+
+    /**
+     * Get active time for all projects.
+     *
+     * @return Active time, one item for each of the active projects.
+     * @throws DomainException If domain rules are violated.
+     */
+    List<Time> getActiveTime() throws DomainException;
 }
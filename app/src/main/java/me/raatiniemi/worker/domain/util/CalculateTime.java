@@ -36,6 +36,25 @@ public class CalculateTime {
         return calculateTime.calculateTime();
     }
 
+    /**
+     * Calculate the number of minutes, rounded to the nearest minute.
+     * <p>
+     * For non-negative intervals the result is the same as the hours and
+     * minutes from {@link #calculateTime(long)}, without the allocations.
+     * Negative intervals are rounded the same as the positive counterpart.
+     *
+     * @param milliseconds Interval in milliseconds.
+     * @return Number of minutes.
+     */
+    public static long calculateMinutes(long milliseconds) {
+        long seconds = milliseconds / 1000;
+        if (0 > seconds) {
+            return -((-seconds + SECONDS_IN_MINUTE / 2) / SECONDS_IN_MINUTE);
+        }
+
+        return (seconds + SECONDS_IN_MINUTE / 2) / SECONDS_IN_MINUTE;
+    }
+
     private CalculatedTime calculateTime() {
         long minutes = calculateMinutes();
         long hours = calculateHours();
@@ -18,15 +18,18 @@ package me.raatiniemi.worker.presentation.project;
 
 import android.support.annotation.NonNull;
 
-import org.greenrobot.eventbus.EventBus;
-
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProject;
+import me.raatiniemi.worker.domain.interactor.GetTime;
 import me.raatiniemi.worker.domain.interactor.GetTimesheet;
 import me.raatiniemi.worker.domain.interactor.MarkRegisteredTime;
 import me.raatiniemi.worker.domain.interactor.RemoveTime;
+import me.raatiniemi.worker.domain.interactor.UpdateDailyTarget;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 import me.raatiniemi.worker.domain.repository.TimesheetRepository;
 import me.raatiniemi.worker.presentation.project.presenter.TimesheetPresenter;
@@ -37,16 +40,20 @@ public class ProjectModule {
     @Provides
     @Singleton
     TimesheetPresenter providesTimesheetPresenter(
+            @NonNull ProjectRepository projectRepository,
             @NonNull TimeRepository timeRepository,
             @NonNull TimesheetRepository timesheetRepository,
             @NonNull HideRegisteredTimePreferences hideRegisteredTimePreferences
     ) {
         return new TimesheetPresenter(
                 hideRegisteredTimePreferences,
-                EventBus.getDefault(),
                 new GetTimesheet(timesheetRepository),
+                new GetTime(timeRepository),
                 new MarkRegisteredTime(timeRepository),
-                new RemoveTime(timeRepository)
+                new RemoveTime(timeRepository),
+                new GetProject(projectRepository),
+                new GetFlexBalance(timeRepository),
+                new UpdateDailyTarget(projectRepository)
         );
     }
 }
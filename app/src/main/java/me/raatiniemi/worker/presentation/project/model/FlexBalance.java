@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.project.model;
+
+import android.content.res.Resources;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import me.raatiniemi.worker.R;
+import me.raatiniemi.worker.presentation.util.DateIntervalFormat;
+import me.raatiniemi.worker.presentation.util.FlexBalanceFormat;
+import me.raatiniemi.worker.presentation.util.HoursMinutesIntervalFormat;
+
+/**
+ * Flex balance for a project together with the daily target it's based on.
+ */
+public final class FlexBalance {
+    private static final DateIntervalFormat intervalFormat = new HoursMinutesIntervalFormat();
+    private static final DateIntervalFormat flexBalanceFormat = new FlexBalanceFormat();
+
+    private final long balanceInMilliseconds;
+    private final long dailyTargetInMinutes;
+
+    private FlexBalance(long balanceInMilliseconds, long dailyTargetInMinutes) {
+        this.balanceInMilliseconds = balanceInMilliseconds;
+        this.dailyTargetInMinutes = dailyTargetInMinutes;
+    }
+
+    public static FlexBalance build(long balanceInMilliseconds, long dailyTargetInMinutes) {
+        return new FlexBalance(balanceInMilliseconds, dailyTargetInMinutes);
+    }
+
+    public long getBalanceInMilliseconds() {
+        return balanceInMilliseconds;
+    }
+
+    public long getDailyTargetInMinutes() {
+        return dailyTargetInMinutes;
+    }
+
+    public String getSummary(Resources resources) {
+        return String.format(
+                Locale.forLanguageTag("en_US"),
+                resources.getString(R.string.fragment_timesheet_flex_balance),
+                flexBalanceFormat.format(balanceInMilliseconds),
+                intervalFormat.format(TimeUnit.MINUTES.toMillis(dailyTargetInMinutes))
+        );
+    }
+}
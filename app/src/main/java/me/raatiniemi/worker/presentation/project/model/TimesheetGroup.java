@@ -18,50 +18,53 @@ package me.raatiniemi.worker.presentation.project.model;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.model.TimesheetItem;
 import me.raatiniemi.worker.presentation.model.ExpandableItem;
-import me.raatiniemi.worker.presentation.util.DateIntervalFormat;
-import me.raatiniemi.worker.presentation.util.FractionIntervalFormat;
 
 public class TimesheetGroup implements ExpandableItem<TimesheetItem> {
     private static final String LANGUAGE_TAG = "en_US";
-    private static final DateIntervalFormat intervalFormat;
-
-    static {
-        intervalFormat = new FractionIntervalFormat();
-    }
+    private static final long MINUTES_IN_HOUR = 60;
+    private static final long MILLISECONDS_IN_MINUTE = 60000;
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("EEE (MMM d)", Locale.forLanguageTag(LANGUAGE_TAG));
     private final Date date;
     private final List<TimesheetItem> items;
     private final long daysSinceUnixEpoch;
-
-    private TimesheetGroup(Date date, List<TimesheetItem> items) {
+    private final long dailyTargetInHundredths;
+
+    /**
+     * Summary of the registered time for the day, in hundredths of an hour.
+     * <p>
+     * Each of the items are rounded to hundredths of an hour before being
+     * summarized, i.e. the summary adds up with the summary of the items.
+     */
+    private long timeSummaryInHundredths;
+    private String timeSummaryWithDifference;
+
+    private TimesheetGroup(Date date, List<TimesheetItem> items, long dailyTargetInMinutes) {
         this.date = date;
         this.items = items;
 
         daysSinceUnixEpoch = calculateDaysSinceUnixEpoch(date);
+        dailyTargetInHundredths = calculateHundredthsFromMinutes(dailyTargetInMinutes);
+        summarize();
     }
 
-    public static TimesheetGroup build(Date date) {
-        return build(date, new TreeSet<>());
-    }
-
-    public static TimesheetGroup build(Date date, SortedSet<Time> times) {
+    public static TimesheetGroup build(Date date, SortedSet<Time> times, long dailyTargetInMinutes) {
         List<TimesheetItem> items = new ArrayList<>();
         //noinspection Convert2streamapi
         for (Time time : times) {
             items.add(new TimesheetItem(time));
         }
 
-        return new TimesheetGroup(date, items);
+        return new TimesheetGroup(date, items, dailyTargetInMinutes);
     }
 
     private static long calculateDaysSinceUnixEpoch(Date date) {
@@ -73,40 +76,82 @@ public class TimesheetGroup implements ExpandableItem<TimesheetItem> {
         return hours / 24;
     }
 
-    private static float calculateFractionFromMilliseconds(long intervalInMilliseconds) {
-        String fraction = intervalFormat.format(intervalInMilliseconds);
+    /**
+     * Calculate hundredths of an hour from minutes, i.e. the same rounding as
+     * the fraction interval format.
+     *
+     * @param minutes Number of minutes.
+     * @return Number of hundredths of an hour.
+     */
+    private static long calculateHundredthsFromMinutes(long minutes) {
+        long hours = minutes / MINUTES_IN_HOUR;
+        long remainingMinutes = minutes % MINUTES_IN_HOUR;
 
-        return Float.parseFloat(fraction);
+        return hours * 100 + (remainingMinutes * 100 + MINUTES_IN_HOUR / 2) / MINUTES_IN_HOUR;
     }
 
-    private static float calculateTimeDifference(String timeSummary) {
-        return Float.parseFloat(timeSummary) - 8;
-    }
+    private static void appendHundredths(StringBuilder builder, long hundredths) {
+        if (0 > hundredths) {
+            builder.append('-');
+            hundredths = -hundredths;
+        }
 
-    private static String getFormattedTimeDifference(float difference) {
-        return String.format(
-                Locale.forLanguageTag(LANGUAGE_TAG),
-                getTimeDifferenceFormat(difference),
-                difference
-        );
+        long fraction = hundredths % 100;
+        builder.append(hundredths / 100)
+                .append('.')
+                .append(fraction / 10)
+                .append(fraction % 10);
     }
 
-    private static String getTimeDifferenceFormat(float difference) {
-        if (0 == Float.compare(0, difference)) {
-            return "";
+    private void summarize() {
+        long summary = 0;
+        for (TimesheetItem item : items) {
+            long minutes = item.getCalculateIntervalInMilliseconds() / MILLISECONDS_IN_MINUTE;
+
+            summary += calculateHundredthsFromMinutes(minutes);
         }
+        timeSummaryInHundredths = summary;
+
+        StringBuilder builder = new StringBuilder();
+        appendHundredths(builder, timeSummaryInHundredths);
 
-        if (0 < difference) {
-            return " (+%.2f)";
+        long difference = timeSummaryInHundredths - dailyTargetInHundredths;
+        if (0 != difference) {
+            builder.append(" (");
+            if (0 < difference) {
+                builder.append('+');
+            }
+            appendHundredths(builder, difference);
+            builder.append(')');
         }
+        timeSummaryWithDifference = builder.toString();
+    }
 
-        return " (%.2f)";
+    public Date getDate() {
+        return date;
     }
 
     public long getId() {
         return daysSinceUnixEpoch;
     }
 
+    /**
+     * Check whether the group is for the local day of a date.
+     *
+     * @param day Date within the day.
+     * @return True if the group is for the day, otherwise false.
+     */
+    public boolean isForDay(Date day) {
+        Calendar groupCalendar = Calendar.getInstance();
+        groupCalendar.setTime(date);
+
+        Calendar dayCalendar = Calendar.getInstance();
+        dayCalendar.setTime(day);
+
+        return groupCalendar.get(Calendar.YEAR) == dayCalendar.get(Calendar.YEAR)
+                && groupCalendar.get(Calendar.DAY_OF_YEAR) == dayCalendar.get(Calendar.DAY_OF_YEAR);
+    }
+
     public String getTitle() {
         return dateFormat.format(date);
     }
@@ -128,31 +173,27 @@ public class TimesheetGroup implements ExpandableItem<TimesheetItem> {
         return registered;
     }
 
-    public String getTimeSummaryWithDifference() {
-        String timeSummary = getTimeSummary();
-
-        float difference = calculateTimeDifference(timeSummary);
-        return timeSummary + getFormattedTimeDifference(difference);
+    /**
+     * Get the summary of the registered time, in hundredths of an hour.
+     *
+     * @return Summary of the registered time.
+     */
+    public long getTimeSummaryInHundredths() {
+        return timeSummaryInHundredths;
     }
 
-    private String getTimeSummary() {
-        return String.format(
-                Locale.forLanguageTag(LANGUAGE_TAG),
-                "%.2f",
-                calculateTimeIntervalSummary()
-        );
+    /**
+     * Get the difference between the registered time and the daily target,
+     * in hundredths of an hour.
+     *
+     * @return Difference between the registered time and the target.
+     */
+    public long getTimeDifferenceInHundredths() {
+        return timeSummaryInHundredths - dailyTargetInHundredths;
     }
 
-    private float calculateTimeIntervalSummary() {
-        float interval = 0;
-
-        for (TimesheetItem item : items) {
-            interval += calculateFractionFromMilliseconds(
-                    item.getCalculateIntervalInMilliseconds()
-            );
-        }
-
-        return interval;
+    public String getTimeSummaryWithDifference() {
+        return timeSummaryWithDifference;
     }
 
     public List<TimeInAdapterResult> buildItemResultsWithGroupIndex(int groupIndex) {
@@ -183,11 +224,15 @@ public class TimesheetGroup implements ExpandableItem<TimesheetItem> {
     @Override
     public void set(int index, TimesheetItem item) {
         items.set(index, item);
+        summarize();
     }
 
     @Override
     public TimesheetItem remove(int index) {
-        return items.remove(index);
+        TimesheetItem item = items.remove(index);
+        summarize();
+
+        return item;
     }
 
     @Override
@@ -16,23 +16,29 @@
 
 package me.raatiniemi.worker.presentation.project.presenter;
 
-import org.greenrobot.eventbus.EventBus;
-import org.greenrobot.eventbus.Subscribe;
-import org.greenrobot.eventbus.ThreadMode;
+import android.support.annotation.NonNull;
 
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeSet;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProject;
+import me.raatiniemi.worker.domain.interactor.GetTime;
 import me.raatiniemi.worker.domain.interactor.GetTimesheet;
 import me.raatiniemi.worker.domain.interactor.MarkRegisteredTime;
 import me.raatiniemi.worker.domain.interactor.RemoveTime;
+import me.raatiniemi.worker.domain.interactor.UpdateDailyTarget;
+import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 import me.raatiniemi.worker.presentation.presenter.BasePresenter;
+import me.raatiniemi.worker.presentation.project.model.FlexBalance;
 import me.raatiniemi.worker.presentation.project.model.TimeInAdapterResult;
 import me.raatiniemi.worker.presentation.project.model.TimesheetGroup;
 import me.raatiniemi.worker.presentation.project.view.TimesheetView;
@@ -41,6 +47,7 @@ import me.raatiniemi.worker.presentation.util.RxUtil;
 import me.raatiniemi.worker.util.Optional;
 import rx.Observable;
 import rx.Subscription;
+import rx.functions.Func1;
 import timber.log.Timber;
 
 import static me.raatiniemi.worker.presentation.util.RxUtil.unsubscribeIfNotNull;
@@ -49,13 +56,17 @@ public class TimesheetPresenter extends BasePresenter<TimesheetView> {
     private Subscription getTimesheetSubscription;
 
     private final HideRegisteredTimePreferences hideRegisteredTimePreferences;
-    private final EventBus eventBus;
 
     /**
      * Use case for getting project timesheet.
      */
     private final GetTimesheet getTimesheet;
 
+    /**
+     * Use case for getting time.
+     */
+    private final GetTime getTime;
+
     /**
      * Use case for marking time as registered.
      */
@@ -66,64 +77,110 @@ public class TimesheetPresenter extends BasePresenter<TimesheetView> {
      */
     private final RemoveTime removeTime;
 
+    /**
+     * Use case for getting project, i.e. its daily target.
+     */
+    private final GetProject getProject;
+
+    /**
+     * Use case for getting the flex balance.
+     */
+    private final GetFlexBalance getFlexBalance;
+
+    /**
+     * Use case for updating the daily target.
+     */
+    private final UpdateDailyTarget updateDailyTarget;
+
     /**
      * Constructor.
      *
      * @param hideRegisteredTimePreferences Preferences for hide registered time.
-     * @param eventBus                      Event bus.
      * @param getTimesheet                  Use case for getting project timesheet.
+     * @param getTime                       Use case for getting time.
      * @param markRegisteredTime            Use case for marking time as registered.
      * @param removeTime                    Use case for removing time.
+     * @param getProject                    Use case for getting project.
+     * @param getFlexBalance                Use case for getting the flex balance.
+     * @param updateDailyTarget             Use case for updating the daily target.
      */
     public TimesheetPresenter(
             HideRegisteredTimePreferences hideRegisteredTimePreferences,
-            EventBus eventBus,
             GetTimesheet getTimesheet,
+            GetTime getTime,
             MarkRegisteredTime markRegisteredTime,
-            RemoveTime removeTime
+            RemoveTime removeTime,
+            GetProject getProject,
+            GetFlexBalance getFlexBalance,
+            UpdateDailyTarget updateDailyTarget
     ) {
         this.hideRegisteredTimePreferences = hideRegisteredTimePreferences;
-        this.eventBus = eventBus;
         this.getTimesheet = getTimesheet;
+        this.getTime = getTime;
         this.markRegisteredTime = markRegisteredTime;
         this.removeTime = removeTime;
-    }
-
-    @Override
-    public void attachView(TimesheetView view) {
-        super.attachView(view);
-
-        eventBus.register(this);
+        this.getProject = getProject;
+        this.getFlexBalance = getFlexBalance;
+        this.updateDailyTarget = updateDailyTarget;
     }
 
     @Override
     public void detachView() {
         super.detachView();
 
-        eventBus.unregister(this);
         unsubscribeIfNotNull(getTimesheetSubscription);
     }
 
     public void getTimesheet(final Long id, final int offset) {
+        getTimesheet(id, hideRegisteredTime -> getTimesheet.execute(id, offset, hideRegisteredTime));
+    }
+
+    public void getTimesheet(final Long id, final Date before) {
+        getTimesheet(id, hideRegisteredTime -> getTimesheet.execute(id, before, hideRegisteredTime));
+    }
+
+    private static boolean isSameDay(@NonNull Date lhs, @NonNull Date rhs) {
+        Calendar lhsCalendar = Calendar.getInstance();
+        lhsCalendar.setTime(lhs);
+
+        Calendar rhsCalendar = Calendar.getInstance();
+        rhsCalendar.setTime(rhs);
+
+        return lhsCalendar.get(Calendar.YEAR) == rhsCalendar.get(Calendar.YEAR)
+                && lhsCalendar.get(Calendar.DAY_OF_YEAR) == rhsCalendar.get(Calendar.DAY_OF_YEAR);
+    }
+
+    private long getDailyTargetInMinutes(long projectId) throws DomainException {
+        Project project = getProject.execute(projectId);
+
+        return project.getDailyTargetInMinutes();
+    }
+
+    private void getTimesheet(
+            final long projectId,
+            final Func1<Boolean, SortedMap<Date, SortedSet<Time>>> useCase
+    ) {
         unsubscribeIfNotNull(getTimesheetSubscription);
 
         // Setup the subscription for retrieving timesheet.
         getTimesheetSubscription = Observable
                 .defer(() -> {
-                    boolean hideRegisteredTime = hideRegisteredTimePreferences.shouldHideRegisteredTime();
-                    return Observable.just(
-                            getTimesheet.execute(id, offset, hideRegisteredTime)
-                    );
-                })
-                .map(result -> {
-                    List<TimesheetGroup> groups = new ArrayList<>();
+                    try {
+                        long dailyTargetInMinutes = getDailyTargetInMinutes(projectId);
+                        boolean hideRegisteredTime = hideRegisteredTimePreferences.shouldHideRegisteredTime();
+                        SortedMap<Date, SortedSet<Time>> result = useCase.call(hideRegisteredTime);
 
-                    //noinspection Convert2streamapi
-                    for (Map.Entry<Date, SortedSet<Time>> date : result.entrySet()) {
-                        groups.add(TimesheetGroup.build(date.getKey(), date.getValue()));
-                    }
+                        List<TimesheetGroup> groups = new ArrayList<>();
 
-                    return groups;
+                        //noinspection Convert2streamapi
+                        for (Map.Entry<Date, SortedSet<Time>> date : result.entrySet()) {
+                            groups.add(TimesheetGroup.build(date.getKey(), date.getValue(), dailyTargetInMinutes));
+                        }
+
+                        return Observable.just(groups);
+                    } catch (DomainException e) {
+                        return Observable.error(e);
+                    }
                 })
                 .compose(RxUtil.applySchedulers())
                 .subscribe(
@@ -158,15 +215,23 @@ public class TimesheetPresenter extends BasePresenter<TimesheetView> {
                         timeToRemove.add(result.getTime());
                     }
 
-                    removeTime.execute(timeToRemove);
-                    return items;
+                    return removeTime.execute(timeToRemove);
                 })
                 .compose(RxUtil.applySchedulers())
                 .subscribe(
-                        items -> {
+                        numberOfRemovedItems -> {
                             Timber.d("remove onNext");
 
-                            performWithView(view -> view.remove(items));
+                            performWithView(view -> {
+                                // If not all of the items were removed, the
+                                // view is out of sync with the stored time.
+                                if (numberOfItems != numberOfRemovedItems) {
+                                    view.refresh();
+                                    return;
+                                }
+
+                                view.remove(results);
+                            });
                         },
                         e -> {
                             Timber.d("remove onError");
@@ -254,16 +319,153 @@ public class TimesheetPresenter extends BasePresenter<TimesheetView> {
         return Optional.empty();
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe(threadMode = ThreadMode.MAIN)
-    public void onEventMainThread(OngoingNotificationActionEvent event) {
-        performWithView(view -> {
-            if (event.getProjectId() != view.getProjectId()) {
-                Timber.d("No need to refresh, event is related to another project");
-                return;
-            }
+    @NonNull
+    private TimesheetGroup buildGroupForDay(
+            long projectId,
+            @NonNull Date day,
+            long dailyTargetInMinutes,
+            boolean hideRegisteredTime
+    ) throws DomainException {
+        SortedMap<Date, SortedSet<Time>> result = getTimesheet.executeForDay(projectId, day, hideRegisteredTime);
+        if (result.isEmpty()) {
+            return TimesheetGroup.build(day, new TreeSet<>(), dailyTargetInMinutes);
+        }
+
+        Date date = result.firstKey();
+        return TimesheetGroup.build(date, result.get(date), dailyTargetInMinutes);
+    }
+
+    /**
+     * Reload the days for time that have changed, instead of the whole timesheet.
+     * <p>
+     * Both the day that the time was shown within and the current day for
+     * the time are reloaded, i.e. time moved to another day, or removed, is
+     * not left behind in the previous day.
+     *
+     * @param projectId   Id for the project of the timesheet.
+     * @param timeId      Id for the time that have changed.
+     * @param previousDay Day that the time was shown within, if any.
+     */
+    public void refreshTime(final long projectId, final long timeId, @NonNull final Optional<Date> previousDay) {
+        Observable
+                .defer(() -> {
+                    try {
+                        Optional<Time> value = getTime.execute(timeId);
+
+                        List<Date> days = new ArrayList<>();
+                        if (previousDay.isPresent()) {
+                            days.add(previousDay.get());
+                        }
+                        if (value.isPresent() && projectId == value.get().getProjectId()) {
+                            Date day = new Date(value.get().getStartInMilliseconds());
+                            if (!previousDay.isPresent() || !isSameDay(previousDay.get(), day)) {
+                                days.add(day);
+                            }
+                        }
+                        if (days.isEmpty()) {
+                            return Observable.empty();
+                        }
+
+                        long dailyTargetInMinutes = getDailyTargetInMinutes(projectId);
+                        boolean hideRegisteredTime = hideRegisteredTimePreferences.shouldHideRegisteredTime();
 
-            view.refresh();
-        });
+                        List<TimesheetGroup> groups = new ArrayList<>();
+                        for (Date day : days) {
+                            groups.add(buildGroupForDay(projectId, day, dailyTargetInMinutes, hideRegisteredTime));
+                        }
+
+                        return Observable.just(groups);
+                    } catch (DomainException e) {
+                        return Observable.error(e);
+                    }
+                })
+                .compose(RxUtil.applySchedulers())
+                .subscribe(
+                        groups -> {
+                            Timber.d("refreshTime onNext");
+
+                            performWithView(view -> {
+                                for (TimesheetGroup group : groups) {
+                                    view.updateDay(group);
+                                }
+                            });
+                        },
+                        e -> {
+                            Timber.d("refreshTime onError");
+
+                            // Log the error even if the view have been detached.
+                            Timber.w(e, "Failed to refresh time");
+                        },
+                        () -> Timber.d("refreshTime onCompleted")
+                );
+    }
+
+    /**
+     * Get the flex balance for the project, the balance is maintained with
+     * the time, i.e. it can be retrieved regardless of the amount of time.
+     *
+     * @param projectId Id for the project of the timesheet.
+     */
+    public void getFlexBalance(final long projectId) {
+        Observable
+                .defer(() -> {
+                    try {
+                        long dailyTargetInMinutes = getDailyTargetInMinutes(projectId);
+                        long balanceInMilliseconds = getFlexBalance.execute(projectId);
+
+                        return Observable.just(FlexBalance.build(balanceInMilliseconds, dailyTargetInMinutes));
+                    } catch (DomainException e) {
+                        return Observable.error(e);
+                    }
+                })
+                .compose(RxUtil.applySchedulers())
+                .subscribe(
+                        flexBalance -> {
+                            Timber.d("getFlexBalance onNext");
+
+                            performWithView(view -> view.showFlexBalance(flexBalance));
+                        },
+                        e -> {
+                            Timber.d("getFlexBalance onError");
+
+                            // Log the error even if the view have been detached.
+                            Timber.w(e, "Failed to get flex balance");
+                        },
+                        () -> Timber.d("getFlexBalance onCompleted")
+                );
+    }
+
+    /**
+     * Update the daily target for the project, the timesheet is refreshed
+     * since the difference for each of the days depends on the target.
+     *
+     * @param projectId            Id for the project of the timesheet.
+     * @param dailyTargetInMinutes Time to work for each day, in minutes.
+     */
+    public void updateDailyTarget(final long projectId, final long dailyTargetInMinutes) {
+        Observable
+                .defer(() -> {
+                    try {
+                        return Observable.just(updateDailyTarget.execute(projectId, dailyTargetInMinutes));
+                    } catch (DomainException e) {
+                        return Observable.error(e);
+                    }
+                })
+                .compose(RxUtil.applySchedulers())
+                .subscribe(
+                        project -> {
+                            Timber.d("updateDailyTarget onNext");
+
+                            performWithView(TimesheetView::refresh);
+                        },
+                        e -> {
+                            Timber.d("updateDailyTarget onError");
+
+                            // Log the error even if the view have been detached.
+                            Timber.w(e, "Failed to update daily target");
+                            performWithView(TimesheetView::showUpdateDailyTargetErrorMessage);
+                        },
+                        () -> Timber.d("updateDailyTarget onCompleted")
+                );
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.project.view;
+
+import android.app.AlertDialog;
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import me.raatiniemi.worker.R;
+import rx.Observable;
+import rx.subscriptions.Subscriptions;
+
+final class DailyTargetDialog {
+    private static final int TITLE = R.string.daily_target_title;
+    private static final int ALTERNATIVE_TEXT = R.array.daily_target_alternative_text;
+    private static final int ALTERNATIVE_VALUE = R.array.daily_target_alternative_value;
+
+    private DailyTargetDialog() {
+    }
+
+    private static int findCheckedItem(@NonNull int[] values, long dailyTargetInMinutes) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == dailyTargetInMinutes) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Show the available daily targets.
+     *
+     * @param context              Context used with the dialog.
+     * @param dailyTargetInMinutes Current daily target, in minutes.
+     * @return Observable emitting the selected daily target, in minutes.
+     */
+    @NonNull
+    static Observable<Long> show(@NonNull Context context, long dailyTargetInMinutes) {
+        final int[] values = context.getResources().getIntArray(ALTERNATIVE_VALUE);
+
+        return Observable.create(subscriber -> {
+            AlertDialog alertDialog = new AlertDialog.Builder(context)
+                    .setTitle(TITLE)
+                    .setSingleChoiceItems(
+                            ALTERNATIVE_TEXT,
+                            findCheckedItem(values, dailyTargetInMinutes),
+                            (dialog, which) -> {
+                                subscriber.onNext((long) values[which]);
+                                subscriber.onCompleted();
+                            }
+                    )
+                    .setNegativeButton(android.R.string.cancel, (dialog, which) -> subscriber.onCompleted())
+                    .create();
+
+            alertDialog.show();
+            subscriber.add(Subscriptions.create(alertDialog::dismiss));
+        });
+    }
+}
@@ -110,6 +110,11 @@ public class ProjectActivity extends BaseActivity {
             return true;
         }
 
+        if (R.id.actions_project_daily_target == item.getItemId()) {
+            getTimesheetFragment().changeDailyTarget();
+            return true;
+        }
+
         return super.onOptionsItemSelected(item);
     }
 
@@ -17,11 +17,13 @@
 package me.raatiniemi.worker.presentation.project.view;
 
 import android.graphics.Point;
+import android.support.annotation.NonNull;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import me.raatiniemi.worker.R;
@@ -34,6 +36,7 @@ import me.raatiniemi.worker.presentation.util.SelectionManager;
 import me.raatiniemi.worker.presentation.util.SelectionManagerAdapterDecorator;
 import me.raatiniemi.worker.presentation.view.adapter.ExpandableListAdapter;
 import me.raatiniemi.worker.presentation.view.widget.LetterDrawable;
+import me.raatiniemi.worker.util.Optional;
 
 class TimesheetAdapter extends ExpandableListAdapter<
         TimesheetItem,
@@ -193,24 +196,124 @@ class TimesheetAdapter extends ExpandableListAdapter<
         return !selectionManager.isSelectionActivated() || !isPointInView(new Point(x, y), vh.letter);
     }
 
+    /**
+     * Remove the items, the adapter is notified once for each removed item
+     * and once for each group that remains with fewer children.
+     *
+     * @param results Items to remove.
+     */
     public void remove(List<TimeInAdapterResult> results) {
         Collections.sort(results);
         Collections.reverse(results);
 
+        // The items are removed in reverse order, i.e. the indexes of the
+        // remaining items are not affected by the removal.
+        int changedGroup = -1;
         for (TimeInAdapterResult result : results) {
-            remove(result.getGroup(), result.getChild());
+            int group = result.getGroup();
+            if (changedGroup != group) {
+                notifyGroupItemChangedIfExists(changedGroup);
+                changedGroup = group;
+            }
+
+            TimesheetGroup groupItem = get(group);
+            if (1 == groupItem.size()) {
+                remove(group);
+                changedGroup = -1;
+                continue;
+            }
+
+            groupItem.remove(result.getChild());
+            notifyChildItemRemoved(group, result.getChild());
         }
+        notifyGroupItemChangedIfExists(changedGroup);
     }
 
+    /**
+     * Replace the items, the adapter is notified once for each replaced item
+     * and once for each affected group.
+     *
+     * @param results Items to replace.
+     */
     public void set(List<TimeInAdapterResult> results) {
         Collections.sort(results);
 
+        int changedGroup = -1;
         for (TimeInAdapterResult result : results) {
-            set(
-                    result.getGroup(),
-                    result.getChild(),
-                    new TimesheetItem(result.getTime())
-            );
+            int group = result.getGroup();
+            if (changedGroup != group) {
+                notifyGroupItemChangedIfExists(changedGroup);
+                changedGroup = group;
+            }
+
+            get(group).set(result.getChild(), new TimesheetItem(result.getTime()));
+            notifyChildItemChanged(group, result.getChild());
+        }
+        notifyGroupItemChangedIfExists(changedGroup);
+    }
+
+    private void notifyGroupItemChangedIfExists(int group) {
+        if (0 > group) {
+            return;
+        }
+
+        notifyGroupItemChanged(group);
+    }
+
+    /**
+     * Replace the group for the day, the group is removed if it is empty.
+     * <p>
+     * Days older than the loaded groups are ignored, these will be loaded
+     * when scrolling to the end of the timesheet.
+     *
+     * @param group Group for the day.
+     */
+    /**
+     * Find the day that a time is shown within.
+     *
+     * @param timeId Id for the time.
+     * @return Day for the group with the time, or empty if the time is not shown.
+     */
+    @NonNull
+    Optional<Date> findDayForTime(long timeId) {
+        for (int index = 0; index < getGroupCount(); index++) {
+            TimesheetGroup groupItem = get(index);
+
+            for (int child = 0; child < groupItem.size(); child++) {
+                if (timeId == groupItem.get(child).getId()) {
+                    return Optional.of(groupItem.getDate());
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    void updateDay(TimesheetGroup group) {
+        Date day = group.getDate();
+
+        for (int index = 0; index < getGroupCount(); index++) {
+            TimesheetGroup groupItem = get(index);
+            if (groupItem.isForDay(day)) {
+                if (0 == group.size()) {
+                    remove(index);
+                    return;
+                }
+
+                set(index, group);
+                return;
+            }
+
+            if (groupItem.getDate().before(day)) {
+                if (0 < group.size()) {
+                    add(index, group);
+                }
+                return;
+            }
+        }
+
+        if (0 == getGroupCount() && 0 < group.size()) {
+            add(group);
         }
     }
 
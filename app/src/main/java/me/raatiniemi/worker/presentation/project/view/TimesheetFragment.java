@@ -16,10 +16,16 @@
 
 package me.raatiniemi.worker.presentation.project.view;
 
+import android.database.ContentObserver;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.design.widget.Snackbar;
+import android.support.v7.app.ActionBar;
+import android.support.v7.app.AppCompatActivity;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.ActionMode;
@@ -39,12 +45,16 @@ import javax.inject.Inject;
 import butterknife.ButterKnife;
 import me.raatiniemi.worker.R;
 import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.presentation.project.model.FlexBalance;
 import me.raatiniemi.worker.presentation.project.model.TimeInAdapterResult;
 import me.raatiniemi.worker.presentation.project.model.TimesheetGroup;
 import me.raatiniemi.worker.presentation.project.presenter.TimesheetPresenter;
 import me.raatiniemi.worker.presentation.util.SelectionListener;
 import me.raatiniemi.worker.presentation.view.dialog.RxAlertDialog;
 import me.raatiniemi.worker.presentation.view.fragment.BaseFragment;
+import me.raatiniemi.worker.util.Optional;
 import timber.log.Timber;
 
 import static me.raatiniemi.worker.R.drawable.list_item_divider;
@@ -120,8 +130,49 @@ public class TimesheetFragment extends BaseFragment
         }
     };
 
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Retrieve the flex balance, posted to the handler to coalesce the
+     * notifications from a batch of changes into a single retrieval.
+     */
+    private final Runnable refreshFlexBalance = () -> presenter.getFlexBalance(getProjectId());
+
+    /**
+     * Observe changes to the time, e.g. from the ongoing notification, and
+     * only reload the days with the changed time.
+     * <p>
+     * Changes without a time id, e.g. time marked as registered, originate
+     * from the presenter which have already updated the view.
+     */
+    private final ContentObserver timeObserver = new ContentObserver(handler) {
+        @Override
+        public void onChange(boolean selfChange) {
+            onChange(selfChange, null);
+        }
+
+        @Override
+        public void onChange(boolean selfChange, Uri uri) {
+            // The balance is maintained with the time, i.e. it have to be
+            // retrieved after the changes have been delivered.
+            handler.removeCallbacks(refreshFlexBalance);
+            handler.post(refreshFlexBalance);
+
+            if (isNull(uri)) {
+                return;
+            }
+
+            Optional<Long> timeId = ProviderContract.Time.findItemId(uri);
+            if (timeId.isPresent()) {
+                presenter.refreshTime(getProjectId(), timeId.get(), adapter.findDayForTime(timeId.get()));
+            }
+        }
+    };
+
     private boolean loading = false;
 
+    private long dailyTargetInMinutes = Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
+
     public static TimesheetFragment newInstance(Bundle bundle) {
         TimesheetFragment timesheetFragment = new TimesheetFragment();
         timesheetFragment.setArguments(bundle);
@@ -157,6 +208,7 @@ public class TimesheetFragment extends BaseFragment
 
         RecyclerViewExpandableItemManager recyclerViewExpandableItemManager
                 = new RecyclerViewExpandableItemManager(savedInstanceState);
+        adapter.setExpandableItemManager(recyclerViewExpandableItemManager);
 
         RecyclerView recyclerView = ButterKnife.findById(view, R.id.fragment_timesheet);
         recyclerView.setLayoutManager(linearLayoutManager);
@@ -192,11 +244,17 @@ public class TimesheetFragment extends BaseFragment
                         loading = true;
 
                         // Retrieve the total number of groups within the view, we need to
-                        // exclude the children otherwise the offset will be wrong.
-                        int offset = adapter.getGroupCount();
-
-                        // Retrieve additional timesheet items with offset.
-                        presenter.getTimesheet(getProjectId(), offset);
+                        // exclude the children otherwise the last group will be wrong.
+                        int groupCount = adapter.getGroupCount();
+                        if (0 == groupCount) {
+                            presenter.getTimesheet(getProjectId(), 0);
+                            return;
+                        }
+
+                        // Retrieve additional timesheet items before the last group,
+                        // i.e. we do not have to skip the already loaded groups.
+                        TimesheetGroup group = adapter.get(groupCount - 1);
+                        presenter.getTimesheet(getProjectId(), group.getDate());
                     }
                 }
             }
@@ -205,12 +263,21 @@ public class TimesheetFragment extends BaseFragment
 
         presenter.attachView(this);
         presenter.getTimesheet(getProjectId(), 0);
+        presenter.getFlexBalance(getProjectId());
+
+        getActivity().getContentResolver().registerContentObserver(
+                ProviderContract.Time.getStreamUri(),
+                true,
+                timeObserver
+        );
     }
 
     @Override
     public void onDestroyView() {
         super.onDestroyView();
 
+        getActivity().getContentResolver().unregisterContentObserver(timeObserver);
+        handler.removeCallbacks(refreshFlexBalance);
         detachViewIfNotNull(presenter);
     }
 
@@ -229,6 +296,23 @@ public class TimesheetFragment extends BaseFragment
         adapter.remove(results);
     }
 
+    @Override
+    public void updateDay(TimesheetGroup group) {
+        adapter.updateDay(group);
+    }
+
+    @Override
+    public void showFlexBalance(FlexBalance flexBalance) {
+        dailyTargetInMinutes = flexBalance.getDailyTargetInMinutes();
+
+        ActionBar actionBar = ((AppCompatActivity) getActivity()).getSupportActionBar();
+        if (isNull(actionBar)) {
+            return;
+        }
+
+        actionBar.setSubtitle(flexBalance.getSummary(getResources()));
+    }
+
     @Override
     public void showGetTimesheetErrorMessage() {
         Snackbar.make(
@@ -262,6 +346,26 @@ public class TimesheetFragment extends BaseFragment
         ).show();
     }
 
+    @Override
+    public void showUpdateDailyTargetErrorMessage() {
+        Snackbar.make(
+                getActivity().findViewById(android.R.id.content),
+                R.string.error_message_update_daily_target,
+                Snackbar.LENGTH_SHORT
+        ).show();
+    }
+
+    /**
+     * Let the user select the daily target for the project.
+     */
+    void changeDailyTarget() {
+        DailyTargetDialog.show(getActivity(), dailyTargetInMinutes)
+                .subscribe(
+                        target -> presenter.updateDailyTarget(getProjectId(), target),
+                        Timber::w
+                );
+    }
+
     @Override
     public void finishLoading() {
         loading = false;
@@ -272,6 +376,7 @@ public class TimesheetFragment extends BaseFragment
         // Clear the items from the list and start loading from the beginning...
         adapter.clear();
         presenter.getTimesheet(getProjectId(), 0);
+        presenter.getFlexBalance(getProjectId());
     }
 
     @Override
@@ -18,6 +18,7 @@ package me.raatiniemi.worker.presentation.project.view;
 
 import java.util.List;
 
+import me.raatiniemi.worker.presentation.project.model.FlexBalance;
 import me.raatiniemi.worker.presentation.project.model.TimeInAdapterResult;
 import me.raatiniemi.worker.presentation.project.model.TimesheetGroup;
 import me.raatiniemi.worker.presentation.view.MvpView;
@@ -31,6 +32,20 @@ public interface TimesheetView extends MvpView {
 
     void remove(List<TimeInAdapterResult> results);
 
+    /**
+     * Replace the group for a day, e.g. when time within the day have changed.
+     *
+     * @param group Group for the day, without items if the day should be removed.
+     */
+    void updateDay(TimesheetGroup group);
+
+    /**
+     * Show the flex balance for the project.
+     *
+     * @param flexBalance Flex balance with the daily target.
+     */
+    void showFlexBalance(FlexBalance flexBalance);
+
     /**
      * Show message for failed timesheet retrieval.
      */
@@ -50,6 +65,11 @@ public interface TimesheetView extends MvpView {
      */
     void showRegisterErrorMessage(int numberOfItems);
 
+    /**
+     * Show message for failed update of the daily target.
+     */
+    void showUpdateDailyTargetErrorMessage();
+
     /**
      * Initiate refresh of the view.
      */
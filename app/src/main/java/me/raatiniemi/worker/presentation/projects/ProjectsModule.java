@@ -24,7 +24,10 @@ import me.raatiniemi.worker.domain.interactor.ClockActivityChange;
 import me.raatiniemi.worker.domain.interactor.ClockIn;
 import me.raatiniemi.worker.domain.interactor.ClockOut;
 import me.raatiniemi.worker.domain.interactor.CreateProject;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProjectElapsedTimeSince;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
+import me.raatiniemi.worker.domain.interactor.GetProjectTimeSummarySince;
 import me.raatiniemi.worker.domain.interactor.GetProjects;
 import me.raatiniemi.worker.domain.interactor.RemoveProject;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
@@ -44,7 +47,9 @@ public class ProjectsModule {
     ) {
         return new ProjectsViewModel.ViewModel(
                 new GetProjects(projectRepository, timeRepository),
-                new GetProjectTimeSince(timeRepository)
+                new GetProjectTimeSummarySince(timeRepository),
+                new GetProjectElapsedTimeSince(timeRepository),
+                new GetFlexBalance(timeRepository)
         );
     }
 
@@ -60,7 +65,8 @@ public class ProjectsModule {
                         new ClockIn(timeRepository),
                         new ClockOut(timeRepository)
                 ),
-                new GetProjectTimeSince(timeRepository)
+                new GetProjectTimeSince(timeRepository),
+                new GetFlexBalance(timeRepository)
         );
     }
 
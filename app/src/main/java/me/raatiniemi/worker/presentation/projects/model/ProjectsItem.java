@@ -28,23 +28,35 @@ import me.raatiniemi.worker.R;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.presentation.util.DateIntervalFormat;
+import me.raatiniemi.worker.presentation.util.FlexBalanceFormat;
 import me.raatiniemi.worker.presentation.util.HoursMinutesIntervalFormat;
 
 public class ProjectsItem {
     private static final DateIntervalFormat intervalFormat;
+    private static final DateIntervalFormat flexBalanceFormat;
 
     static {
         intervalFormat = new HoursMinutesIntervalFormat();
+        flexBalanceFormat = new FlexBalanceFormat();
     }
 
     private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.forLanguageTag("en_US"));
     private final Project project;
     private final long registeredTimeSummary;
+    private final long flexBalance;
 
-    public ProjectsItem(Project project, List<Time> registeredTime) {
+    public ProjectsItem(Project project, long registeredTimeSummary, long flexBalance) {
         this.project = project;
+        this.registeredTimeSummary = registeredTimeSummary;
+        this.flexBalance = flexBalance;
+    }
+
+    public ProjectsItem(Project project, long registeredTimeSummary) {
+        this(project, registeredTimeSummary, 0L);
+    }
 
-        registeredTimeSummary = calculateSummaryFromRegisteredTime(registeredTime);
+    public ProjectsItem(Project project, List<Time> registeredTime) {
+        this(project, calculateSummaryFromRegisteredTime(registeredTime));
     }
 
     public ProjectsItem(Project project) {
@@ -91,6 +103,18 @@ public class ProjectsItem {
         return intervalFormat.format(registeredTimeWithElapsed);
     }
 
+    public String getFlexBalance(Resources resources) {
+        // The day for the active time is already included with the balance,
+        // i.e. only the elapsed time have to be added.
+        long flexBalanceWithElapsed = flexBalance + project.getElapsed();
+
+        return String.format(
+                Locale.forLanguageTag("en_US"),
+                resources.getString(R.string.fragment_projects_item_flex_balance),
+                flexBalanceFormat.format(flexBalanceWithElapsed)
+        );
+    }
+
     public String getHelpTextForClockActivityToggle(Resources resources) {
         if (isActive()) {
             return resources.getString(R.string.fragment_projects_item_clock_out);
@@ -21,6 +21,8 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.List;
+
 import me.raatiniemi.worker.R;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItemAdapterResult;
@@ -31,6 +33,11 @@ import me.raatiniemi.worker.presentation.view.adapter.SimpleListAdapter;
  * Adapter for listing available projects.
  */
 class ProjectsAdapter extends SimpleListAdapter<ProjectsItem, ProjectsItemViewHolder> {
+    /**
+     * Payload for only rebinding the time that elapses for active projects.
+     */
+    private static final Object PAYLOAD_ELAPSED_TIME = new Object();
+
     private final OnProjectActionListener onProjectActionListener;
     private final HintedImageButtonListener hintedImageButtonListener;
 
@@ -67,16 +74,55 @@ class ProjectsAdapter extends SimpleListAdapter<ProjectsItem, ProjectsItemViewHo
         return new ProjectsItemViewHolder(view);
     }
 
+    private static boolean isElapsedTimePayload(List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            return false;
+        }
+
+        for (Object payload : payloads) {
+            if (PAYLOAD_ELAPSED_TIME != payload) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Notify that the elapsed time for the item have changed, i.e. only the
+     * time related views will be rebound.
+     *
+     * @param index Index of the item.
+     */
+    void notifyElapsedTimeChanged(int index) {
+        notifyItemChanged(index, PAYLOAD_ELAPSED_TIME);
+    }
+
+    private void bindElapsedTime(ProjectsItemViewHolder vh, ProjectsItem item) {
+        vh.time.setText(item.getTimeSummary());
+        vh.flexBalance.setText(item.getFlexBalance(resources));
+
+        vh.clockedInSince.setText(item.getClockedInSince(resources));
+        item.setVisibilityForClockedInSinceView(vh.clockedInSince);
+    }
+
+    @Override
+    public void onBindViewHolder(ProjectsItemViewHolder vh, int index, List<Object> payloads) {
+        if (isElapsedTimePayload(payloads)) {
+            bindElapsedTime(vh, get(index));
+            return;
+        }
+
+        super.onBindViewHolder(vh, index, payloads);
+    }
+
     @Override
     public void onBindViewHolder(final ProjectsItemViewHolder vh, int index) {
         final ProjectsItem item = get(index);
         final ProjectsItemAdapterResult result = ProjectsItemAdapterResult.build(index, item);
 
         vh.name.setText(item.getTitle());
-        vh.time.setText(item.getTimeSummary());
-
-        vh.clockedInSince.setText(item.getClockedInSince(resources));
-        item.setVisibilityForClockedInSinceView(vh.clockedInSince);
+        bindElapsedTime(vh, item);
 
         vh.itemView.setOnClickListener(getOnClickListener());
 
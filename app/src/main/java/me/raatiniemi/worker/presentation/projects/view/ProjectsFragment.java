@@ -17,7 +17,11 @@
 package me.raatiniemi.worker.presentation.projects.view;
 
 import android.content.Intent;
+import android.database.ContentObserver;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.design.widget.Snackbar;
@@ -40,9 +44,9 @@ import javax.inject.Inject;
 import butterknife.ButterKnife;
 import me.raatiniemi.worker.R;
 import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.ProviderContract;
 import me.raatiniemi.worker.data.service.ongoing.ProjectNotificationService;
 import me.raatiniemi.worker.domain.model.Project;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 import me.raatiniemi.worker.presentation.project.view.ProjectActivity;
 import me.raatiniemi.worker.presentation.projects.model.CreateProjectEvent;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
@@ -58,6 +62,7 @@ import me.raatiniemi.worker.presentation.util.TimeSummaryPreferences;
 import me.raatiniemi.worker.presentation.view.adapter.SimpleListAdapter;
 import me.raatiniemi.worker.presentation.view.dialog.RxAlertDialog;
 import me.raatiniemi.worker.presentation.view.fragment.RxFragment;
+import me.raatiniemi.worker.util.Optional;
 import rx.Observable;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
@@ -66,10 +71,12 @@ import timber.log.Timber;
 
 import static me.raatiniemi.worker.presentation.util.RxUtil.applySchedulers;
 import static me.raatiniemi.worker.presentation.util.RxUtil.unsubscribeIfNotNull;
+import static me.raatiniemi.worker.util.NullUtil.isNull;
 
 public class ProjectsFragment extends RxFragment
         implements OnProjectActionListener, SimpleListAdapter.OnItemClickListener {
     private static final String FRAGMENT_CLOCK_ACTIVITY_AT_TAG = "clock activity at";
+    private static final long MINUTE_IN_MILLISECONDS = TimeUnit.MINUTES.toMillis(1);
     @Inject
     ProjectsViewModel.ViewModel projectsViewModel;
     @SuppressWarnings({"CanBeFinal", "WeakerAccess"})
@@ -92,9 +99,45 @@ public class ProjectsFragment extends RxFragment
     @Inject
     ConfirmClockOutPreferences confirmClockOutPreferences;
 
+    /**
+     * Observe changes to the projects, and their time, e.g. from the ongoing
+     * notification, and only reload the changed project.
+     */
+    private final ContentObserver projectsObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+        @Override
+        public void onChange(boolean selfChange) {
+            onChange(selfChange, null);
+        }
+
+        @Override
+        public void onChange(boolean selfChange, Uri uri) {
+            if (isNull(uri)) {
+                return;
+            }
+
+            Optional<Long> projectId = ProviderContract.Project.findItemId(uri);
+            if (projectId.isPresent()) {
+                reloadProject(projectId.get());
+                return;
+            }
+
+            // Changes without a project id, e.g. when restoring a backup,
+            // can affect any of the projects.
+            if (ProviderContract.Project.getStreamUri().equals(uri)) {
+                reloadProjects();
+            }
+        }
+    };
+
     private Subscription refreshProjectsSubscription;
     private RecyclerView recyclerView;
 
+    /**
+     * Whether refreshing the active projects have been postponed due to the
+     * list being scrolled.
+     */
+    private boolean refreshPostponedWhileScrolling;
+
     ProjectsAdapter adapter;
 
     @Override
@@ -123,6 +166,16 @@ public class ProjectsFragment extends RxFragment
         recyclerView = ButterKnife.findById(view, R.id.fragment_projects);
         recyclerView.setLayoutManager(new LinearLayoutManager(getActivity()));
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (RecyclerView.SCROLL_STATE_IDLE != newState || !refreshPostponedWhileScrolling) {
+                    return;
+                }
+
+                refreshActiveProjects();
+            }
+        });
 
         int startingPointForTimeSummary = timeSummaryPreferences.getStartingPointForTimeSummary();
         projectsViewModel.input().startingPointForTimeSummary(startingPointForTimeSummary);
@@ -181,16 +234,52 @@ public class ProjectsFragment extends RxFragment
                 .compose(bindToLifecycle())
                 .compose(applySchedulers())
                 .subscribe(this::refreshPositions);
+
+        getActivity().getContentResolver().registerContentObserver(
+                ProviderContract.Project.getStreamUri(),
+                true,
+                projectsObserver
+        );
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+
+        getActivity().getContentResolver().unregisterContentObserver(projectsObserver);
     }
 
     @Override
     public void onResume() {
         super.onResume();
 
-        refreshProjectsSubscription = Observable.interval(60, TimeUnit.SECONDS, Schedulers.newThread())
+        // The elapsed time is displayed with minutes, i.e. align the refresh
+        // with the start of each minute to avoid displaying stale time.
+        refreshProjectsSubscription = Observable.interval(
+                getMillisecondsUntilNextMinute(System.currentTimeMillis()),
+                MINUTE_IN_MILLISECONDS,
+                TimeUnit.MILLISECONDS,
+                Schedulers.newThread()
+        )
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(interval -> refreshViewModel.input().projects(adapter.getItems()));
+                .subscribe(interval -> refreshActiveProjects());
+
+        refreshActiveProjects();
+    }
+
+    private static long getMillisecondsUntilNextMinute(long milliseconds) {
+        return MINUTE_IN_MILLISECONDS - milliseconds % MINUTE_IN_MILLISECONDS;
+    }
 
+    private void refreshActiveProjects() {
+        // Rebinding items while scrolling can cause stuttering, the refresh
+        // is instead performed when the scroll is finished.
+        if (RecyclerView.SCROLL_STATE_IDLE != recyclerView.getScrollState()) {
+            refreshPostponedWhileScrolling = true;
+            return;
+        }
+
+        refreshPostponedWhileScrolling = false;
         refreshViewModel.input().projects(adapter.getItems());
     }
 
@@ -221,12 +310,6 @@ public class ProjectsFragment extends RxFragment
         recyclerView.scrollToPosition(position);
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe(threadMode = ThreadMode.MAIN)
-    public void onEventMainThread(OngoingNotificationActionEvent event) {
-        reloadProjects();
-    }
-
     @SuppressWarnings("unused")
     @Subscribe(threadMode = ThreadMode.MAIN)
     public void onEventMainThread(TimeSummaryStartingPointChangeEvent event) {
@@ -254,6 +337,54 @@ public class ProjectsFragment extends RxFragment
                 .subscribe(adapter::add);
     }
 
+    private void reloadProject(long projectId) {
+        projectsViewModel.output().project(projectId)
+                .compose(bindToLifecycle())
+                .compose(applySchedulers())
+                .subscribe(value -> {
+                    if (value.isPresent()) {
+                        replaceProject(value.get());
+                        return;
+                    }
+
+                    removeProject(projectId);
+                });
+    }
+
+    private int findPositionForProject(long projectId) {
+        List<ProjectsItem> items = adapter.getItems();
+        for (int position = 0; position < items.size(); position++) {
+            if (projectId == items.get(position).asProject().getId()) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    private void replaceProject(ProjectsItem item) {
+        long projectId = item.asProject().getId();
+
+        int position = findPositionForProject(projectId);
+        if (0 > position) {
+            Timber.d("Project %d is not available in the list", projectId);
+            return;
+        }
+
+        adapter.set(position, item);
+    }
+
+    private void removeProject(long projectId) {
+        // The project might already have been removed from the list, e.g.
+        // when it was removed from the list before being deleted.
+        int position = findPositionForProject(projectId);
+        if (0 > position) {
+            return;
+        }
+
+        adapter.remove(position);
+    }
+
     private void refreshPositions(List<Integer> positions) {
         // Check that we have positions to refresh.
         if (positions.isEmpty()) {
@@ -266,7 +397,7 @@ public class ProjectsFragment extends RxFragment
         // Iterate and refresh every position.
         Timber.d("Refreshing %d projects", positions.size());
         for (Integer position : positions) {
-            adapter.notifyItemChanged(position);
+            adapter.notifyElapsedTimeChanged(position);
         }
     }
 
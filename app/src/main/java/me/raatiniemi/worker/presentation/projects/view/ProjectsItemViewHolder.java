@@ -32,6 +32,9 @@ class ProjectsItemViewHolder extends RecyclerView.ViewHolder {
     @BindView(R.id.fragment_projects_item_time)
     TextView time;
 
+    @BindView(R.id.fragment_projects_item_flex_balance)
+    TextView flexBalance;
+
     @BindView(R.id.fragment_projects_item_action_clock_activity_toggle)
     ImageButton clockActivityToggle;
 
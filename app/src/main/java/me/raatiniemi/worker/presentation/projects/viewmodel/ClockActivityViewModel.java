@@ -19,14 +19,13 @@ package me.raatiniemi.worker.presentation.projects.viewmodel;
 import android.support.annotation.NonNull;
 
 import java.util.Date;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.interactor.ClockActivityChange;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
 import me.raatiniemi.worker.domain.model.Project;
-import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItemAdapterResult;
 import rx.Observable;
@@ -82,10 +81,12 @@ public interface ClockActivityViewModel {
 
         private final ClockActivityChange clockActivityChange;
         private final GetProjectTimeSince getProjectTimeSince;
+        private final GetFlexBalance getFlexBalance;
 
         public ViewModel(
                 @NonNull ClockActivityChange clockActivityChange,
-                @NonNull GetProjectTimeSince getProjectTimeSince
+                @NonNull GetProjectTimeSince getProjectTimeSince,
+                @NonNull GetFlexBalance getFlexBalance
         ) {
             input = this;
             output = this;
@@ -93,6 +94,7 @@ public interface ClockActivityViewModel {
 
             this.clockActivityChange = clockActivityChange;
             this.getProjectTimeSince = getProjectTimeSince;
+            this.getFlexBalance = getFlexBalance;
 
             Observable.zip(clockInResult, clockInDate, CombinedResult::new)
                     .throttleFirst(500, TimeUnit.MILLISECONDS)
@@ -115,9 +117,10 @@ public interface ClockActivityViewModel {
         private Observable<ProjectsItemAdapterResult> executeUseCase(@NonNull CombinedResult combinedResult) {
             try {
                 Project project = executeClockActivityChange(combinedResult);
-                List<Time> registeredTime = getRegisteredTimeForProject(project);
+                long registeredTimeSummary = getRegisteredTimeSummaryForProject(project);
+                long flexBalance = getFlexBalance.execute(project.getId());
 
-                ProjectsItem projectsItem = new ProjectsItem(project, registeredTime);
+                ProjectsItem projectsItem = new ProjectsItem(project, registeredTimeSummary, flexBalance);
                 return Observable.just(buildResult(combinedResult.result, projectsItem));
             } catch (Exception e) {
                 return Observable.error(e);
@@ -131,9 +134,8 @@ public interface ClockActivityViewModel {
             return clockActivityChange.execute(projectsItem.asProject(), combinedResult.date);
         }
 
-        @NonNull
-        private List<Time> getRegisteredTimeForProject(@NonNull Project project) throws DomainException {
-            return getProjectTimeSince.execute(project, startingPoint);
+        private long getRegisteredTimeSummaryForProject(@NonNull Project project) {
+            return getProjectTimeSince.executeSummary(project, startingPoint);
         }
 
         @NonNull
@@ -18,21 +18,26 @@ package me.raatiniemi.worker.presentation.projects.viewmodel;
 
 import android.support.annotation.NonNull;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProjectElapsedTimeSince;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
+import me.raatiniemi.worker.domain.interactor.GetProjectTimeSummarySince;
 import me.raatiniemi.worker.domain.interactor.GetProjects;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
-import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
+import me.raatiniemi.worker.util.Optional;
 import rx.Observable;
 import rx.subjects.PublishSubject;
 import timber.log.Timber;
 
 import static me.raatiniemi.worker.presentation.util.RxUtil.hideErrors;
 import static me.raatiniemi.worker.presentation.util.RxUtil.redirectErrors;
+import static me.raatiniemi.worker.util.NullUtil.isNull;
 
 public interface ProjectsViewModel {
     interface Input {
@@ -42,6 +47,9 @@ public interface ProjectsViewModel {
     interface Output {
         @NonNull
         Observable<List<ProjectsItem>> projects();
+
+        @NonNull
+        Observable<Optional<ProjectsItem>> project(long projectId);
     }
 
     interface Error {
@@ -59,22 +67,27 @@ public interface ProjectsViewModel {
         private final PublishSubject<Throwable> projectsError = PublishSubject.create();
 
         private final GetProjects getProjects;
-        private final GetProjectTimeSince getProjectTimeSince;
+        private final GetProjectTimeSummarySince getProjectTimeSummarySince;
+        private final GetProjectElapsedTimeSince getProjectElapsedTimeSince;
+        private final GetFlexBalance getFlexBalance;
 
         public ViewModel(
                 @NonNull GetProjects getProjects,
-                @NonNull GetProjectTimeSince getProjectTimeSince
+                @NonNull GetProjectTimeSummarySince getProjectTimeSummarySince,
+                @NonNull GetProjectElapsedTimeSince getProjectElapsedTimeSince,
+                @NonNull GetFlexBalance getFlexBalance
         ) {
             input = this;
             output = this;
             error = this;
 
             this.getProjects = getProjects;
-            this.getProjectTimeSince = getProjectTimeSince;
+            this.getProjectTimeSummarySince = getProjectTimeSummarySince;
+            this.getProjectElapsedTimeSince = getProjectElapsedTimeSince;
+            this.getFlexBalance = getFlexBalance;
 
             projects = executeGetProjects()
-                    .flatMap(Observable::from)
-                    .map(this::populateItemWithRegisteredTime)
+                    .flatMap(this::buildItemsWithRegisteredTime)
                     .compose(redirectErrors(projectsError))
                     .compose(hideErrors())
                     .toList();
@@ -92,21 +105,62 @@ public interface ProjectsViewModel {
         }
 
         @NonNull
-        private ProjectsItem populateItemWithRegisteredTime(@NonNull Project project) {
-            List<Time> registeredTime = getRegisteredTime(project);
+        private Observable<Optional<ProjectsItem>> executeGetProject(long projectId) {
+            return Observable.defer(() -> {
+                try {
+                    Optional<Project> value = getProjects.execute(projectId);
+                    if (!value.isPresent()) {
+                        // The project have been removed, which have to be
+                        // distinguished from failing to get the project.
+                        return Observable.just(Optional.empty());
+                    }
+
+                    Project project = value.get();
+                    ElapsedTime elapsedTime = getProjectElapsedTimeSince.execute(project, startingPoint);
+                    long flexBalance = getFlexBalance.execute(project.getId());
+
+                    return Observable.just(Optional.of(
+                            new ProjectsItem(project, elapsedTime.getRegisteredInMilliseconds(), flexBalance)
+                    ));
+                } catch (DomainException e) {
+                    return Observable.error(e);
+                }
+            });
+        }
 
-            return new ProjectsItem(project, registeredTime);
+        @NonNull
+        private Observable<ProjectsItem> buildItemsWithRegisteredTime(@NonNull List<Project> projects) {
+            if (projects.isEmpty()) {
+                return Observable.empty();
+            }
+
+            Map<Long, Long> registeredTimeSummaries = getProjectTimeSummarySince.execute(startingPoint);
+            Map<Long, Long> flexBalances = getFlexBalance.execute();
+
+            return Observable.from(projects)
+                    .map(project -> populateItemWithRegisteredTime(project, registeredTimeSummaries, flexBalances));
         }
 
         @NonNull
-        private List<Time> getRegisteredTime(@NonNull Project project) {
-            try {
-                return getProjectTimeSince.execute(project, startingPoint);
-            } catch (DomainException e) {
-                Timber.w(e, "Unable to get registered time for project");
+        private static ProjectsItem populateItemWithRegisteredTime(
+                @NonNull Project project,
+                @NonNull Map<Long, Long> registeredTimeSummaries,
+                @NonNull Map<Long, Long> flexBalances
+        ) {
+            return new ProjectsItem(
+                    project,
+                    getOrZero(registeredTimeSummaries, project.getId()),
+                    getOrZero(flexBalances, project.getId())
+            );
+        }
 
-                return Collections.emptyList();
+        private static long getOrZero(@NonNull Map<Long, Long> values, long projectId) {
+            Long value = values.get(projectId);
+            if (isNull(value)) {
+                return 0L;
             }
+
+            return value;
         }
 
         @Override
@@ -128,6 +182,14 @@ public interface ProjectsViewModel {
             return projects;
         }
 
+        @NonNull
+        @Override
+        public Observable<Optional<ProjectsItem>> project(long projectId) {
+            return executeGetProject(projectId)
+                    .compose(redirectErrors(projectsError))
+                    .compose(hideErrors());
+        }
+
         @NonNull
         @Override
         public Observable<Throwable> projectsError() {
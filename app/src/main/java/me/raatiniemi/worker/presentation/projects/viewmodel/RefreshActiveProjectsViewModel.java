@@ -61,12 +61,12 @@ public interface RefreshActiveProjectsViewModel {
             }
 
             List<Integer> activePositions = new ArrayList<>();
-            for (ProjectsItem item : items) {
-                if (!item.isActive()) {
+            for (int position = 0; position < items.size(); position++) {
+                if (!items.get(position).isActive()) {
                     continue;
                 }
 
-                activePositions.add(items.indexOf(item));
+                activePositions.add(position);
             }
 
             return activePositions;
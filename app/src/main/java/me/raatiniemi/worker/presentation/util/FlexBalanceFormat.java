@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.util;
+
+/**
+ * Format a flex balance into signed hours and minutes, i.e. +1h 30m.
+ */
+public class FlexBalanceFormat implements DateIntervalFormat {
+    private final DateIntervalFormat intervalFormat = new HoursMinutesIntervalFormat();
+
+    @Override
+    public String format(long milliseconds) {
+        // Negative intervals are already formatted with their sign.
+        String interval = intervalFormat.format(milliseconds);
+        if ('-' == interval.charAt(0) || "0m".equals(interval)) {
+            return interval;
+        }
+
+        return "+" + interval;
+    }
+}
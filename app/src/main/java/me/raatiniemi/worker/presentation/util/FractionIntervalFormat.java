@@ -16,34 +16,44 @@
 
 package me.raatiniemi.worker.presentation.util;
 
-import java.util.Locale;
-
-import me.raatiniemi.worker.domain.model.CalculatedTime;
 import me.raatiniemi.worker.domain.util.CalculateTime;
 
 /**
  * Format a time interval into hours with fraction, i.e. 1.5 for one hour and 30 minutes.
+ * <p>
+ * The fraction is always written with two digits, i.e. 1.50, using integer
+ * arithmetic and a reusable buffer instead of {@link String#format}.
  */
 public class FractionIntervalFormat implements DateIntervalFormat {
-    private static final String FRACTION_FORMAT = "%.2f";
-    private static final float MINUTES_IN_HOUR = 60;
-
-    @Override
-    public String format(long milliseconds) {
-        CalculatedTime calculatedTime = CalculateTime.calculateTime(milliseconds);
-
-        return String.format(
-                Locale.forLanguageTag("en_US"),
-                FRACTION_FORMAT,
-                calculateHoursWithFraction(calculatedTime)
-        );
-    }
+    private static final int MINUTES_IN_HOUR = 60;
 
-    private static float calculateHoursWithFraction(CalculatedTime calculatedTime) {
-        return calculatedTime.getHours() + calculateFraction(calculatedTime.getMinutes());
-    }
+    /**
+     * Buffer for the formatted interval, the digits are written from the end.
+     * Sign, up to 19 digits for the hours, separator and the fraction.
+     */
+    private final char[] buffer = new char[24];
 
-    private static float calculateFraction(long minutes) {
-        return (float) minutes / MINUTES_IN_HOUR;
+    @Override
+    public synchronized String format(long milliseconds) {
+        long minutes = CalculateTime.calculateMinutes(milliseconds);
+        boolean negative = 0 > minutes;
+        if (negative) {
+            minutes = -minutes;
+        }
+
+        // Since the minutes are whole numbers, the hundredths can never
+        // be exactly in between, i.e. there is no ambiguity when rounding.
+        long hundredths = (minutes % MINUTES_IN_HOUR * 100 + MINUTES_IN_HOUR / 2) / MINUTES_IN_HOUR;
+
+        int position = buffer.length;
+        buffer[--position] = (char) ('0' + hundredths % 10);
+        buffer[--position] = (char) ('0' + hundredths / 10);
+        buffer[--position] = '.';
+        position = IntervalFormatUtil.writeDigits(buffer, position, minutes / MINUTES_IN_HOUR);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+
+        return new String(buffer, position, buffer.length - position);
     }
 }
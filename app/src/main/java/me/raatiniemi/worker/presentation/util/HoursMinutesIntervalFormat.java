@@ -16,35 +16,46 @@
 
 package me.raatiniemi.worker.presentation.util;
 
-import java.util.Locale;
-
-import me.raatiniemi.worker.domain.model.CalculatedTime;
 import me.raatiniemi.worker.domain.util.CalculateTime;
 
 /**
  * Format a time interval into hours and minutes, i.e. 1h 30m.
+ * <p>
+ * The interval is written using integer arithmetic and a reusable buffer
+ * instead of {@link String#format}.
  */
 public class HoursMinutesIntervalFormat implements DateIntervalFormat {
-    private static final String HOURS_MINUTES_FORMAT = "%1$dh %2$dm";
-    private static final String MINUTES_FORMAT = "%2$dm";
+    private static final int MINUTES_IN_HOUR = 60;
+
+    /**
+     * Buffer for the formatted interval, the digits are written from the end.
+     * Sign, up to 19 digits for the hours and the minutes with suffixes.
+     */
+    private final char[] buffer = new char[28];
 
     @Override
-    public String format(long milliseconds) {
-        CalculatedTime calculatedTime = CalculateTime.calculateTime(milliseconds);
-
-        return String.format(
-                Locale.forLanguageTag("en_US"),
-                getFormatTemplate(calculatedTime),
-                calculatedTime.getHours(),
-                calculatedTime.getMinutes()
-        );
-    }
+    public synchronized String format(long milliseconds) {
+        long minutes = CalculateTime.calculateMinutes(milliseconds);
+        boolean negative = 0 > minutes;
+        if (negative) {
+            minutes = -minutes;
+        }
+
+        int position = buffer.length;
+        buffer[--position] = 'm';
+        position = IntervalFormatUtil.writeDigits(buffer, position, minutes % MINUTES_IN_HOUR);
+
+        long hours = minutes / MINUTES_IN_HOUR;
+        if (0 != hours) {
+            buffer[--position] = ' ';
+            buffer[--position] = 'h';
+            position = IntervalFormatUtil.writeDigits(buffer, position, hours);
+        }
 
-    private static String getFormatTemplate(CalculatedTime calculatedTime) {
-        if (0 == calculatedTime.getHours()) {
-            return MINUTES_FORMAT;
+        if (negative) {
+            buffer[--position] = '-';
         }
 
-        return HOURS_MINUTES_FORMAT;
+        return new String(buffer, position, buffer.length - position);
     }
 }
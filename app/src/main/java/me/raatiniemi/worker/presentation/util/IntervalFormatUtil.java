@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.util;
+
+final class IntervalFormatUtil {
+    private IntervalFormatUtil() {
+    }
+
+    /**
+     * Write the digits for a non-negative value to the buffer, ending before
+     * the position, i.e. the digits are written from the end.
+     *
+     * @param buffer   Buffer to write the digits to.
+     * @param position Position after the last digit.
+     * @param value    Non-negative value to write.
+     * @return Position of the first digit.
+     */
+    static int writeDigits(char[] buffer, int position, long value) {
+        do {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (0 != value);
+
+        return position;
+    }
+}
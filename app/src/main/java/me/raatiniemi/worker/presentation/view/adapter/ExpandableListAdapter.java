@@ -17,8 +17,10 @@
 package me.raatiniemi.worker.presentation.view.adapter;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView.ViewHolder;
 
+import com.h6ah4i.android.widget.advrecyclerview.expandable.RecyclerViewExpandableItemManager;
 import com.h6ah4i.android.widget.advrecyclerview.utils.AbstractExpandableItemAdapter;
 
 import java.util.ArrayList;
@@ -47,6 +49,26 @@ public abstract class ExpandableListAdapter<
      */
     private final List<T> items = new ArrayList<>();
 
+    /**
+     * Manager used for dispatching group and child level changes.
+     * <p>
+     * The adapter is wrapped by the manager, i.e. the positions known by
+     * the RecyclerView include the expanded children. Without the manager
+     * we are not able to translate the positions and have to fall back to
+     * notify that the whole data set have changed.
+     */
+    @Nullable
+    private RecyclerViewExpandableItemManager expandableItemManager;
+
+    /**
+     * Set the manager used for dispatching group and child level changes.
+     *
+     * @param expandableItemManager Manager that have wrapped the adapter.
+     */
+    public void setExpandableItemManager(@Nullable RecyclerViewExpandableItemManager expandableItemManager) {
+        this.expandableItemManager = expandableItemManager;
+    }
+
     /**
      * Get number of groups.
      *
@@ -145,9 +167,11 @@ public abstract class ExpandableListAdapter<
             throwGroupIndexOutOfBounds(index);
         }
 
-        // Update the item and notify the adapter.
+        // Update the item and notify the adapter, if the number of children
+        // differs we only have to insert or remove the difference.
+        int previousChildCount = getChildCount(index);
         items.set(index, item);
-        notifyDataSetChanged();
+        notifyGroupChanged(index, previousChildCount, getChildCount(index));
     }
 
     /**
@@ -165,11 +189,12 @@ public abstract class ExpandableListAdapter<
         }
 
         // Update the child item within the group item.
-        T groupItem = get(group);
-        groupItem.set(child, item);
+        get(group).set(child, item);
 
-        // Trigger the adapter update on the group item.
-        set(group, groupItem);
+        // The group item is summarizing its children, i.e. it have to be
+        // rebound along with the changed child.
+        notifyChildItemChanged(group, child);
+        notifyGroupItemChanged(group);
     }
 
     @Override
@@ -180,7 +205,7 @@ public abstract class ExpandableListAdapter<
         items.add(item);
 
         // Notify the adapter, a new item have been added.
-        notifyItemInserted(index);
+        notifyGroupItemRangeInserted(index, 1);
 
         // Return the index for the new item.
         return index;
@@ -188,19 +213,28 @@ public abstract class ExpandableListAdapter<
 
     @Override
     public void add(final int index, @NonNull final T item) {
-        // TODO: Implement adding at specific index for ExpandableListAdapter.
-        throw new UnsupportedOperationException("Not yet implemented");
+        // The index is allowed to be the same as the number of groups,
+        // i.e. the item is added last.
+        if (0 > index || getGroupCount() < index) {
+            throwGroupIndexOutOfBounds(index);
+        }
+
+        items.add(index, item);
+        notifyGroupItemRangeInserted(index, 1);
     }
 
     @Override
     public int add(@NonNull List<T> items) {
         // Retrieve the current count to have a reference point
         // at which location the new items will be inserted.
-        int index = getItemCount();
+        int index = getGroupCount();
+        if (items.isEmpty()) {
+            return index;
+        }
         this.items.addAll(items);
 
         // Notify the adapter of the new items.
-        notifyDataSetChanged();
+        notifyGroupItemRangeInserted(index, items.size());
 
         // Return the reference point for the location of the new items.
         return index;
@@ -215,7 +249,7 @@ public abstract class ExpandableListAdapter<
 
         // Remove the group and notify the change.
         T item = items.remove(index);
-        notifyDataSetChanged();
+        notifyGroupItemRangeRemoved(index, 1);
 
         return item;
     }
@@ -232,22 +266,135 @@ public abstract class ExpandableListAdapter<
             throwChildIndexOutOfBounds(group, child);
         }
 
-        // Remove the child item from the group.
-        get(group).remove(child);
-
-        // If there are no more child items within the
-        // group, remove the group as well.
-        if (0 == getChildCount(group)) {
+        // If the child item is the last one within the group, remove
+        // the group as well.
+        if (1 == getChildCount(group)) {
             remove(group);
+            return;
         }
 
-        // Notify the adapter.
-        notifyDataSetChanged();
+        // Remove the child item from the group and notify the adapter.
+        get(group).remove(child);
+        notifyChildItemRemoved(group, child);
+        notifyGroupItemChanged(group);
     }
 
     @Override
     public void clear() {
+        int groupCount = getGroupCount();
+        if (0 == groupCount) {
+            return;
+        }
+
         items.clear();
-        notifyDataSetChanged();
+        notifyGroupItemRangeRemoved(0, groupCount);
+    }
+
+    private boolean canDispatchChanges() {
+        return null != expandableItemManager;
+    }
+
+    /**
+     * Notify that the group item, and the children within it, have changed.
+     *
+     * @param group              Index of the group.
+     * @param previousChildCount Number of children before the change.
+     * @param childCount         Number of children after the change.
+     */
+    private void notifyGroupChanged(int group, int previousChildCount, int childCount) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        if (previousChildCount == childCount) {
+            expandableItemManager.notifyGroupAndChildrenItemsChanged(group);
+            return;
+        }
+
+        expandableItemManager.notifyGroupItemChanged(group);
+
+        int unchangedChildCount = Math.min(previousChildCount, childCount);
+        if (0 < unchangedChildCount) {
+            expandableItemManager.notifyChildItemRangeChanged(group, 0, unchangedChildCount);
+        }
+
+        if (previousChildCount < childCount) {
+            expandableItemManager.notifyChildItemRangeInserted(
+                    group,
+                    previousChildCount,
+                    childCount - previousChildCount
+            );
+            return;
+        }
+
+        expandableItemManager.notifyChildItemRangeRemoved(
+                group,
+                childCount,
+                previousChildCount - childCount
+        );
+    }
+
+    /**
+     * Notify that the group item have changed, e.g. when the summary of
+     * its children have changed.
+     *
+     * @param group Index of the group.
+     */
+    protected void notifyGroupItemChanged(int group) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        expandableItemManager.notifyGroupItemChanged(group);
+    }
+
+    /**
+     * Notify that the child item have changed.
+     *
+     * @param group Index of the group.
+     * @param child Index of the child.
+     */
+    protected void notifyChildItemChanged(int group, int child) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        expandableItemManager.notifyChildItemChanged(group, child);
+    }
+
+    /**
+     * Notify that the child item have been removed.
+     *
+     * @param group Index of the group.
+     * @param child Index of the removed child.
+     */
+    protected void notifyChildItemRemoved(int group, int child) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        expandableItemManager.notifyChildItemRemoved(group, child);
+    }
+
+    private void notifyGroupItemRangeInserted(int group, int count) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        expandableItemManager.notifyGroupItemRangeInserted(group, count);
+    }
+
+    private void notifyGroupItemRangeRemoved(int group, int count) {
+        if (!canDispatchChanges()) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        expandableItemManager.notifyGroupItemRangeRemoved(group, count);
     }
 }
@@ -23,22 +23,18 @@ import android.support.annotation.DrawableRes;
 import android.support.v4.app.NotificationCompat;
 
 import java.util.Date;
-import java.util.List;
 
 import me.raatiniemi.worker.R;
-import me.raatiniemi.worker.data.repository.TimeResolverRepository;
 import me.raatiniemi.worker.data.service.ongoing.ClockOutService;
 import me.raatiniemi.worker.data.service.ongoing.PauseService;
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.interactor.GetProjectElapsedTimeSince;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
-import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
-import me.raatiniemi.worker.util.Optional;
 import timber.log.Timber;
 
-import static me.raatiniemi.worker.util.NullUtil.isNull;
-
 /**
  * Notification for pausing or clocking out an active project.
  */
@@ -49,21 +45,37 @@ public class PauseNotification extends OngoingNotification {
 
     private static final int CLOCK_OUT_ICON = 0;
 
+    private final TimeRepository repository;
     private boolean useChronometer;
     private long registeredTime;
-    private TimeResolverRepository repository;
 
-    private PauseNotification(Context context, Project project, boolean useChronometer) {
+    private PauseNotification(
+            Context context,
+            Project project,
+            TimeRepository repository,
+            boolean useChronometer
+    ) {
         super(context, project);
 
+        this.repository = repository;
         this.useChronometer = useChronometer;
         if (this.useChronometer) {
             populateRegisteredTime();
         }
     }
 
-    public static Notification build(Context context, Project project, boolean useChronometer) {
-        PauseNotification notification = new PauseNotification(context, project, useChronometer);
+    public static Notification build(
+            Context context,
+            Project project,
+            TimeRepository repository,
+            boolean useChronometer
+    ) {
+        PauseNotification notification = new PauseNotification(
+                context,
+                project,
+                repository,
+                useChronometer
+        );
         return notification.build();
     }
 
@@ -71,60 +83,19 @@ public class PauseNotification extends OngoingNotification {
         useChronometer = true;
 
         try {
-            long accumulatedTime = 0L;
-
-            for (Time time : getRegisteredTime()) {
-                accumulatedTime += time.getTime();
-            }
+            // The registered time for today and the start of the active time
+            // is summarized with a single query, instead of retrieving each
+            // of the registered items.
+            GetProjectElapsedTimeSince useCase = new GetProjectElapsedTimeSince(repository);
+            ElapsedTime elapsedTime = useCase.execute(getProject(), GetProjectTimeSince.DAY);
 
-            registeredTime = includeActiveTime(accumulatedTime);
+            registeredTime = elapsedTime.getElapsedAt(new Date().getTime());
         } catch (DomainException e) {
             Timber.w(e, "Unable to populate registered time");
             useChronometer = false;
         }
     }
 
-    private List<Time> getRegisteredTime() throws DomainException {
-        GetProjectTimeSince registeredTimeUseCase = buildRegisteredTimeUseCase(
-                getTimeRepository()
-        );
-
-        return registeredTimeUseCase.execute(
-                getProject(),
-                GetProjectTimeSince.DAY
-        );
-    }
-
-    private TimeRepository getTimeRepository() {
-        if (isNull(repository)) {
-            // TODO: Implement proper dependency injection.
-            // Adding a `null`-check to the application instance assignment is causing the
-            // `ReloadNotificationService`-test to fail due to invalid thread for context.
-            repository = new TimeResolverRepository(getContext().getContentResolver());
-        }
-
-        return repository;
-    }
-
-    private static GetProjectTimeSince buildRegisteredTimeUseCase(TimeRepository repository) {
-        return new GetProjectTimeSince(repository);
-    }
-
-    private long includeActiveTime(long registeredTime) throws DomainException {
-        Optional<Time> value = getActiveTimeForProject();
-        if (value.isPresent()) {
-            Time activeTime = value.get();
-            return registeredTime + activeTime.getInterval();
-        }
-
-        return registeredTime;
-    }
-
-    private Optional<Time> getActiveTimeForProject() throws DomainException {
-        return getTimeRepository()
-                .getActiveTimeForProject(getProject().getId());
-    }
-
     @Override
     @DrawableRes
     protected int getSmallIcon() {
@@ -14,16 +14,19 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
-package me.raatiniemi.worker.presentation.model;
+package me.raatiniemi.worker.util;
 
-public class OngoingNotificationActionEvent {
-    private final long projectId;
-
-    public OngoingNotificationActionEvent(long projectId) {
-        this.projectId = projectId;
-    }
-
-    public long getProjectId() {
-        return projectId;
-    }
+/**
+ * Represents an operation that accepts one argument and returns no result.
+ *
+ * @param <T> The operation argument.
+ */
+@FunctionalInterface
+public interface Consumer<T> {
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param value Value to operate on.
+     */
+    void accept(T value);
 }
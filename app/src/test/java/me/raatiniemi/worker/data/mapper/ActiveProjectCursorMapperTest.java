@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.mapper;
+
+import android.database.Cursor;
+import android.provider.BaseColumns;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class ActiveProjectCursorMapperTest {
+    private final ActiveProjectCursorMapper mapper = new ActiveProjectCursorMapper();
+
+    private static Cursor createCursor(long id, String name, long timeId, long start) {
+        Cursor cursor = mock(Cursor.class);
+
+        when(cursor.getColumnIndexOrThrow(BaseColumns._ID)).thenReturn(0);
+        when(cursor.getColumnIndexOrThrow(ProjectColumns.NAME)).thenReturn(1);
+        when(cursor.getColumnIndexOrThrow(ProviderContract.Project.TIME_ID)).thenReturn(2);
+        when(cursor.getColumnIndexOrThrow(TimeColumns.PROJECT_ID)).thenReturn(3);
+        when(cursor.getColumnIndexOrThrow(TimeColumns.START)).thenReturn(4);
+        when(cursor.getColumnIndexOrThrow(TimeColumns.REGISTERED)).thenReturn(5);
+
+        when(cursor.getLong(0)).thenReturn(id);
+        when(cursor.getString(1)).thenReturn(name);
+        when(cursor.getLong(2)).thenReturn(timeId);
+        when(cursor.getLong(3)).thenReturn(id);
+        when(cursor.getLong(4)).thenReturn(start);
+        when(cursor.getLong(5)).thenReturn(0L);
+
+        return cursor;
+    }
+
+    @Test
+    public void transform() throws DomainException {
+        Cursor cursor = createCursor(1L, "Name", 2L, 3L);
+
+        Project project = mapper.transform(cursor);
+
+        assertEquals(Long.valueOf(1L), project.getId());
+        assertEquals("Name", project.getName());
+        assertTrue(project.isActive());
+
+        Time time = project.getRegisteredTime().get(0);
+        assertEquals(Long.valueOf(2L), time.getId());
+        assertEquals(1L, time.getProjectId());
+        assertEquals(3L, time.getStartInMilliseconds());
+    }
+}
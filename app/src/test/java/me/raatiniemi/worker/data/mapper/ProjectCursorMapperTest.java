@@ -33,6 +33,8 @@ import me.raatiniemi.worker.domain.model.Project;
 
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(Parameterized.class)
@@ -89,4 +91,17 @@ public class ProjectCursorMapperTest {
         assertEquals(expected.getId(), actual.getId());
         assertEquals(expected.getName(), actual.getName());
     }
+
+    @Test
+    public void bind() throws InvalidProjectNameException {
+        ProjectCursorMapper mapper = new ProjectCursorMapper();
+        ProjectCursorMapper.Bound boundMapper = mapper.bind(cursor);
+        boundMapper.transform(cursor);
+        Project actual = boundMapper.transform(cursor);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        verify(cursor, times(1)).getColumnIndexOrThrow(BaseColumns._ID);
+        verify(cursor, times(1)).getColumnIndexOrThrow(ProjectColumns.NAME);
+    }
 }
@@ -22,6 +22,8 @@ import android.provider.BaseColumns;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Calendar;
+
 import me.raatiniemi.worker.RobolectricTestCase;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
 import me.raatiniemi.worker.domain.model.Time;
@@ -89,4 +91,18 @@ public class TimeContentValuesMapperTest extends RobolectricTestCase {
         assertEquals(expected.get(TimeColumns.STOP), contentValues.get(TimeColumns.STOP));
         assertEquals(expected.get(TimeColumns.REGISTERED), contentValues.get(TimeColumns.REGISTERED));
     }
+
+    @Test
+    public void transform_withLocalDay() {
+        // The day should be based on the local time zone, i.e. late in the
+        // evening should still be the same day regardless of the UTC offset.
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2017, Calendar.JANUARY, 1, 23, 30, 0);
+        Time time = TimeFactory.builder(1L)
+                .startInMilliseconds(calendar.getTimeInMillis())
+                .build();
+        ContentValues contentValues = mapper.transform(time);
+
+        assertEquals(Long.valueOf(20170101L), contentValues.getAsLong(TimeColumns.DAY));
+    }
 }
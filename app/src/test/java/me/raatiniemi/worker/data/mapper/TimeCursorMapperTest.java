@@ -35,6 +35,8 @@ import me.raatiniemi.worker.factory.TimeFactory;
 import static junit.framework.Assert.assertEquals;
 import static me.raatiniemi.worker.util.NullUtil.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(Parameterized.class)
@@ -122,4 +124,20 @@ public class TimeCursorMapperTest {
         assertEquals(expected.getStopInMilliseconds(), actual.getStopInMilliseconds());
         assertEquals(expected.isRegistered(), actual.isRegistered());
     }
+
+    @Test
+    public void bind() throws ClockOutBeforeClockInException {
+        TimeCursorMapper mapper = new TimeCursorMapper();
+        TimeCursorMapper.Bound boundMapper = mapper.bind(cursor);
+        boundMapper.transform(cursor);
+        Time actual = boundMapper.transform(cursor);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getProjectId(), actual.getProjectId());
+        assertEquals(expected.getStartInMilliseconds(), actual.getStartInMilliseconds());
+        assertEquals(expected.getStopInMilliseconds(), actual.getStopInMilliseconds());
+        assertEquals(expected.isRegistered(), actual.isRegistered());
+        verify(cursor, times(1)).getColumnIndexOrThrow(BaseColumns._ID);
+        verify(cursor, times(1)).getColumnIndexOrThrow(TimeColumns.STOP);
+    }
 }
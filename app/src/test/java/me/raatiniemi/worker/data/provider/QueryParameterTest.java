@@ -20,6 +20,8 @@ import android.net.Uri;
 
 import org.junit.Test;
 
+import java.util.Date;
+
 import me.raatiniemi.worker.RobolectricTestCase;
 import me.raatiniemi.worker.domain.repository.PageRequest;
 import me.raatiniemi.worker.util.Optional;
@@ -27,6 +29,8 @@ import me.raatiniemi.worker.util.Optional;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.assertNull;
+import static me.raatiniemi.worker.data.provider.QueryParameter.BEFORE;
 import static me.raatiniemi.worker.data.provider.QueryParameter.LIMIT;
 import static me.raatiniemi.worker.data.provider.QueryParameter.OFFSET;
 
@@ -50,6 +54,19 @@ public class QueryParameterTest extends RobolectricTestCase {
 
         assertEquals("20", uri.getQueryParameter(OFFSET));
         assertEquals("10", uri.getQueryParameter(LIMIT));
+        assertNull(uri.getQueryParameter(BEFORE));
+    }
+
+    @Test
+    public void appendPageRequest_withBefore() {
+        Uri uri = QueryParameter.appendPageRequest(
+                Uri.parse("/relative-path"),
+                PageRequest.withBefore(new Date(1234567890L))
+        );
+
+        assertEquals("0", uri.getQueryParameter(OFFSET));
+        assertEquals("10", uri.getQueryParameter(LIMIT));
+        assertEquals("1234567890", uri.getQueryParameter(BEFORE));
     }
 
     @Test
@@ -86,4 +103,14 @@ public class QueryParameterTest extends RobolectricTestCase {
         assertTrue(value.isPresent());
         assertEquals(value.get(), pageRequest);
     }
+
+    @Test
+    public void extractPageRequestFromUri_withBefore() {
+        PageRequest pageRequest = PageRequest.withBefore(new Date(1234567890L));
+        Uri uri = QueryParameter.appendPageRequest(Uri.parse("/uri"), pageRequest);
+        Optional<PageRequest> value = QueryParameter.extractPageRequestFromUri(uri);
+
+        assertTrue(value.isPresent());
+        assertEquals(value.get(), pageRequest);
+    }
 }
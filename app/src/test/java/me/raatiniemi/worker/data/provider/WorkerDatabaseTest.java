@@ -16,25 +16,128 @@
 
 package me.raatiniemi.worker.data.provider;
 
+import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.provider.BaseColumns;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.WorkerApplication;
+import me.raatiniemi.worker.data.provider.ProviderContract.DailySummaryColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Indexes;
+import me.raatiniemi.worker.data.provider.ProviderContract.ProjectBalanceColumns;
 import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
 import me.raatiniemi.worker.data.provider.ProviderContract.Tables;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.Triggers;
+import me.raatiniemi.worker.data.util.DayKey;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
 import static me.raatiniemi.worker.util.NullUtil.nonNull;
 import static org.mockito.Mockito.mock;
 
 public class WorkerDatabaseTest extends RobolectricTestCase {
+    private static final long HOUR = 3600000L;
+    // 2017-01-01 12:00:00 and 2017-01-02 12:00:00 in UTC, i.e. the same
+    // local day for most of the time zones.
+    private static final long JANUARY_FIRST = 1483272000000L;
+    private static final long JANUARY_SECOND = JANUARY_FIRST + 24 * HOUR;
+
     private SQLiteDatabase database;
 
+    private boolean indexExists(String name) {
+        Cursor cursor = database.rawQuery(
+                "SELECT name FROM sqlite_master WHERE type = 'index' AND name = ?",
+                new String[]{name}
+        );
+        try {
+            return cursor.moveToFirst();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static Future<Long> countProjectsOnAnotherThread(
+            ExecutorService executor,
+            WorkerDatabase helper
+    ) {
+        return executor.submit(
+                () -> DatabaseUtils.queryNumEntries(helper.getReadableDatabase(), Tables.PROJECT)
+        );
+    }
+
+    private static void insertProject(SQLiteDatabase db) {
+        ContentValues values = new ContentValues();
+        values.put(ProjectColumns.NAME, "Project name");
+
+        db.insertOrThrow(Tables.PROJECT, null, values);
+    }
+
+    private long insertTime(long projectId, long start, long stop, boolean registered) {
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.PROJECT_ID, projectId);
+        values.put(TimeColumns.START, start);
+        values.put(TimeColumns.STOP, stop);
+        values.put(TimeColumns.REGISTERED, registered ? 1L : 0L);
+        values.put(TimeColumns.DAY, DayKey.fromMilliseconds(start));
+
+        return database.insertOrThrow(Tables.TIME, null, values);
+    }
+
+    private long[] getDailySummary(long projectId, long day) {
+        Cursor cursor = database.query(
+                Tables.DAILY_SUMMARY,
+                new String[]{
+                        DailySummaryColumns.TOTAL,
+                        DailySummaryColumns.REGISTERED,
+                        DailySummaryColumns.ENTRY_COUNT
+                },
+                DailySummaryColumns.PROJECT_ID + " = ? AND " + DailySummaryColumns.DAY + " = ?",
+                new String[]{String.valueOf(projectId), String.valueOf(day)},
+                null,
+                null,
+                null
+        );
+        try {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+
+            return new long[]{cursor.getLong(0), cursor.getLong(1), cursor.getLong(2)};
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private long getProjectBalance(long projectId) {
+        return DatabaseUtils.longForQuery(
+                database,
+                "SELECT " + ProjectBalanceColumns.TOTAL + " - " + ProjectBalanceColumns.DAY_COUNT + " * 60000 * "
+                        + "(SELECT " + ProjectColumns.DAILY_TARGET + " FROM " + Tables.PROJECT + " WHERE "
+                        + BaseColumns._ID + " = ?) FROM " + Tables.PROJECT_BALANCE + " WHERE "
+                        + ProjectBalanceColumns.PROJECT_ID + " = ?",
+                new String[]{String.valueOf(projectId), String.valueOf(projectId)}
+        );
+    }
+
     @Before
     public void setUp() {
         // Create an in-memory database used for running unit tests.
@@ -52,6 +155,8 @@ public class WorkerDatabaseTest extends RobolectricTestCase {
             database.close();
         }
         database = null;
+
+        RuntimeEnvironment.application.deleteDatabase(WorkerApplication.DATABASE_NAME);
     }
 
     @Test
@@ -62,6 +167,99 @@ public class WorkerDatabaseTest extends RobolectricTestCase {
         helper.onCreate(database);
     }
 
+    @Test
+    public void onCreate_createIndexes() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+
+        helper.onCreate(database);
+
+        assertTrue(indexExists(Indexes.TIME_PROJECT_START));
+        assertTrue(indexExists(Indexes.TIME_STOP_PROJECT));
+        assertTrue(indexExists(Indexes.TIME_PROJECT_DAY));
+    }
+
+    @Test
+    public void onCreate_dailySummaryWithInsert() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+
+        insertTime(1L, JANUARY_FIRST, JANUARY_FIRST + HOUR, false);
+        insertTime(1L, JANUARY_FIRST + HOUR, JANUARY_FIRST + 3 * HOUR, true);
+        insertTime(1L, JANUARY_FIRST + 4 * HOUR, 0L, false);
+        insertTime(2L, JANUARY_SECOND, JANUARY_SECOND + HOUR, false);
+
+        assertTrue(Arrays.equals(new long[]{3 * HOUR, 2 * HOUR, 3}, getDailySummary(1L, 20170101L)));
+        assertTrue(Arrays.equals(new long[]{HOUR, 0, 1}, getDailySummary(2L, 20170102L)));
+        assertNull(getDailySummary(1L, 20170102L));
+    }
+
+    @Test
+    public void onCreate_dailySummaryWithUpdate() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        long id = insertTime(1L, JANUARY_FIRST, 0L, false);
+
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.STOP, JANUARY_FIRST + HOUR);
+        values.put(TimeColumns.REGISTERED, 1L);
+        database.update(Tables.TIME, values, BaseColumns._ID + " = ?", new String[]{String.valueOf(id)});
+
+        assertTrue(Arrays.equals(new long[]{HOUR, HOUR, 1}, getDailySummary(1L, 20170101L)));
+    }
+
+    @Test
+    public void onCreate_dailySummaryWithUpdateToAnotherDay() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        long id = insertTime(1L, JANUARY_FIRST, JANUARY_FIRST + HOUR, false);
+
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.START, JANUARY_SECOND);
+        values.put(TimeColumns.STOP, JANUARY_SECOND + HOUR);
+        values.put(TimeColumns.DAY, DayKey.fromMilliseconds(JANUARY_SECOND));
+        database.update(Tables.TIME, values, BaseColumns._ID + " = ?", new String[]{String.valueOf(id)});
+
+        assertNull(getDailySummary(1L, 20170101L));
+        assertTrue(Arrays.equals(new long[]{HOUR, 0, 1}, getDailySummary(1L, 20170102L)));
+    }
+
+    @Test
+    public void onCreate_dailySummaryWithDelete() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        long id = insertTime(1L, JANUARY_FIRST, JANUARY_FIRST + HOUR, false);
+        insertTime(1L, JANUARY_FIRST + HOUR, JANUARY_FIRST + 2 * HOUR, false);
+
+        database.delete(Tables.TIME, BaseColumns._ID + " = ?", new String[]{String.valueOf(id)});
+        assertTrue(Arrays.equals(new long[]{HOUR, 0, 1}, getDailySummary(1L, 20170101L)));
+
+        database.delete(Tables.TIME, null, null);
+        assertNull(getDailySummary(1L, 20170101L));
+    }
+
+    @Test
+    public void onCreate_projectBalanceWithDailySummary() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        insertProject(database);
+
+        long id = insertTime(1L, JANUARY_FIRST, JANUARY_FIRST + HOUR, false);
+        insertTime(1L, JANUARY_SECOND, JANUARY_SECOND + 9 * HOUR, false);
+        assertEquals(10 * HOUR - 2 * 8 * HOUR, getProjectBalance(1L));
+
+        database.delete(Tables.TIME, BaseColumns._ID + " = ?", new String[]{String.valueOf(id)});
+        assertEquals(HOUR, getProjectBalance(1L));
+
+        database.delete(Tables.TIME, null, null);
+        assertEquals(0L, DatabaseUtils.queryNumEntries(database, Tables.PROJECT_BALANCE));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void onUpgrade_oldVersionIsLessThan1() {
         Context context = mock(Context.class);
@@ -97,6 +295,90 @@ public class WorkerDatabaseTest extends RobolectricTestCase {
         helper.onUpgrade(database, 1, WorkerDatabase.DATABASE_VERSION);
     }
 
+    @Test
+    public void onUpgrade_createIndexes() {
+        Context context = mock(Context.class);
+        WorkerBaseDatabase helper = new WorkerBaseDatabase(context);
+        helper.onCreate(database);
+
+        helper.onUpgrade(database, 2, WorkerDatabase.DATABASE_VERSION);
+
+        assertTrue(indexExists(Indexes.TIME_PROJECT_START));
+        assertTrue(indexExists(Indexes.TIME_STOP_PROJECT));
+        assertTrue(indexExists(Indexes.TIME_PROJECT_DAY));
+    }
+
+    @Test
+    public void onUpgrade_replaceActiveTimeIndex() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        database.execSQL("DROP INDEX " + Indexes.TIME_STOP_PROJECT);
+        database.execSQL("CREATE INDEX time_project_id_stop ON " + Tables.TIME +
+                " (" + TimeColumns.PROJECT_ID + ", " + TimeColumns.STOP + ")");
+
+        helper.onUpgrade(database, 5, WorkerDatabase.DATABASE_VERSION);
+
+        assertFalse(indexExists("time_project_id_stop"));
+        assertTrue(indexExists(Indexes.TIME_STOP_PROJECT));
+    }
+
+    @Test
+    public void onUpgrade_rebuildDailySummary() {
+        Context context = mock(Context.class);
+        WorkerBaseDatabase helper = new WorkerBaseDatabase(context);
+        helper.onCreate(database);
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.PROJECT_ID, 1L);
+        values.put(TimeColumns.START, JANUARY_FIRST);
+        values.put(TimeColumns.STOP, JANUARY_FIRST + HOUR);
+        database.insertOrThrow(Tables.TIME, null, values);
+        database.insertOrThrow(Tables.TIME, null, values);
+
+        helper.onUpgrade(database, 1, WorkerDatabase.DATABASE_VERSION);
+
+        assertTrue(Arrays.equals(new long[]{2 * HOUR, 0, 2}, getDailySummary(1L, 20170101L)));
+    }
+
+    @Test
+    public void onUpgrade_rebuildProjectBalanceWithoutDailySummary() {
+        Context context = mock(Context.class);
+        WorkerDatabase helper = new WorkerDatabase(context);
+        helper.onCreate(database);
+        insertProject(database);
+        insertTime(1L, JANUARY_FIRST, JANUARY_FIRST + HOUR, false);
+        database.execSQL("DROP TRIGGER " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_INSERT);
+        database.execSQL("DROP TRIGGER " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_UPDATE);
+        database.execSQL("DROP TRIGGER " + Triggers.DAILY_SUMMARY_PROJECT_BALANCE_DELETE);
+        database.execSQL("DROP TABLE " + Tables.PROJECT_BALANCE);
+        // Modify the summary to verify that it is not rebuilt from the time.
+        database.execSQL("UPDATE " + Tables.DAILY_SUMMARY + " SET " + DailySummaryColumns.TOTAL + " = " + 2 * HOUR);
+
+        helper.onUpgrade(database, 6, WorkerDatabase.DATABASE_VERSION);
+
+        assertTrue(Arrays.equals(new long[]{2 * HOUR, 0, 1}, getDailySummary(1L, 20170101L)));
+        assertEquals(2 * HOUR - 8 * HOUR, getProjectBalance(1L));
+    }
+
+    @Test
+    public void onUpgrade_populateDay() {
+        Context context = mock(Context.class);
+        WorkerBaseDatabase helper = new WorkerBaseDatabase(context);
+        helper.onCreate(database);
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.PROJECT_ID, 1L);
+        values.put(TimeColumns.START, JANUARY_FIRST);
+        values.put(TimeColumns.STOP, JANUARY_FIRST + HOUR);
+        database.insertOrThrow(Tables.TIME, null, values);
+
+        helper.onUpgrade(database, 1, WorkerDatabase.DATABASE_VERSION);
+
+        assertEquals(
+                20170101L,
+                DatabaseUtils.longForQuery(database, "SELECT " + TimeColumns.DAY + " FROM " + Tables.TIME, null)
+        );
+    }
+
     @Test
     public void onUpgrade_upgradeAfterDowngrade() {
         Context context = mock(Context.class);
@@ -109,6 +391,83 @@ public class WorkerDatabaseTest extends RobolectricTestCase {
         helper.onUpgrade(database, 1, WorkerDatabase.DATABASE_VERSION);
     }
 
+    @Test
+    public void getWritableDatabase_withWriteAheadLogging() {
+        WorkerDatabase helper = new WorkerDatabase(RuntimeEnvironment.application);
+
+        try {
+            assertTrue(helper.getWritableDatabase().isWriteAheadLoggingEnabled());
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void getWritableDatabase_withoutWriteAheadLogging() {
+        WorkerDatabase helper = new WorkerDatabase(RuntimeEnvironment.application, false);
+
+        try {
+            assertFalse(helper.getWritableDatabase().isWriteAheadLoggingEnabled());
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void getReadableDatabase_readDuringWriteTransaction() throws Exception {
+        WorkerDatabase helper = new WorkerDatabase(RuntimeEnvironment.application);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+        try {
+            insertProject(db);
+
+            // The reader should only see committed data, and should not have
+            // to wait for the transaction to finish.
+            Future<Long> count = countProjectsOnAnotherThread(executor, helper);
+            assertEquals(0L, count.get(5, TimeUnit.SECONDS).longValue());
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        Future<Long> count = countProjectsOnAnotherThread(executor, helper);
+        assertEquals(1L, count.get(5, TimeUnit.SECONDS).longValue());
+
+        executor.shutdown();
+        helper.close();
+    }
+
+    @Test
+    public void getReadableDatabase_readDuringWriteTransactionWithoutWriteAheadLogging()
+            throws Exception {
+        WorkerDatabase helper = new WorkerDatabase(RuntimeEnvironment.application, false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+        Future<Long> count = countProjectsOnAnotherThread(executor, helper);
+        try {
+            insertProject(db);
+
+            // Without write-ahead logging there is only a single connection,
+            // i.e. the reader have to wait for the transaction to finish.
+            count.get(500, TimeUnit.MILLISECONDS);
+            fail("Reader should be blocked by the write transaction");
+        } catch (TimeoutException e) {
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        assertEquals(1L, count.get(5, TimeUnit.SECONDS).longValue());
+
+        executor.shutdown();
+        helper.close();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void onDowngrade_newVersionIsLessThan1() {
         Context context = mock(Context.class);
@@ -19,26 +19,46 @@ package me.raatiniemi.worker.data.provider;
 import android.content.ContentProviderOperation;
 import android.content.ContentValues;
 import android.content.OperationApplicationException;
+import android.database.DatabaseUtils;
+import android.database.MatrixCursor;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
 import android.net.Uri;
 import android.provider.BaseColumns;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowContentResolver;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.util.DayKey;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
 import static me.raatiniemi.worker.data.provider.ProviderContract.Tables.PROJECT;
 import static me.raatiniemi.worker.data.provider.ProviderContract.Tables.TIME;
+import static me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns.DAY;
 import static me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns.PROJECT_ID;
+import static me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns.REGISTERED;
+import static me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns.START;
+import static me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns.STOP;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -60,6 +80,19 @@ public class WorkerProviderTest extends RobolectricTestCase {
         provider.openHelper = helper;
     }
 
+    private static List<Uri> getNotifiedUris() {
+        ShadowContentResolver contentResolver = Shadows.shadowOf(
+                RuntimeEnvironment.application.getContentResolver()
+        );
+
+        List<Uri> uris = new ArrayList<>();
+        for (ShadowContentResolver.NotifiedUri notifiedUri : contentResolver.getNotifiedUris()) {
+            uris.add(notifiedUri.uri);
+        }
+
+        return uris;
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void getType_unknownUri() {
         Uri uri = new Uri.Builder()
@@ -76,6 +109,13 @@ public class WorkerProviderTest extends RobolectricTestCase {
         assertEquals(ProviderContract.Project.STREAM_TYPE, mimeType);
     }
 
+    @Test
+    public void getType_withProjectsActiveUri() {
+        String mimeType = provider.getType(ProviderContract.Project.getActiveUri());
+
+        assertEquals(ProviderContract.Project.STREAM_TYPE, mimeType);
+    }
+
     @Test
     public void getType_withProjectsIdUri() {
         String mimeType = provider.getType(ProviderContract.Project.getItemUri(1));
@@ -97,6 +137,13 @@ public class WorkerProviderTest extends RobolectricTestCase {
         assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
     }
 
+    @Test
+    public void getType_withProjectsTimesheetTimeUri() {
+        String mimeType = provider.getType(ProviderContract.Timesheet.getItemTimesheetTimeUri(1));
+
+        assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
+    }
+
     @Test
     public void getType_withTimeStreamUri() {
         String mimeType = provider.getType(ProviderContract.Time.getStreamUri());
@@ -104,6 +151,41 @@ public class WorkerProviderTest extends RobolectricTestCase {
         assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
     }
 
+    @Test
+    public void getType_withTimeSummaryUri() {
+        String mimeType = provider.getType(ProviderContract.Time.getSummaryUri());
+
+        assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
+    }
+
+    @Test
+    public void getType_withTimeRegisteredUri() {
+        String mimeType = provider.getType(ProviderContract.Time.getRegisteredUri());
+
+        assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
+    }
+
+    @Test
+    public void getType_withTimeActiveUri() {
+        String mimeType = provider.getType(ProviderContract.Time.getActiveUri());
+
+        assertEquals(ProviderContract.Time.STREAM_TYPE, mimeType);
+    }
+
+    @Test
+    public void getType_withProjectsDailySummaryUri() {
+        String mimeType = provider.getType(ProviderContract.DailySummary.getItemDailySummaryUri(1));
+
+        assertEquals(ProviderContract.DailySummary.STREAM_TYPE, mimeType);
+    }
+
+    @Test
+    public void getType_withDailySummaryUri() {
+        String mimeType = provider.getType(ProviderContract.DailySummary.getStreamUri());
+
+        assertEquals(ProviderContract.DailySummary.STREAM_TYPE, mimeType);
+    }
+
     @Test
     public void getType_withTimeItemUri() {
         String mimeType = provider.getType(ProviderContract.Time.getItemUri(1));
@@ -146,6 +228,29 @@ public class WorkerProviderTest extends RobolectricTestCase {
         );
     }
 
+    @Test
+    public void query_activeProjects() {
+        provider.query(
+                ProviderContract.Project.getActiveUri(),
+                ProviderContract.Project.getActiveColumns(),
+                null,
+                null,
+                ProviderContract.Project.ORDER_BY
+        );
+
+        verify(database).query(
+                eq(PROJECT + " INNER JOIN " + TIME + " ON " +
+                        PROJECT + "." + BaseColumns._ID + " = " + TIME + "." + PROJECT_ID),
+                eq(ProviderContract.Project.getActiveColumns()),
+                eq("(" + TIME + "." + STOP + " = 0)"),
+                eq(new String[]{}),
+                eq(null),
+                eq(null),
+                eq(ProviderContract.Project.ORDER_BY),
+                eq(null)
+        );
+    }
+
     @Test
     public void query_project() {
         provider.query(
@@ -212,6 +317,70 @@ public class WorkerProviderTest extends RobolectricTestCase {
         );
     }
 
+    @Test
+    public void query_projectTimesheetTime() {
+        provider.query(
+                ProviderContract.Timesheet.getItemTimesheetTimeUri(1)
+                        .buildUpon()
+                        .appendQueryParameter(QueryParameter.OFFSET, "10")
+                        .appendQueryParameter(QueryParameter.LIMIT, "5")
+                        .build(),
+                ProviderContract.Timesheet.getTimesheetTimeColumns(),
+                REGISTERED + "=?",
+                new String[]{"0"},
+                ProviderContract.Timesheet.ORDER_BY
+        );
+
+        String days = "SELECT " + ProviderContract.Timesheet.GROUP_BY
+                + " FROM " + TIME
+                + " WHERE (" + PROJECT_ID + "=?) AND (" + REGISTERED + "=?)"
+                + " GROUP BY " + ProviderContract.Timesheet.GROUP_BY
+                + " ORDER BY " + ProviderContract.Timesheet.GROUP_BY + " DESC"
+                + " LIMIT 10,5";
+        verify(database).query(
+                eq(TIME),
+                eq(ProviderContract.Timesheet.getTimesheetTimeColumns()),
+                eq("(" + PROJECT_ID + "=?) AND (" + ProviderContract.Timesheet.GROUP_BY + " IN (" + days + ")) AND (" + REGISTERED + "=?)"),
+                eq(new String[]{"1", "1", "0", "0"}),
+                eq(null),
+                eq(null),
+                eq(ProviderContract.Timesheet.ORDER_BY),
+                eq(null)
+        );
+    }
+
+    @Test
+    public void query_projectTimesheetTimeBeforeDate() {
+        provider.query(
+                ProviderContract.Timesheet.getItemTimesheetTimeUri(1)
+                        .buildUpon()
+                        .appendQueryParameter(QueryParameter.LIMIT, "5")
+                        .appendQueryParameter(QueryParameter.BEFORE, "1234567890")
+                        .build(),
+                ProviderContract.Timesheet.getTimesheetTimeColumns(),
+                "",
+                new String[]{},
+                ProviderContract.Timesheet.ORDER_BY
+        );
+
+        String days = "SELECT " + ProviderContract.Timesheet.GROUP_BY
+                + " FROM " + TIME
+                + " WHERE (" + PROJECT_ID + "=?) AND (" + DAY + "<?)"
+                + " GROUP BY " + ProviderContract.Timesheet.GROUP_BY
+                + " ORDER BY " + ProviderContract.Timesheet.GROUP_BY + " DESC"
+                + " LIMIT 0,5";
+        verify(database).query(
+                eq(TIME),
+                eq(ProviderContract.Timesheet.getTimesheetTimeColumns()),
+                eq("(" + PROJECT_ID + "=?) AND (" + ProviderContract.Timesheet.GROUP_BY + " IN (" + days + "))"),
+                eq(new String[]{"1", "1", String.valueOf(DayKey.fromMilliseconds(1234567890L))}),
+                eq(null),
+                eq(null),
+                eq(ProviderContract.Timesheet.ORDER_BY),
+                eq(null)
+        );
+    }
+
     @Test
     public void query_time() {
         provider.query(
@@ -234,6 +403,117 @@ public class WorkerProviderTest extends RobolectricTestCase {
         );
     }
 
+    @Test
+    public void query_times() {
+        provider.query(
+                ProviderContract.Time.getStreamUri(),
+                ProviderContract.Time.getColumns(),
+                BaseColumns._ID + " IN (?,?)",
+                new String[]{"1", "2"},
+                null
+        );
+
+        verify(database).query(
+                eq(TIME),
+                eq(ProviderContract.Time.getColumns()),
+                eq("(" + BaseColumns._ID + " IN (?,?))"),
+                eq(new String[]{"1", "2"}),
+                eq(null),
+                eq(null),
+                eq(null),
+                eq(null)
+        );
+    }
+
+    @Test
+    public void query_activeTime() {
+        provider.query(
+                ProviderContract.Time.getActiveUri(),
+                ProviderContract.Time.getColumns(),
+                null,
+                null,
+                null
+        );
+
+        verify(database).query(
+                eq(TIME),
+                eq(ProviderContract.Time.getColumns()),
+                eq("(" + STOP + " = 0)"),
+                eq(new String[]{}),
+                eq(null),
+                eq(null),
+                eq(null),
+                eq(null)
+        );
+    }
+
+    @Test
+    public void query_timeSummary() {
+        provider.query(
+                ProviderContract.Time.getSummaryUri(),
+                ProviderContract.Time.getSummaryColumns(),
+                "",
+                new String[]{},
+                ""
+        );
+
+        verify(database).query(
+                eq(TIME),
+                eq(ProviderContract.Time.getSummaryColumns()),
+                eq(""),
+                isA(String[].class),
+                eq(PROJECT_ID),
+                eq(null),
+                eq(""),
+                eq(null)
+        );
+    }
+
+    @Test
+    public void query_dailySummary() {
+        provider.query(
+                ProviderContract.DailySummary.getStreamUri(),
+                ProviderContract.DailySummary.getColumns(),
+                null,
+                null,
+                ProviderContract.DailySummary.ORDER_BY
+        );
+
+        verify(database).query(
+                eq(ProviderContract.Tables.DAILY_SUMMARY),
+                eq(ProviderContract.DailySummary.getColumns()),
+                eq(""),
+                isA(String[].class),
+                eq(null),
+                eq(null),
+                eq(ProviderContract.DailySummary.ORDER_BY),
+                eq(null)
+        );
+    }
+
+    @Test
+    public void query_projectDailySummary() {
+        provider.query(
+                ProviderContract.DailySummary.getItemDailySummaryUri(1),
+                ProviderContract.DailySummary.getColumns(),
+                ProviderContract.DailySummaryColumns.DAY + ">=?",
+                new String[]{"20170101"},
+                ProviderContract.DailySummary.ORDER_BY
+        );
+
+        verify(database).query(
+                eq(ProviderContract.Tables.DAILY_SUMMARY),
+                eq(ProviderContract.DailySummary.getColumns()),
+                eq("(" + ProviderContract.DailySummaryColumns.PROJECT_ID + "=?) AND ("
+                        + ProviderContract.DailySummaryColumns.DAY + ">=?)"),
+                eq(new String[]{"1", "20170101"}),
+                eq(null),
+                eq(null),
+                eq(ProviderContract.DailySummary.ORDER_BY),
+                eq(null)
+        );
+    }
+
     @Test
     public void query_withLimit() {
         provider.query(
@@ -289,9 +569,13 @@ public class WorkerProviderTest extends RobolectricTestCase {
     public void insert_withNoneStreamUris() {
         List<Uri> uris = new ArrayList<>();
         uris.add(ProviderContract.Project.getItemUri(1));
+        uris.add(ProviderContract.Project.getActiveUri());
         uris.add(ProviderContract.Project.getItemTimeUri(1));
         uris.add(ProviderContract.Timesheet.getItemTimesheetUri(1));
+        uris.add(ProviderContract.Timesheet.getItemTimesheetTimeUri(1));
         uris.add(ProviderContract.Time.getItemUri(1));
+        uris.add(ProviderContract.DailySummary.getStreamUri());
+        uris.add(ProviderContract.DailySummary.getItemDailySummaryUri(1));
         ContentValues values = new ContentValues();
 
         String format = "Non-stream URI \"%s\" did not throw exception";
@@ -328,6 +612,148 @@ public class WorkerProviderTest extends RobolectricTestCase {
         assertEquals(ProviderContract.Time.getItemUri(1), uri);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void bulkInsert_withNoneStreamUri() {
+        provider.bulkInsert(
+                ProviderContract.Time.getItemUri(1),
+                new ContentValues[]{new ContentValues()}
+        );
+    }
+
+    @Test
+    public void bulkInsert_withProjectsStreamUri() {
+        SQLiteStatement statement = mock(SQLiteStatement.class);
+        when(database.compileStatement("INSERT OR ABORT INTO " + PROJECT + " (name) VALUES (?)"))
+                .thenReturn(statement);
+        ContentValues first = new ContentValues();
+        first.put(ProviderContract.ProjectColumns.NAME, "Project #1");
+        ContentValues second = new ContentValues();
+        second.put(ProviderContract.ProjectColumns.NAME, "Project #2");
+
+        int numberOfRows = provider.bulkInsert(
+                ProviderContract.Project.getStreamUri(),
+                new ContentValues[]{first, second}
+        );
+
+        assertEquals(2, numberOfRows);
+        verify(database).compileStatement(isA(String.class));
+        verify(statement).bindString(1, "Project #1");
+        verify(statement).bindString(1, "Project #2");
+        verify(statement, times(2)).executeInsert();
+        verify(statement).close();
+        verify(database).setTransactionSuccessful();
+        verify(database).endTransaction();
+    }
+
+    @Test
+    public void bulkInsert_withTimeStreamUri() {
+        SQLiteStatement statement = mock(SQLiteStatement.class);
+        when(database.compileStatement(isA(String.class)))
+                .thenReturn(statement);
+        ContentValues values = new ContentValues();
+        values.put(PROJECT_ID, 1L);
+        values.put(START, 1L);
+
+        int numberOfRows = provider.bulkInsert(
+                ProviderContract.Time.getStreamUri(),
+                new ContentValues[]{values, values, values}
+        );
+
+        assertEquals(3, numberOfRows);
+        verify(database).beginTransactionNonExclusive();
+        verify(database).compileStatement(isA(String.class));
+        verify(statement, times(3)).executeInsert();
+        verify(database).setTransactionSuccessful();
+        verify(database).endTransaction();
+    }
+
+    @Test
+    public void bulkInsert_withFailingRow() {
+        SQLiteStatement statement = mock(SQLiteStatement.class);
+        when(database.compileStatement(isA(String.class)))
+                .thenReturn(statement);
+        when(statement.executeInsert())
+                .thenThrow(SQLiteConstraintException.class);
+        ContentValues values = new ContentValues();
+        values.put(PROJECT_ID, 1L);
+
+        try {
+            provider.bulkInsert(
+                    ProviderContract.Time.getStreamUri(),
+                    new ContentValues[]{values}
+            );
+            fail("Failing row did not throw exception");
+        } catch (SQLiteConstraintException e) {
+            verify(database, never()).setTransactionSuccessful();
+            verify(statement).close();
+            verify(database).endTransaction();
+        }
+    }
+
+    @Test
+    public void bulkInsert_withDuplicateProjectName() {
+        WorkerDatabase helper = WorkerDatabase.inMemory(RuntimeEnvironment.application);
+        provider.openHelper = helper;
+        ContentValues first = new ContentValues();
+        first.put(ProviderContract.ProjectColumns.NAME, "Project #1");
+        ContentValues second = new ContentValues();
+        second.put(ProviderContract.ProjectColumns.NAME, "Project #2");
+
+        try {
+            provider.bulkInsert(
+                    ProviderContract.Project.getStreamUri(),
+                    new ContentValues[]{first, second, first}
+            );
+            fail("Duplicate project name did not throw exception");
+        } catch (SQLiteException e) {
+            // Robolectric report the constraint violation as the base
+            // exception, i.e. verify the error code for the constraint
+            // rather than a failure to end the transaction.
+            assertTrue(e.getMessage().endsWith("error code: 19"));
+            SQLiteDatabase db = helper.getReadableDatabase();
+            assertFalse(db.inTransaction());
+            assertEquals(0L, DatabaseUtils.queryNumEntries(db, PROJECT));
+        } finally {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void insert_withTimeWithoutDay() {
+        ContentValues values = new ContentValues();
+        values.put(START, 1234567890L);
+        ContentValues expected = new ContentValues(values);
+        expected.put(DAY, DayKey.fromMilliseconds(1234567890L));
+        when(database.insertOrThrow(eq(TIME), eq(null), eq(expected)))
+                .thenReturn(1L);
+
+        Uri uri = provider.insert(ProviderContract.Time.getStreamUri(), values);
+
+        assertEquals(ProviderContract.Time.getItemUri(1), uri);
+    }
+
+    @Test
+    public void update_timeItemWithoutDay() {
+        ContentValues values = new ContentValues();
+        values.put(START, 1234567890L);
+        ContentValues expected = new ContentValues(values);
+        expected.put(DAY, DayKey.fromMilliseconds(1234567890L));
+
+        provider.update(
+                ProviderContract.Time.getItemUri(1),
+                values,
+                null,
+                null
+        );
+
+        verify(database).update(
+                eq(TIME),
+                eq(expected),
+                eq("(" + BaseColumns._ID + "=?)"),
+                eq(new String[]{"1"})
+        );
+    }
+
     @Test
     public void update_projectItem() {
         ContentValues values = new ContentValues();
@@ -366,6 +792,95 @@ public class WorkerProviderTest extends RobolectricTestCase {
         );
     }
 
+    @Test
+    public void update_timeRegistered() {
+        ContentValues values = new ContentValues();
+        values.put(REGISTERED, 1L);
+        when(database.update(TIME, values, BaseColumns._ID + " IN (?,?)", new String[]{"1", "2"}))
+                .thenReturn(2);
+
+        int numberOfRows = provider.update(
+                ProviderContract.Time.getRegisteredUri(),
+                values,
+                BaseColumns._ID + " IN (?,?)",
+                new String[]{"1", "2"}
+        );
+
+        assertEquals(2, numberOfRows);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void update_timeRegisteredWithOtherValues() {
+        ContentValues values = new ContentValues();
+        values.put(REGISTERED, 1L);
+        values.put(START, 1L);
+
+        provider.update(
+                ProviderContract.Time.getRegisteredUri(),
+                values,
+                null,
+                null
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void delete_timeRegistered() {
+        provider.delete(ProviderContract.Time.getRegisteredUri(), null, null);
+    }
+
+    @Test
+    public void delete_time() {
+        provider.delete(
+                ProviderContract.Time.getStreamUri(),
+                BaseColumns._ID + " IN (?,?)",
+                new String[]{"1", "2"}
+        );
+
+        verify(database).delete(
+                eq(TIME),
+                eq("(" + BaseColumns._ID + " IN (?,?))"),
+                eq(new String[]{"1", "2"})
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void update_dailySummary() {
+        provider.update(
+                ProviderContract.DailySummary.getStreamUri(),
+                new ContentValues(),
+                null,
+                null
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void update_activeProjects() {
+        provider.update(
+                ProviderContract.Project.getActiveUri(),
+                new ContentValues(),
+                null,
+                null
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void delete_activeProjects() {
+        provider.delete(
+                ProviderContract.Project.getActiveUri(),
+                null,
+                null
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void delete_projectDailySummary() {
+        provider.delete(
+                ProviderContract.DailySummary.getItemDailySummaryUri(1),
+                null,
+                null
+        );
+    }
+
     @Test
     public void delete_projectItem() {
         provider.delete(
@@ -403,8 +918,134 @@ public class WorkerProviderTest extends RobolectricTestCase {
 
         provider.applyBatch(operations);
 
-        verify(database).beginTransaction();
+        verify(database).beginTransactionNonExclusive();
         verify(database).setTransactionSuccessful();
         verify(database).endTransaction();
     }
+
+    @Test
+    public void insert_withTimeStreamUriNotifyChange() {
+        ContentValues values = new ContentValues();
+        values.put(PROJECT_ID, 2L);
+        when(database.insertOrThrow(eq(TIME), eq(null), isA(ContentValues.class)))
+                .thenReturn(1L);
+
+        provider.insert(ProviderContract.Time.getStreamUri(), values);
+
+        List<Uri> expected = new ArrayList<>();
+        expected.add(ProviderContract.Time.getItemUri(1));
+        expected.add(ProviderContract.Project.getItemTimeUri(2));
+        assertEquals(expected, getNotifiedUris());
+    }
+
+    @Test
+    public void update_timeItemNotifyChange() {
+        ContentValues values = new ContentValues();
+        values.put(STOP, 2L);
+        when(database.update(eq(TIME), isA(ContentValues.class), isA(String.class), isA(String[].class)))
+                .thenReturn(1);
+
+        provider.update(ProviderContract.Time.getItemUri(1), values, null, null);
+
+        assertEquals(
+                Collections.singletonList(ProviderContract.Time.getItemUri(1)),
+                getNotifiedUris()
+        );
+    }
+
+    @Test
+    public void update_timeItemWithoutChangedRows() {
+        provider.update(ProviderContract.Time.getItemUri(1), new ContentValues(), null, null);
+
+        assertTrue(getNotifiedUris().isEmpty());
+    }
+
+    @Test
+    public void delete_timeItemNotifyChange() {
+        when(database.delete(eq(TIME), isA(String.class), isA(String[].class)))
+                .thenReturn(1);
+
+        provider.delete(ProviderContract.Time.getItemUri(1), null, null);
+
+        assertEquals(
+                Collections.singletonList(ProviderContract.Time.getItemUri(1)),
+                getNotifiedUris()
+        );
+    }
+
+    @Test
+    public void delete_timeNotifyProjectTime() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{PROJECT_ID});
+        cursor.addRow(new Object[]{2L});
+        cursor.addRow(new Object[]{3L});
+        when(database.query(eq(true), eq(TIME), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(cursor);
+        when(database.delete(eq(TIME), isA(String.class), isA(String[].class)))
+                .thenReturn(2);
+
+        provider.delete(
+                ProviderContract.Time.getStreamUri(),
+                BaseColumns._ID + " IN (?,?)",
+                new String[]{"1", "4"}
+        );
+
+        List<Uri> expected = new ArrayList<>();
+        expected.add(ProviderContract.Time.getStreamUri());
+        expected.add(ProviderContract.Project.getItemTimeUri(2));
+        expected.add(ProviderContract.Project.getItemTimeUri(3));
+        assertEquals(expected, getNotifiedUris());
+    }
+
+    @Test
+    public void update_timeRegisteredNotifyProjectTime() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{PROJECT_ID});
+        cursor.addRow(new Object[]{2L});
+        when(database.query(eq(true), eq(TIME), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(cursor);
+        when(database.update(eq(TIME), isA(ContentValues.class), isA(String.class), isA(String[].class)))
+                .thenReturn(1);
+        ContentValues values = new ContentValues();
+        values.put(REGISTERED, 1L);
+
+        provider.update(
+                ProviderContract.Time.getRegisteredUri(),
+                values,
+                BaseColumns._ID + " IN (?)",
+                new String[]{"1"}
+        );
+
+        List<Uri> expected = new ArrayList<>();
+        expected.add(ProviderContract.Time.getRegisteredUri());
+        expected.add(ProviderContract.Project.getItemTimeUri(2));
+        assertEquals(expected, getNotifiedUris());
+    }
+
+    @Test
+    public void applyBatch_notifyChangeAfterTransaction()
+            throws OperationApplicationException {
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        operations.add(
+                ContentProviderOperation.newDelete(ProviderContract.Time.getItemUri(1))
+                        .build()
+        );
+        operations.add(
+                ContentProviderOperation.newDelete(ProviderContract.Time.getItemUri(1))
+                        .build()
+        );
+        when(database.delete(eq(TIME), isA(String.class), isA(String[].class)))
+                .thenReturn(1);
+        doAnswer(invocation -> {
+            assertTrue(getNotifiedUris().isEmpty());
+            return null;
+        }).when(database).endTransaction();
+
+        provider.applyBatch(operations);
+
+        // Each of the deletes is nested within the transaction for the batch.
+        verify(database, times(3)).endTransaction();
+        assertEquals(
+                Collections.singletonList(ProviderContract.Time.getItemUri(1)),
+                getNotifiedUris()
+        );
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.factory.TimeFactory;
+import me.raatiniemi.worker.util.Optional;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedProjectRepositoryTest extends RobolectricTestCase {
+    private ContentResolver contentResolver;
+    private ProjectRepository projectRepository;
+    private CachedProjectRepository repository;
+
+    private static Project buildProject(Long id, String name) throws InvalidProjectNameException {
+        return Project.builder(name)
+                .id(id)
+                .build();
+    }
+
+    private static List<Project> buildProjects() throws InvalidProjectNameException {
+        List<Project> projects = new ArrayList<>();
+        projects.add(buildProject(1L, "Project #1"));
+        projects.add(buildProject(2L, "Project #2"));
+
+        return projects;
+    }
+
+    @Before
+    public void setUp() {
+        contentResolver = RuntimeEnvironment.application.getContentResolver();
+        projectRepository = mock(ProjectRepository.class);
+        repository = new CachedProjectRepository(contentResolver, projectRepository);
+    }
+
+    @Test
+    public void get_withCachedProjects() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        List<Project> actual = repository.get();
+
+        assertEquals(buildProjects(), actual);
+        verify(projectRepository, times(1)).get();
+        assertEquals(1, repository.getHitCount());
+        assertEquals(1, repository.getMissCount());
+    }
+
+    @Test
+    public void get_withModifiedProject() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        List<Project> projects = repository.get();
+        projects.get(0).addTime(
+                Collections.singletonList(
+                        TimeFactory.builder(1L)
+                                .startInMilliseconds(1L)
+                                .build()
+                )
+        );
+        List<Project> actual = repository.get();
+
+        assertFalse(actual.get(0).isActive());
+    }
+
+    @Test
+    public void getWithId_withCachedProjects() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        Optional<Project> actual = repository.get(2L);
+
+        assertTrue(actual.isPresent());
+        assertEquals(buildProject(2L, "Project #2"), actual.get());
+        verify(projectRepository, times(0)).get(2L);
+    }
+
+    @Test
+    public void getWithId_withCachedProject() throws DomainException {
+        when(projectRepository.get(1L))
+                .thenReturn(Optional.of(buildProject(1L, "Project #1")));
+
+        repository.get(1L);
+        Optional<Project> actual = repository.get(1L);
+
+        assertTrue(actual.isPresent());
+        verify(projectRepository, times(1)).get(1L);
+        assertEquals(1, repository.getHitCount());
+        assertEquals(1, repository.getMissCount());
+    }
+
+    @Test
+    public void findProjectByName_withCachedProjects() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        Optional<Project> actual = repository.findProjectByName("project #2");
+
+        assertTrue(actual.isPresent());
+        assertEquals(buildProject(2L, "Project #2"), actual.get());
+        verify(projectRepository, times(0)).findProjectByName("project #2");
+    }
+
+    @Test
+    public void findProjectByName_withoutCachedProjects() throws DomainException {
+        when(projectRepository.findProjectByName("Project #1"))
+                .thenReturn(Optional.empty());
+
+        repository.findProjectByName("Project #1");
+
+        verify(projectRepository).findProjectByName("Project #1");
+        assertEquals(1, repository.getMissCount());
+    }
+
+    @Test
+    public void add_invalidateCache() throws DomainException {
+        Project project = buildProject(null, "Project #3");
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        repository.add(project);
+        repository.get();
+
+        verify(projectRepository).add(project);
+        verify(projectRepository, times(2)).get();
+    }
+
+    @Test
+    public void remove_invalidateCache() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        repository.remove(1L);
+        repository.get();
+
+        verify(projectRepository).remove(1L);
+        verify(projectRepository, times(2)).get();
+    }
+
+    @Test
+    public void get_withProjectChangeNotification() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.get();
+        contentResolver.notifyChange(ProviderContract.Project.getStreamUri(), null);
+        repository.get();
+
+        verify(projectRepository, times(2)).get();
+    }
+
+    @Test
+    public void close_withProjectChangeNotification() throws DomainException {
+        when(projectRepository.get())
+                .thenReturn(buildProjects());
+
+        repository.close();
+        repository.get();
+        contentResolver.notifyChange(ProviderContract.Project.getStreamUri(), null);
+        repository.get();
+
+        verify(projectRepository, times(1)).get();
+    }
+
+    @Test
+    public void getActive() throws DomainException {
+        repository.getActive();
+        repository.getActive();
+
+        verify(projectRepository, times(2)).getActive();
+    }
+}
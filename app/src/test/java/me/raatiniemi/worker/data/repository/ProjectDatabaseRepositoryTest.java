@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowContentResolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.factory.TimeFactory;
+import me.raatiniemi.worker.util.Optional;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class ProjectDatabaseRepositoryTest extends RobolectricTestCase {
+    private WorkerDatabase database;
+    private ProjectDatabaseRepository repository;
+    private TimeRepository timeRepository;
+
+    private static List<Uri> getNotifiedUris() {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+
+        List<Uri> uris = new ArrayList<>();
+        for (ShadowContentResolver.NotifiedUri notifiedUri : Shadows.shadowOf(contentResolver).getNotifiedUris()) {
+            uris.add(notifiedUri.uri);
+        }
+        return uris;
+    }
+
+    @Before
+    public void setUp() {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+
+        database = WorkerDatabase.inMemory(RuntimeEnvironment.application);
+        repository = new ProjectDatabaseRepository(contentResolver, database);
+        timeRepository = new TimeDatabaseRepository(contentResolver, database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void get_withoutProjects() throws DomainException {
+        assertTrue(repository.get().isEmpty());
+    }
+
+    @Test
+    public void add() throws DomainException {
+        Optional<Project> value = repository.add(Project.builder("Project #1").build());
+
+        assertTrue(value.isPresent());
+        Project project = value.get();
+        assertEquals(Optional.of(project), repository.get(project.getId()));
+        assertEquals(Collections.singletonList(project), repository.get());
+        assertTrue(getNotifiedUris().contains(ProviderContract.Project.getItemUri(project.getId())));
+    }
+
+    @Test
+    public void get_sortedById() throws DomainException {
+        Project first = repository.add(Project.builder("Project #2").build()).get();
+        Project second = repository.add(Project.builder("Project #1").build()).get();
+
+        List<Project> expected = new ArrayList<>();
+        expected.add(first);
+        expected.add(second);
+        assertEquals(expected, repository.get());
+    }
+
+    @Test
+    public void findProjectByName_ignoreCase() throws DomainException {
+        Project project = repository.add(Project.builder("Project name").build()).get();
+
+        assertEquals(Optional.of(project), repository.findProjectByName("project NAME"));
+    }
+
+    @Test
+    public void findProjectByName_withoutProject() throws DomainException {
+        assertFalse(repository.findProjectByName("Project name").isPresent());
+    }
+
+    @Test
+    public void getActive() throws DomainException {
+        Project project = repository.add(Project.builder("Project #1").build()).get();
+        repository.add(Project.builder("Project #2").build());
+        timeRepository.add(
+                TimeFactory.builder(project.getId())
+                        .startInMilliseconds(1L)
+                        .build()
+        );
+
+        List<Project> actual = repository.getActive();
+
+        assertEquals(1, actual.size());
+        assertEquals(project.getId(), actual.get(0).getId());
+    }
+
+    @Test
+    public void updateDailyTarget() throws DomainException {
+        Project project = repository.add(Project.builder("Project #1").build()).get();
+
+        Optional<Project> actual = repository.updateDailyTarget(project.getId(), 450L);
+
+        assertEquals(450L, actual.get().getDailyTargetInMinutes());
+        assertEquals(actual, repository.get(project.getId()));
+        assertTrue(getNotifiedUris().contains(ProviderContract.Project.getItemUri(project.getId())));
+    }
+
+    @Test
+    public void updateDailyTarget_withoutProject() throws DomainException {
+        assertFalse(repository.updateDailyTarget(1L, 450L).isPresent());
+    }
+
+    @Test
+    public void remove() throws DomainException {
+        Project project = repository.add(Project.builder("Project #1").build()).get();
+        timeRepository.add(
+                TimeFactory.builder(project.getId())
+                        .startInMilliseconds(1L)
+                        .stopInMilliseconds(2L)
+                        .build()
+        );
+
+        repository.remove(project.getId());
+
+        assertFalse(repository.get(project.getId()).isPresent());
+        assertTrue(timeRepository.getActiveTime().isEmpty());
+        assertTrue(getNotifiedUris().contains(ProviderContract.Project.getItemTimeUri(project.getId())));
+    }
+}
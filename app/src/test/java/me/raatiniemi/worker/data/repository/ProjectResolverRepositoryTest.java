@@ -18,6 +18,7 @@ package me.raatiniemi.worker.data.repository;
 
 import android.content.ContentResolver;
 import android.database.Cursor;
+import android.provider.BaseColumns;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +30,8 @@ import me.raatiniemi.worker.RobolectricTestCase;
 import me.raatiniemi.worker.data.mapper.ProjectContentValuesMapper;
 import me.raatiniemi.worker.data.provider.ProviderContract;
 import me.raatiniemi.worker.data.provider.ProviderContract.ProjectColumns;
+import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
+import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.util.Optional;
@@ -49,7 +52,7 @@ public class ProjectResolverRepositoryTest extends RobolectricTestCase {
         return CursorFactory.build(
                 ProviderContract.Project.getColumns(),
                 numberOfItems,
-                number -> Arrays.asList(number, "Name")
+                number -> Arrays.asList(number, "Name", Project.DEFAULT_DAILY_TARGET_IN_MINUTES)
         );
     }
 
@@ -188,6 +191,57 @@ public class ProjectResolverRepositoryTest extends RobolectricTestCase {
         assertTrue("Failed to close cursor", cursor.isClosed());
     }
 
+    @Test
+    public void getActive_withNullCursor() throws DomainException {
+        when(
+                contentResolver.query(
+                        ProviderContract.Project.getActiveUri(),
+                        ProviderContract.Project.getActiveColumns(),
+                        null,
+                        null,
+                        ProviderContract.Project.ORDER_BY
+                )
+        ).thenReturn(null);
+
+        List<Project> projects = repository.getActive();
+
+        assertTrue(projects.isEmpty());
+    }
+
+    @Test
+    public void getActive_withRows() throws DomainException {
+        Cursor cursor = CursorFactory.build(
+                new String[]{
+                        BaseColumns._ID,
+                        ProjectColumns.NAME,
+                        ProviderContract.Project.TIME_ID,
+                        TimeColumns.PROJECT_ID,
+                        TimeColumns.START,
+                        TimeColumns.STOP,
+                        TimeColumns.REGISTERED
+                },
+                2,
+                number -> Arrays.asList(number, "Name", number + 10, number, 123456789L, 0L, 0L)
+        );
+        when(
+                contentResolver.query(
+                        ProviderContract.Project.getActiveUri(),
+                        ProviderContract.Project.getActiveColumns(),
+                        null,
+                        null,
+                        ProviderContract.Project.ORDER_BY
+                )
+        ).thenReturn(cursor);
+
+        List<Project> projects = repository.getActive();
+
+        assertEquals(2, projects.size());
+        assertTrue(projects.get(0).isActive());
+        assertTrue(projects.get(1).isActive());
+        assertEquals(Long.valueOf(11L), projects.get(0).getRegisteredTime().get(0).getId());
+        verify(cursor).close();
+    }
+
     @Test
     public void get_projectWithNullCursor() throws InvalidProjectNameException {
         when(
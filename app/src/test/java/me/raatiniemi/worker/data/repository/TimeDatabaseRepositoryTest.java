@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowContentResolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimeSeries;
+import me.raatiniemi.worker.factory.TimeFactory;
+import me.raatiniemi.worker.util.Optional;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class TimeDatabaseRepositoryTest extends RobolectricTestCase {
+    private WorkerDatabase database;
+    private TimeDatabaseRepository repository;
+    private long projectId;
+
+    private static List<Uri> getNotifiedUris() {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+
+        List<Uri> uris = new ArrayList<>();
+        for (ShadowContentResolver.NotifiedUri notifiedUri : Shadows.shadowOf(contentResolver).getNotifiedUris()) {
+            uris.add(notifiedUri.uri);
+        }
+        return uris;
+    }
+
+    private Time buildTime(long start, long stop) {
+        return TimeFactory.builder(projectId)
+                .startInMilliseconds(start)
+                .stopInMilliseconds(stop)
+                .build();
+    }
+
+    @Before
+    public void setUp() throws DomainException {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+
+        database = WorkerDatabase.inMemory(RuntimeEnvironment.application);
+        repository = new TimeDatabaseRepository(contentResolver, database);
+
+        ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository(contentResolver, database);
+        projectId = projectRepository.add(Project.builder("Project name").build()).get().getId();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void add() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+
+        assertEquals(Optional.of(time), repository.get(time.getId()));
+        List<Uri> uris = getNotifiedUris();
+        assertTrue(uris.contains(ProviderContract.Time.getItemUri(time.getId())));
+        assertTrue(uris.contains(ProviderContract.Project.getItemTimeUri(projectId)));
+    }
+
+    @Test
+    public void get_withList() throws DomainException {
+        Time first = repository.add(buildTime(1L, 2L)).get();
+        Time second = repository.add(buildTime(3L, 4L)).get();
+        repository.remove(second.getId());
+
+        List<Time> actual = repository.get(Arrays.asList(first.getId(), second.getId()));
+
+        assertEquals(Collections.singletonList(first), actual);
+    }
+
+    @Test
+    public void add_withList() throws DomainException {
+        int numberOfAddedRows = repository.add(Arrays.asList(buildTime(1L, 2L), buildTime(3L, 4L)));
+
+        assertEquals(2, numberOfAddedRows);
+        assertEquals(2, repository.findProjectTimeSinceStartingPointInMilliseconds(
+                Project.builder("Project name").id(projectId).build(),
+                0L
+        ).size());
+        assertTrue(getNotifiedUris().contains(ProviderContract.Time.getStreamUri()));
+    }
+
+    @Test
+    public void add_withEmptyList() {
+        assertEquals(0, repository.add(Collections.emptyList()));
+        assertFalse(getNotifiedUris().contains(ProviderContract.Time.getStreamUri()));
+    }
+
+    @Test
+    public void visitProjectTimeSinceStartingPointInMilliseconds() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        Time time = repository.add(buildTime(10L, 15L)).get();
+        List<Time> actual = new ArrayList<>();
+
+        repository.visitProjectTimeSinceStartingPointInMilliseconds(projectId, 5L, actual::add);
+
+        assertEquals(Collections.singletonList(time), actual);
+    }
+
+    @Test
+    public void findProjectTimeSeriesSinceStartingPointInMilliseconds() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        Time time = repository.add(buildTime(10L, 15L)).get();
+        repository.add(TimeFactory.builder(projectId).startInMilliseconds(20L).build());
+
+        TimeSeries actual = repository.findProjectTimeSeriesSinceStartingPointInMilliseconds(projectId, 5L);
+
+        assertEquals(2, actual.size());
+        assertEquals(time.getId().longValue(), actual.getId(0));
+        assertTrue(actual.isActive(1));
+        assertEquals(5L, actual.sum());
+    }
+
+    @Test
+    public void update() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+        Time expected = TimeFactory.builder(projectId)
+                .id(time.getId())
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(5L)
+                .build();
+
+        assertEquals(Optional.of(expected), repository.update(expected));
+        assertEquals(Optional.of(expected), repository.get(time.getId()));
+    }
+
+    @Test
+    public void update_withAnotherProject() throws DomainException {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+        ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository(contentResolver, database);
+        long anotherProjectId = projectRepository.add(Project.builder("Another project").build()).get().getId();
+        Time time = repository.add(buildTime(1L, 2L)).get();
+        Time expected = TimeFactory.builder(anotherProjectId)
+                .id(time.getId())
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(2L)
+                .build();
+
+        repository.update(expected);
+
+        List<Uri> uris = getNotifiedUris();
+        assertEquals(2, Collections.frequency(uris, ProviderContract.Project.getItemTimeUri(projectId)));
+        assertTrue(uris.contains(ProviderContract.Project.getItemTimeUri(anotherProjectId)));
+    }
+
+    @Test
+    public void update_withoutTime() throws DomainException {
+        Time time = TimeFactory.builder(projectId)
+                .id(1L)
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(5L)
+                .build();
+
+        assertFalse(repository.update(time).isPresent());
+    }
+
+    @Test
+    public void updateRegistered() throws DomainException {
+        Time first = repository.add(buildTime(1L, 2L)).get();
+        Time second = repository.add(buildTime(3L, 4L)).get();
+
+        int numberOfUpdatedRows = repository.updateRegistered(
+                Arrays.asList(first.getId(), second.getId()),
+                true
+        );
+
+        assertEquals(2, numberOfUpdatedRows);
+        assertTrue(repository.get(first.getId()).get().isRegistered());
+        assertTrue(getNotifiedUris().contains(ProviderContract.Time.getRegisteredUri()));
+        // The project time have been notified once for each of the additions.
+        assertEquals(3, Collections.frequency(getNotifiedUris(), ProviderContract.Project.getItemTimeUri(projectId)));
+    }
+
+    @Test
+    public void updateRegistered_withoutChanges() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+
+        assertEquals(0, repository.updateRegistered(Collections.singletonList(time.getId()), false));
+    }
+
+    @Test
+    public void remove() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+
+        repository.remove(time.getId());
+
+        assertFalse(repository.get(time.getId()).isPresent());
+        assertEquals(2, Collections.frequency(getNotifiedUris(), ProviderContract.Project.getItemTimeUri(projectId)));
+    }
+
+    @Test
+    public void remove_withList() throws DomainException {
+        Time first = repository.add(buildTime(1L, 2L)).get();
+        Time second = repository.add(buildTime(3L, 4L)).get();
+
+        assertEquals(2, repository.remove(Arrays.asList(first, second)));
+        assertFalse(repository.get(first.getId()).isPresent());
+        assertFalse(repository.get(second.getId()).isPresent());
+        assertEquals(3, Collections.frequency(getNotifiedUris(), ProviderContract.Project.getItemTimeUri(projectId)));
+    }
+
+    @Test
+    public void summarizeProjectTimeSinceStartingPointInMilliseconds() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        repository.add(buildTime(10L, 15L));
+        repository.add(TimeFactory.builder(projectId).startInMilliseconds(20L).build());
+
+        Map<Long, Long> actual = repository.summarizeProjectTimeSinceStartingPointInMilliseconds(5L);
+
+        assertEquals(Collections.singletonMap(projectId, 5L), actual);
+    }
+
+    @Test
+    public void getElapsedTimeForProjectSince() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        repository.add(buildTime(10L, 15L));
+        repository.add(TimeFactory.builder(projectId).startInMilliseconds(3L).build());
+
+        ElapsedTime actual = repository.getElapsedTimeForProjectSince(projectId, 5L);
+
+        assertEquals(5L, actual.getRegisteredInMilliseconds());
+        assertEquals(3L, actual.getActiveStartInMilliseconds());
+    }
+
+    @Test
+    public void getActiveTimeForProject() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        Time time = repository.add(TimeFactory.builder(projectId).startInMilliseconds(3L).build()).get();
+
+        assertEquals(Optional.of(time), repository.getActiveTimeForProject(projectId));
+        assertEquals(Collections.singletonList(time), repository.getActiveTime());
+    }
+
+    @Test
+    public void getFlexBalanceForProjectInMilliseconds() throws DomainException {
+        repository.add(buildTime(1L, 2L));
+        repository.add(buildTime(10L, 15L));
+
+        long actual = repository.getFlexBalanceForProjectInMilliseconds(projectId);
+
+        assertEquals(6L - Project.DEFAULT_DAILY_TARGET_IN_MINUTES * 60000L, actual);
+    }
+
+    @Test
+    public void getFlexBalanceForProjectInMilliseconds_withTimeForCurrentDay() throws DomainException {
+        long now = System.currentTimeMillis();
+        repository.add(buildTime(1L, 2L));
+        repository.add(TimeFactory.builder(projectId)
+                .startInMilliseconds(now)
+                .build());
+
+        long actual = repository.getFlexBalanceForProjectInMilliseconds(projectId);
+
+        assertEquals(1L - Project.DEFAULT_DAILY_TARGET_IN_MINUTES * 60000L, actual);
+    }
+
+    @Test
+    public void getFlexBalanceForProjectInMilliseconds_withoutTime() {
+        assertEquals(0L, repository.getFlexBalanceForProjectInMilliseconds(projectId));
+    }
+
+    @Test
+    public void getFlexBalanceInMilliseconds() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+        repository.update(TimeFactory.builder(projectId)
+                .id(time.getId())
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(4L)
+                .build());
+
+        Map<Long, Long> actual = repository.getFlexBalanceInMilliseconds();
+
+        assertEquals(
+                Collections.singletonMap(projectId, 3L - Project.DEFAULT_DAILY_TARGET_IN_MINUTES * 60000L),
+                actual
+        );
+    }
+
+    @Test
+    public void getFlexBalanceInMilliseconds_afterRemove() throws DomainException {
+        Time time = repository.add(buildTime(1L, 2L)).get();
+
+        repository.remove(time.getId());
+
+        assertTrue(repository.getFlexBalanceInMilliseconds().isEmpty());
+    }
+}
@@ -16,24 +16,41 @@
 
 package me.raatiniemi.worker.data.repository;
 
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
+import android.content.ContentValues;
 import android.database.Cursor;
+import android.net.Uri;
+import android.provider.BaseColumns;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.mapper.TimeContentValuesMapper;
 import me.raatiniemi.worker.data.provider.ProviderContract;
 import me.raatiniemi.worker.data.provider.ProviderContract.TimeColumns;
 import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.factory.TimeFactory;
+import me.raatiniemi.worker.util.Optional;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -133,4 +150,411 @@ public class TimeResolverRepositoryTest extends RobolectricTestCase {
         assertTrue(5 == time.size());
         verify(cursor).close();
     }
+
+    @Test
+    public void visitProjectTimeSinceStartingPointInMilliseconds_withRows() throws DomainException {
+        Cursor cursor = buildCursorWithNumberOfItems(5);
+        when(
+                contentResolver.query(
+                        ProviderContract.Project.getItemTimeUri(1),
+                        ProviderContract.Time.getColumns(),
+                        TimeColumns.START + ">=?",
+                        new String[]{"1234567890"},
+                        null
+                )
+        ).thenReturn(cursor);
+        List<Time> time = new ArrayList<>();
+
+        repository.visitProjectTimeSinceStartingPointInMilliseconds(1, 1234567890, time::add);
+
+        assertTrue(5 == time.size());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void summarizeProjectTimeSinceStartingPointInMilliseconds_withNullCursor() {
+        when(
+                contentResolver.query(
+                        ProviderContract.Time.getSummaryUri(),
+                        ProviderContract.Time.getSummaryColumns(),
+                        TimeColumns.START + ">=? AND " + TimeColumns.STOP + " > 0",
+                        new String[]{"1234567890"},
+                        null
+                )
+        ).thenReturn(null);
+
+        Map<Long, Long> summaries = repository.summarizeProjectTimeSinceStartingPointInMilliseconds(1234567890);
+
+        assertTrue(summaries.isEmpty());
+    }
+
+    @Test
+    public void summarizeProjectTimeSinceStartingPointInMilliseconds_withRows() {
+        Cursor cursor = CursorFactory.build(
+                new String[]{TimeColumns.PROJECT_ID, ProviderContract.Time.SUMMARY},
+                2,
+                number -> Arrays.asList((long) number, number * 60000L)
+        );
+        when(
+                contentResolver.query(
+                        ProviderContract.Time.getSummaryUri(),
+                        ProviderContract.Time.getSummaryColumns(),
+                        TimeColumns.START + ">=? AND " + TimeColumns.STOP + " > 0",
+                        new String[]{"1234567890"},
+                        null
+                )
+        ).thenReturn(cursor);
+
+        Map<Long, Long> summaries = repository.summarizeProjectTimeSinceStartingPointInMilliseconds(1234567890);
+
+        assertEquals(2, summaries.size());
+        assertEquals(Long.valueOf(60000L), summaries.get(1L));
+        assertEquals(Long.valueOf(120000L), summaries.get(2L));
+        verify(cursor).close();
+    }
+
+    @Test
+    public void getElapsedTimeForProjectSince_withNullCursor() throws DomainException {
+        when(
+                contentResolver.query(
+                        ProviderContract.Project.getItemTimeUri(1),
+                        ProviderContract.Time.getElapsedColumns(),
+                        TimeColumns.START + ">=? OR " + TimeColumns.STOP + " = 0",
+                        new String[]{"1234567890"},
+                        null
+                )
+        ).thenReturn(null);
+
+        ElapsedTime elapsedTime = repository.getElapsedTimeForProjectSince(1L, 1234567890L);
+
+        assertEquals(0L, elapsedTime.getRegisteredInMilliseconds());
+        assertFalse(elapsedTime.isActive());
+    }
+
+    @Test
+    public void getElapsedTimeForProjectSince_withRow() throws DomainException {
+        Cursor cursor = CursorFactory.build(
+                new String[]{ProviderContract.Time.SUMMARY, ProviderContract.Time.ACTIVE_START},
+                1,
+                number -> Arrays.asList(60000L, 1234567900L)
+        );
+        when(
+                contentResolver.query(
+                        ProviderContract.Project.getItemTimeUri(1),
+                        ProviderContract.Time.getElapsedColumns(),
+                        TimeColumns.START + ">=? OR " + TimeColumns.STOP + " = 0",
+                        new String[]{"1234567890"},
+                        null
+                )
+        ).thenReturn(cursor);
+
+        ElapsedTime elapsedTime = repository.getElapsedTimeForProjectSince(1L, 1234567890L);
+
+        assertEquals(60000L, elapsedTime.getRegisteredInMilliseconds());
+        assertEquals(1234567900L, elapsedTime.getActiveStartInMilliseconds());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void add_withItems() {
+        List<Time> times = Arrays.asList(
+                TimeFactory.builder()
+                        .startInMilliseconds(1L)
+                        .stopInMilliseconds(2L)
+                        .build(),
+                TimeFactory.builder()
+                        .startInMilliseconds(3L)
+                        .stopInMilliseconds(4L)
+                        .register()
+                        .build()
+        );
+        TimeContentValuesMapper mapper = new TimeContentValuesMapper();
+        ContentValues[] values = new ContentValues[]{
+                mapper.transform(times.get(0)),
+                mapper.transform(times.get(1))
+        };
+        when(contentResolver.bulkInsert(ProviderContract.Time.getStreamUri(), values))
+                .thenReturn(2);
+
+        int numberOfAddedItems = repository.add(times);
+
+        assertEquals(2, numberOfAddedItems);
+        verify(contentResolver).bulkInsert(ProviderContract.Time.getStreamUri(), values);
+    }
+
+    @Test
+    public void add_withTime() throws DomainException {
+        Time time = TimeFactory.builder()
+                .id(null)
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(2L)
+                .build();
+        ContentValues values = new TimeContentValuesMapper().transform(time);
+        when(contentResolver.insert(ProviderContract.Time.getStreamUri(), values))
+                .thenReturn(ProviderContract.Time.getItemUri(3));
+
+        Optional<Time> value = repository.add(time);
+
+        Time expected = TimeFactory.builder()
+                .id(3L)
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(2L)
+                .build();
+        assertTrue(value.isPresent());
+        assertEquals(expected, value.get());
+        verify(contentResolver, never())
+                .query(any(Uri.class), any(String[].class), any(), any(), any());
+    }
+
+    @Test
+    public void update_withTime() throws DomainException {
+        Time time = TimeFactory.builder()
+                .id(1L)
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(2L)
+                .build();
+        when(
+                contentResolver.update(
+                        ProviderContract.Time.getItemUri(1),
+                        new TimeContentValuesMapper().transform(time),
+                        null,
+                        null
+                )
+        ).thenReturn(1);
+
+        Optional<Time> value = repository.update(time);
+
+        assertTrue(value.isPresent());
+        assertEquals(time, value.get());
+        verify(contentResolver, never())
+                .query(any(Uri.class), any(String[].class), any(), any(), any());
+    }
+
+    @Test
+    public void update_withoutRow() throws DomainException {
+        Time time = TimeFactory.builder()
+                .id(1L)
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(2L)
+                .build();
+
+        Optional<Time> value = repository.update(time);
+
+        assertFalse(value.isPresent());
+    }
+
+    @Test
+    public void update_withItems() throws Exception {
+        List<Time> times = Arrays.asList(
+                TimeFactory.builder()
+                        .id(1L)
+                        .startInMilliseconds(1L)
+                        .stopInMilliseconds(2L)
+                        .build(),
+                TimeFactory.builder()
+                        .id(2L)
+                        .startInMilliseconds(3L)
+                        .stopInMilliseconds(4L)
+                        .build()
+        );
+        when(contentResolver.applyBatch(eq(ProviderContract.AUTHORITY), any()))
+                .thenReturn(new ContentProviderResult[]{
+                        new ContentProviderResult(1),
+                        new ContentProviderResult(0)
+                });
+
+        List<Time> updatedTimes = repository.update(times);
+
+        assertEquals(Collections.singletonList(times.get(0)), updatedTimes);
+        verify(contentResolver, never())
+                .query(any(Uri.class), any(String[].class), any(), any(), any());
+    }
+
+    @Test
+    public void update_withItemsWithoutCount() throws Exception {
+        List<Time> times = Arrays.asList(
+                TimeFactory.builder()
+                        .id(1L)
+                        .startInMilliseconds(123456789L)
+                        .stopInMilliseconds(123456789L)
+                        .build(),
+                TimeFactory.builder()
+                        .id(2L)
+                        .startInMilliseconds(123456789L)
+                        .stopInMilliseconds(123456789L)
+                        .build()
+        );
+        when(contentResolver.applyBatch(eq(ProviderContract.AUTHORITY), any()))
+                .thenReturn(new ContentProviderResult[]{
+                        new ContentProviderResult(ProviderContract.Time.getItemUri(1)),
+                        new ContentProviderResult(ProviderContract.Time.getItemUri(2))
+                });
+        Cursor cursor = buildCursorWithNumberOfItems(2);
+        when(
+                contentResolver.query(
+                        ProviderContract.Time.getStreamUri(),
+                        ProviderContract.Time.getColumns(),
+                        BaseColumns._ID + " IN (?,?)",
+                        new String[]{"1", "2"},
+                        null
+                )
+        ).thenReturn(cursor);
+
+        List<Time> updatedTimes = repository.update(times);
+
+        assertEquals(times, updatedTimes);
+        verify(cursor).close();
+    }
+
+    @Test
+    public void updateRegistered_withIds() {
+        ContentValues values = new ContentValues();
+        values.put(TimeColumns.REGISTERED, 1L);
+        when(
+                contentResolver.update(
+                        ProviderContract.Time.getRegisteredUri(),
+                        values,
+                        BaseColumns._ID + " IN (?,?,?) AND " + TimeColumns.REGISTERED + " != ?",
+                        new String[]{"1", "2", "3", "1"}
+                )
+        ).thenReturn(2);
+
+        int numberOfUpdatedItems = repository.updateRegistered(Arrays.asList(1L, 2L, 3L), true);
+
+        assertEquals(2, numberOfUpdatedItems);
+    }
+
+    @Test
+    public void updateRegistered_withoutIds() {
+        int numberOfUpdatedItems = repository.updateRegistered(Collections.emptyList(), true);
+
+        assertEquals(0, numberOfUpdatedItems);
+        verify(contentResolver, never())
+                .update(any(Uri.class), any(ContentValues.class), any(), any());
+    }
+
+    @Test
+    public void updateRegistered_withMoreIdsThanAllowedPerStatement() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+        when(
+                contentResolver.update(
+                        eq(ProviderContract.Time.getRegisteredUri()),
+                        any(ContentValues.class),
+                        any(),
+                        any()
+                )
+        ).thenReturn(500, 1);
+
+        int numberOfUpdatedItems = repository.updateRegistered(ids, false);
+
+        assertEquals(501, numberOfUpdatedItems);
+        verify(contentResolver, times(2))
+                .update(eq(ProviderContract.Time.getRegisteredUri()), any(ContentValues.class), any(), any());
+    }
+
+    @Test
+    public void remove_withItems() {
+        List<Time> times = Arrays.asList(
+                TimeFactory.builder()
+                        .id(1L)
+                        .build(),
+                TimeFactory.builder()
+                        .id(2L)
+                        .build()
+        );
+        when(
+                contentResolver.delete(
+                        ProviderContract.Time.getStreamUri(),
+                        BaseColumns._ID + " IN (?,?)",
+                        new String[]{"1", "2"}
+                )
+        ).thenReturn(2);
+
+        int numberOfRemovedItems = repository.remove(times);
+
+        assertEquals(2, numberOfRemovedItems);
+    }
+
+    @Test
+    public void remove_withMoreItemsThanAllowedPerStatement() {
+        List<Time> times = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            times.add(
+                    TimeFactory.builder()
+                            .id(id)
+                            .build()
+            );
+        }
+        when(contentResolver.delete(eq(ProviderContract.Time.getStreamUri()), any(), any()))
+                .thenReturn(500, 1);
+
+        int numberOfRemovedItems = repository.remove(times);
+
+        assertEquals(501, numberOfRemovedItems);
+        verify(contentResolver, times(2))
+                .delete(eq(ProviderContract.Time.getStreamUri()), any(), any());
+    }
+
+    @Test
+    public void removeForProjectBetween() {
+        when(
+                contentResolver.delete(
+                        ProviderContract.Project.getItemTimeUri(1),
+                        TimeColumns.START + ">=? AND " + TimeColumns.START + "<?",
+                        new String[]{"100", "200"}
+                )
+        ).thenReturn(3);
+
+        int numberOfRemovedItems = repository.removeForProjectBetween(1L, 100L, 200L);
+
+        assertEquals(3, numberOfRemovedItems);
+    }
+
+    @Test
+    public void getActiveTime_withoutRows() throws DomainException {
+        Cursor cursor = CursorFactory.buildEmpty();
+        when(
+                contentResolver.query(
+                        ProviderContract.Time.getActiveUri(),
+                        ProviderContract.Time.getColumns(),
+                        null,
+                        null,
+                        null
+                )
+        ).thenReturn(cursor);
+
+        List<Time> time = repository.getActiveTime();
+
+        assertTrue(time.isEmpty());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void getActiveTime_withRows() throws DomainException {
+        Cursor cursor = CursorFactory.build(
+                ProviderContract.Time.getColumns(),
+                2,
+                number -> Arrays.asList(number, number, 123456789L, 0L, 0L)
+        );
+        when(
+                contentResolver.query(
+                        ProviderContract.Time.getActiveUri(),
+                        ProviderContract.Time.getColumns(),
+                        null,
+                        null,
+                        null
+                )
+        ).thenReturn(cursor);
+
+        List<Time> time = repository.getActiveTime();
+
+        assertEquals(2, time.size());
+        assertTrue(time.get(0).isActive());
+        assertEquals(1L, time.get(0).getProjectId());
+        assertEquals(2L, time.get(1).getProjectId());
+        verify(cursor).close();
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.provider.WorkerDatabase;
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.repository.PageRequest;
+import me.raatiniemi.worker.factory.TimeFactory;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class TimesheetDatabaseRepositoryTest extends RobolectricTestCase {
+    private static final long HOUR = 3600000L;
+    // 2017-01-01 12:00:00 in UTC, i.e. noon for most of the time zones
+    // which keeps each of the time within the same local day.
+    private static final long JANUARY_FIRST = 1483272000000L;
+    private static final long DAY = 24 * HOUR;
+
+    private WorkerDatabase database;
+    private TimeDatabaseRepository timeRepository;
+    private TimesheetDatabaseRepository repository;
+    private long projectId;
+
+    private Time addTime(long start, boolean registered) throws DomainException {
+        TimeFactory builder = TimeFactory.builder(projectId)
+                .startInMilliseconds(start)
+                .stopInMilliseconds(start + HOUR);
+        if (registered) {
+            builder.register();
+        }
+
+        return timeRepository.add(builder.build()).get();
+    }
+
+    private static List<Set<Time>> values(Map<Date, Set<Time>> timesheet) {
+        return new ArrayList<>(timesheet.values());
+    }
+
+    private static Set<Time> segment(Time... times) {
+        return new LinkedHashSet<>(Arrays.asList(times));
+    }
+
+    @Before
+    public void setUp() throws DomainException {
+        ContentResolver contentResolver = RuntimeEnvironment.application.getContentResolver();
+
+        database = WorkerDatabase.inMemory(RuntimeEnvironment.application);
+        timeRepository = new TimeDatabaseRepository(contentResolver, database);
+        repository = new TimesheetDatabaseRepository(contentResolver, database);
+
+        ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository(contentResolver, database);
+        projectId = projectRepository.add(Project.builder("Project name").build()).get().getId();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void getTimesheet_withoutTime() {
+        assertTrue(repository.getTimesheet(projectId, PageRequest.withOffset(0)).isEmpty());
+    }
+
+    @Test
+    public void getTimesheet() throws DomainException {
+        Time first = addTime(JANUARY_FIRST, false);
+        Time second = addTime(JANUARY_FIRST + 2 * HOUR, true);
+        Time third = addTime(JANUARY_FIRST + DAY, false);
+
+        Map<Date, Set<Time>> actual = repository.getTimesheet(projectId, PageRequest.withOffset(0));
+
+        List<Set<Time>> expected = new ArrayList<>();
+        expected.add(segment(third));
+        expected.add(segment(second, first));
+        assertEquals(expected, values(actual));
+        assertEquals(new Date(JANUARY_FIRST), new ArrayList<>(actual.keySet()).get(1));
+    }
+
+    @Test
+    public void getTimesheet_withOffsetAndMaxResults() throws DomainException {
+        addTime(JANUARY_FIRST, false);
+        Time second = addTime(JANUARY_FIRST + DAY, false);
+        addTime(JANUARY_FIRST + 2 * DAY, false);
+
+        Map<Date, Set<Time>> actual = repository.getTimesheet(
+                projectId,
+                PageRequest.withOffsetAndMaxResults(1, 1)
+        );
+
+        List<Set<Time>> expected = new ArrayList<>();
+        expected.add(segment(second));
+        assertEquals(expected, values(actual));
+    }
+
+    @Test
+    public void getTimesheet_withBefore() throws DomainException {
+        Time first = addTime(JANUARY_FIRST, false);
+        addTime(JANUARY_FIRST + DAY, false);
+
+        Map<Date, Set<Time>> actual = repository.getTimesheet(
+                projectId,
+                PageRequest.withBefore(new Date(JANUARY_FIRST + DAY))
+        );
+
+        List<Set<Time>> expected = new ArrayList<>();
+        expected.add(segment(first));
+        assertEquals(expected, values(actual));
+    }
+
+    @Test
+    public void getTimesheetWithoutRegisteredEntries() throws DomainException {
+        Time first = addTime(JANUARY_FIRST, false);
+        addTime(JANUARY_FIRST + 2 * HOUR, true);
+        addTime(JANUARY_FIRST + DAY, true);
+
+        Map<Date, Set<Time>> actual = repository.getTimesheetWithoutRegisteredEntries(
+                projectId,
+                PageRequest.withOffset(0)
+        );
+
+        List<Set<Time>> expected = new ArrayList<>();
+        expected.add(segment(first));
+        assertEquals(expected, values(actual));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.data.repository;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.provider.BaseColumns;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.data.provider.ProviderContract;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.repository.PageRequest;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static me.raatiniemi.worker.data.provider.QueryParameter.appendPageRequest;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TimesheetResolverRepositoryTest extends RobolectricTestCase {
+    private final PageRequest pageRequest = PageRequest.withOffset(0);
+
+    private ContentResolver contentResolver;
+    private TimesheetResolverRepository repository;
+
+    private static final String[] COLUMNS = new String[]{
+            BaseColumns._ID,
+            ProviderContract.TimeColumns.PROJECT_ID,
+            ProviderContract.TimeColumns.START,
+            ProviderContract.TimeColumns.STOP,
+            ProviderContract.TimeColumns.REGISTERED,
+            ProviderContract.Timesheet.DAY
+    };
+
+    private static Cursor buildCursor(Object[]... rows) {
+        return CursorFactory.build(
+                COLUMNS,
+                rows.length,
+                number -> Arrays.asList(rows[number - 1])
+        );
+    }
+
+    private void mockTimesheetQuery(Cursor cursor) {
+        when(
+                contentResolver.query(
+                        appendPageRequest(
+                                ProviderContract.Timesheet.getItemTimesheetTimeUri(1),
+                                pageRequest
+                        ),
+                        ProviderContract.Timesheet.getTimesheetTimeColumns(),
+                        null,
+                        null,
+                        ProviderContract.Timesheet.ORDER_BY
+                )
+        ).thenReturn(cursor);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        contentResolver = mock(ContentResolver.class);
+        repository = new TimesheetResolverRepository(contentResolver);
+    }
+
+    @Test
+    public void getTimesheet_withNullCursor() {
+        mockTimesheetQuery(null);
+
+        Map<Date, Set<Time>> timesheet = repository.getTimesheet(1, pageRequest);
+
+        assertTrue(timesheet.isEmpty());
+    }
+
+    @Test
+    public void getTimesheet_withEmptyCursor() {
+        Cursor cursor = CursorFactory.buildEmpty();
+        mockTimesheetQuery(cursor);
+
+        Map<Date, Set<Time>> timesheet = repository.getTimesheet(1, pageRequest);
+
+        assertTrue(timesheet.isEmpty());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void getTimesheet_withRowsForSingleDay() {
+        Cursor cursor = buildCursor(
+                new Object[]{2L, 1L, 3000L, 4000L, 0L, "19700101"},
+                new Object[]{1L, 1L, 1000L, 2000L, 0L, "19700101"}
+        );
+        mockTimesheetQuery(cursor);
+
+        Map<Date, Set<Time>> timesheet = repository.getTimesheet(1, pageRequest);
+
+        assertEquals(1, timesheet.size());
+        assertEquals(2, timesheet.get(new Date(1000L)).size());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void getTimesheet_withRowsForMultipleDays() {
+        Cursor cursor = buildCursor(
+                new Object[]{3L, 1L, 172800000L, 172900000L, 0L, "19700103"},
+                new Object[]{2L, 1L, 86500000L, 86600000L, 1L, "19700102"},
+                new Object[]{1L, 1L, 86400000L, 86450000L, 0L, "19700102"}
+        );
+        mockTimesheetQuery(cursor);
+
+        Map<Date, Set<Time>> timesheet = repository.getTimesheet(1, pageRequest);
+
+        assertEquals(2, timesheet.size());
+        Iterator<Date> dates = timesheet.keySet().iterator();
+        assertEquals(new Date(172800000L), dates.next());
+        assertEquals(new Date(86400000L), dates.next());
+        assertEquals(1, timesheet.get(new Date(172800000L)).size());
+        assertEquals(2, timesheet.get(new Date(86400000L)).size());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void getTimesheet_withInvalidRow() {
+        Cursor cursor = buildCursor(
+                new Object[]{3L, 1L, 172800000L, 172700000L, 0L, "19700103"},
+                new Object[]{2L, 1L, 86500000L, 86600000L, 0L, "19700102"},
+                new Object[]{1L, 1L, 86400000L, 86300000L, 0L, "19700102"}
+        );
+        mockTimesheetQuery(cursor);
+
+        Map<Date, Set<Time>> timesheet = repository.getTimesheet(1, pageRequest);
+
+        assertEquals(1, timesheet.size());
+        assertEquals(1, timesheet.get(new Date(86500000L)).size());
+        verify(cursor).close();
+    }
+}
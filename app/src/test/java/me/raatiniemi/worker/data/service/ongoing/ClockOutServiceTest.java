@@ -24,7 +24,6 @@ import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
 
-import org.greenrobot.eventbus.EventBus;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,13 +41,11 @@ import me.raatiniemi.worker.domain.exception.ClockActivityException;
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.interactor.ClockOut;
 import me.raatiniemi.worker.RobolectricTestCase;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class ClockOutServiceTest extends RobolectricTestCase {
@@ -56,7 +53,6 @@ public class ClockOutServiceTest extends RobolectricTestCase {
 
     private NotificationManager notificationManager;
     private ClockOut clockOut;
-    private EventBus eventBus;
 
     private Intent buildIntentForService() {
         return new Intent(
@@ -91,7 +87,6 @@ public class ClockOutServiceTest extends RobolectricTestCase {
     private void setUpService() {
         TestService service = getService();
         service.clockOut = clockOut = mock(ClockOut.class);
-        service.eventBus = eventBus = mock(EventBus.class);
     }
 
     private TestService getService() {
@@ -116,7 +111,6 @@ public class ClockOutServiceTest extends RobolectricTestCase {
         serviceController.withIntent(intent)
                 .startCommand(0, 0);
 
-        verify(eventBus, never()).post(isA(OngoingNotificationActionEvent.class));
         verify(notificationManager).notify(
                 eq("1"),
                 eq(WorkerApplication.NOTIFICATION_ON_GOING_ID),
@@ -137,7 +131,6 @@ public class ClockOutServiceTest extends RobolectricTestCase {
                 eq(1L),
                 isA(Date.class)
         );
-        verify(eventBus).post(isA(OngoingNotificationActionEvent.class));
         verify(notificationManager).cancel(
                 eq("1"),
                 eq(WorkerApplication.NOTIFICATION_ON_GOING_ID)
@@ -147,19 +140,13 @@ public class ClockOutServiceTest extends RobolectricTestCase {
     @SuppressLint("Registered")
     public static class TestService extends ClockOutService {
         private ClockOut clockOut;
-        private EventBus eventBus;
-
+    
         @Override
         public void onStart(Intent intent, int startId) {
             onHandleIntent(intent);
             stopSelf(startId);
         }
 
-        @Override
-        protected EventBus getEventBus() {
-            return eventBus;
-        }
-
         @Override
         protected ClockOut buildClockOutUseCase() {
             return clockOut;
@@ -24,7 +24,6 @@ import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
 
-import org.greenrobot.eventbus.EventBus;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +44,6 @@ import me.raatiniemi.worker.domain.interactor.ClockOut;
 import me.raatiniemi.worker.domain.interactor.GetProject;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.RobolectricTestCase;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -64,7 +62,6 @@ public class PauseServiceTest extends RobolectricTestCase {
     private NotificationManager notificationManager;
     private ClockOut clockOut;
     private GetProject getProject;
-    private EventBus eventBus;
 
     private Intent buildIntentForService() {
         return new Intent(
@@ -107,7 +104,6 @@ public class PauseServiceTest extends RobolectricTestCase {
         TestService service = getService();
         service.clockOut = clockOut = mock(ClockOut.class);
         service.getProject = getProject = mock(GetProject.class);
-        service.eventBus = eventBus = mock(EventBus.class);
     }
 
     private TestService getService() {
@@ -129,7 +125,6 @@ public class PauseServiceTest extends RobolectricTestCase {
         serviceController.withIntent(intent)
                 .startCommand(0, 0);
 
-        verify(eventBus, never()).post(isA(OngoingNotificationActionEvent.class));
         verify(notificationManager).notify(
                 eq("1"),
                 eq(WorkerApplication.NOTIFICATION_ON_GOING_ID),
@@ -155,7 +150,6 @@ public class PauseServiceTest extends RobolectricTestCase {
                 eq(1L),
                 isA(Date.class)
         );
-        verify(eventBus).post(isA(OngoingNotificationActionEvent.class));
         verify(getProject).execute(eq(1L));
         verify(notificationManager).notify(
                 eq("1"),
@@ -184,7 +178,6 @@ public class PauseServiceTest extends RobolectricTestCase {
                 eq(1L),
                 isA(Date.class)
         );
-        verify(eventBus).post(isA(OngoingNotificationActionEvent.class));
         verify(notificationManager).cancel(
                 eq("1"),
                 eq(WorkerApplication.NOTIFICATION_ON_GOING_ID)
@@ -212,7 +205,6 @@ public class PauseServiceTest extends RobolectricTestCase {
                 .startCommand(0, 0);
 
         verify(clockOut).execute(eq(1L), isA(Date.class));
-        verify(eventBus).post(isA(OngoingNotificationActionEvent.class));
         verify(getProject).execute(eq(1L));
         verify(notificationManager).notify(
                 eq("1"),
@@ -237,7 +229,6 @@ public class PauseServiceTest extends RobolectricTestCase {
                 .startCommand(0, 0);
 
         verify(clockOut).execute(eq(1L), isA(Date.class));
-        verify(eventBus).post(isA(OngoingNotificationActionEvent.class));
         verify(notificationManager).cancel(
                 eq("1"),
                 eq(WorkerApplication.NOTIFICATION_ON_GOING_ID)
@@ -250,8 +241,7 @@ public class PauseServiceTest extends RobolectricTestCase {
     public static class TestService extends PauseService {
         private ClockOut clockOut;
         private GetProject getProject;
-        private EventBus eventBus;
-        private boolean isOngoingNotificationEnabled = false;
+            private boolean isOngoingNotificationEnabled = false;
 
         @Override
         public void onStart(Intent intent, int startId) {
@@ -259,11 +249,6 @@ public class PauseServiceTest extends RobolectricTestCase {
             stopSelf(startId);
         }
 
-        @Override
-        protected EventBus getEventBus() {
-            return eventBus;
-        }
-
         @Override
         protected boolean isOngoingNotificationEnabled() {
             return isOngoingNotificationEnabled;
@@ -39,7 +39,7 @@ import java.util.List;
 import me.raatiniemi.worker.RobolectricTestCase;
 import me.raatiniemi.worker.WorkerApplication;
 import me.raatiniemi.worker.domain.exception.DomainException;
-import me.raatiniemi.worker.domain.interactor.GetProjects;
+import me.raatiniemi.worker.domain.interactor.GetActiveProjects;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.factory.TimeFactory;
@@ -57,29 +57,17 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
     private ServiceController<TestService> serviceController;
 
     private NotificationManager notificationManager;
-    private GetProjects getProjects;
+    private GetActiveProjects getActiveProjects;
 
     private Project buildActiveProjectWithId(Long projectId) throws DomainException {
-        return buildProjectWithIdAndStatus(projectId, true);
-    }
-
-    private Project buildInactiveProjectWithId(Long projectId) throws DomainException {
-        return buildProjectWithIdAndStatus(projectId, false);
-    }
-
-    private Project buildProjectWithIdAndStatus(Long projectId, boolean isActive)
-            throws DomainException {
         Project project = Project.builder("Project name")
                 .id(projectId)
                 .build();
 
-        if (isActive) {
-            Time time = TimeFactory.builder()
-                    .stopInMilliseconds(0L)
-                    .build();
-
-            project.addTime(Collections.singletonList(time));
-        }
+        Time time = TimeFactory.builder()
+                .stopInMilliseconds(0L)
+                .build();
+        project.addTime(Collections.singletonList(time));
 
         return project;
     }
@@ -105,7 +93,7 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
 
     private void setUpService() {
         TestService service = getService();
-        service.getProjects = getProjects = mock(GetProjects.class);
+        service.getActiveProjects = getActiveProjects = mock(GetActiveProjects.class);
     }
 
     private TestService getService() {
@@ -121,7 +109,7 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
     public void onHandleIntent_withOngoingNotificationDisabled() throws DomainException {
         serviceController.startCommand(0, 0);
 
-        verify(getProjects, never()).execute();
+        verify(getActiveProjects, never()).execute();
         verify(notificationManager, never())
                 .notify(anyInt(), any(Notification.class));
     }
@@ -131,12 +119,12 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
             throws DomainException {
         List<Project> projects = new ArrayList<>();
         projects.add(buildActiveProjectWithId(1L));
-        when(getProjects.execute())
+        when(getActiveProjects.execute())
                 .thenReturn(projects);
 
         serviceController.startCommand(0, 0);
 
-        verify(getProjects, never()).execute();
+        verify(getActiveProjects, never()).execute();
         verify(notificationManager, never())
                 .notify(anyInt(), any(Notification.class));
     }
@@ -144,7 +132,7 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
     @Test
     public void onHandleIntent_withoutProjects() throws DomainException {
         getService().enableOngoingNotification();
-        when(getProjects.execute())
+        when(getActiveProjects.execute())
                 .thenReturn(Collections.emptyList());
 
         serviceController.startCommand(0, 0);
@@ -153,27 +141,12 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
                 .notify(anyInt(), any(Notification.class));
     }
 
-    @Test
-    public void onHandleIntent_withoutActiveProjects() throws DomainException {
-        getService().enableOngoingNotification();
-        List<Project> projects = new ArrayList<>();
-        projects.add(buildInactiveProjectWithId(1L));
-        when(getProjects.execute())
-                .thenReturn(projects);
-
-        serviceController.startCommand(0, 0);
-
-        verify(notificationManager, never())
-                .notify(anyInt(), any(Notification.class));
-    }
-
     @Test
     public void onHandleIntent_withActiveProject() throws DomainException {
         getService().enableOngoingNotification();
         List<Project> projects = new ArrayList<>();
-        projects.add(buildInactiveProjectWithId(1L));
         projects.add(buildActiveProjectWithId(2L));
-        when(getProjects.execute())
+        when(getActiveProjects.execute())
                 .thenReturn(projects);
 
         serviceController.startCommand(0, 0);
@@ -190,10 +163,9 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
     public void onHandleIntent_withActiveProjects() throws DomainException {
         getService().enableOngoingNotification();
         List<Project> projects = new ArrayList<>();
-        projects.add(buildInactiveProjectWithId(1L));
         projects.add(buildActiveProjectWithId(2L));
         projects.add(buildActiveProjectWithId(3L));
-        when(getProjects.execute())
+        when(getActiveProjects.execute())
                 .thenReturn(projects);
 
         serviceController.startCommand(0, 0);
@@ -215,7 +187,7 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
     @SuppressLint("Registered")
     public static class TestService extends ReloadNotificationService {
         private boolean isOngoingNotificationEnabled = false;
-        private GetProjects getProjects;
+        private GetActiveProjects getActiveProjects;
 
         @Override
         public void onStart(Intent intent, int startId) {
@@ -233,8 +205,8 @@ public class ReloadNotificationServiceTest extends RobolectricTestCase {
         }
 
         @Override
-        protected GetProjects buildGetProjectsUseCase() {
-            return getProjects;
+        protected GetActiveProjects buildGetActiveProjectsUseCase() {
+            return getActiveProjects;
         }
     }
 }
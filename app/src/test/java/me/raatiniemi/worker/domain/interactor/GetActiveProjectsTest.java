@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Collections;
+import java.util.List;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class GetActiveProjectsTest {
+    private ProjectRepository projectRepository;
+    private GetActiveProjects getActiveProjects;
+
+    @Before
+    public void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        getActiveProjects = new GetActiveProjects(projectRepository);
+    }
+
+    @Test
+    public void execute() throws DomainException {
+        List<Project> projects = Collections.singletonList(
+                Project.builder("Name")
+                        .id(1L)
+                        .build()
+        );
+        when(projectRepository.getActive())
+                .thenReturn(projects);
+
+        List<Project> actual = getActiveProjects.execute();
+
+        assertEquals(projects, actual);
+        verify(projectRepository, never()).get();
+    }
+}
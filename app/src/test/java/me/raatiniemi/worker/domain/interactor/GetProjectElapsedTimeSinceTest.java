@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.interactor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Calendar;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.InvalidStartingPointException;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.TimeRepository;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class GetProjectElapsedTimeSinceTest {
+    private TimeRepository timeRepository;
+    private GetProjectElapsedTimeSince getProjectElapsedTimeSince;
+    private Project project;
+
+    @Before
+    public void setUp() throws Exception {
+        timeRepository = mock(TimeRepository.class);
+        getProjectElapsedTimeSince = new GetProjectElapsedTimeSince(timeRepository);
+        project = Project.builder("Name")
+                .id(1L)
+                .build();
+    }
+
+    @Test
+    public void execute_withDay() throws DomainException {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        ElapsedTime expected = new ElapsedTime(1000L, 2000L);
+        when(timeRepository.getElapsedTimeForProjectSince(eq(1L), eq(calendar.getTimeInMillis())))
+                .thenReturn(expected);
+
+        ElapsedTime actual = getProjectElapsedTimeSince.execute(project, GetProjectTimeSince.DAY);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = InvalidStartingPointException.class)
+    public void execute_withInvalidStartingPoint() throws DomainException {
+        getProjectElapsedTimeSince.execute(project, -1);
+    }
+}
@@ -26,11 +26,14 @@ import java.util.Calendar;
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidStartingPointException;
 import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.TimeSeries;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 
+import static junit.framework.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(JUnit4.class)
 public class GetProjectTimeSinceTest {
@@ -109,4 +112,22 @@ public class GetProjectTimeSinceTest {
     public void execute_withInvalidStartingPoint() throws DomainException {
         getProjectTimeSince.execute(project, -1);
     }
+
+    @Test
+    public void executeSummary() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 1L, 11L, false);
+        series.add(2L, 20L, 25L, true);
+        series.add(3L, 30L, 0L, false);
+        when(
+                timeRepository.findProjectTimeSeriesSinceStartingPointInMilliseconds(
+                        eq(1L),
+                        eq(getMillisecondsForStartingPoint(GetProjectTimeSince.MONTH))
+                )
+        ).thenReturn(series);
+
+        long actual = getProjectTimeSince.executeSummary(project, GetProjectTimeSince.MONTH);
+
+        assertEquals(15L, actual);
+    }
 }
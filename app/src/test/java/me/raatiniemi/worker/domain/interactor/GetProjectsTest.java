@@ -22,17 +22,24 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
 import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.ProjectRepository;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
+import me.raatiniemi.worker.factory.TimeFactory;
+import me.raatiniemi.worker.util.Optional;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -63,6 +70,8 @@ public class GetProjectsTest {
 
         when(projectRepository.get())
                 .thenReturn(projects);
+        when(timeRepository.getActiveTime())
+                .thenReturn(Collections.emptyList());
 
         GetProjects getProjects = new GetProjects(
                 projectRepository,
@@ -73,6 +82,71 @@ public class GetProjectsTest {
         assertEquals(projects, actual);
 
         verify(projectRepository, times(1)).get();
-        verify(timeRepository, times(2)).getProjectTimeSinceBeginningOfMonth(anyLong());
+        verify(timeRepository, times(1)).getActiveTime();
+        verify(timeRepository, never()).getActiveTimeForProject(anyLong());
+    }
+
+    @Test
+    public void execute_withActiveProject() throws DomainException {
+        List<Project> projects = new ArrayList<>();
+        projects.add(buildProject(1L, "Project #1"));
+        projects.add(buildProject(2L, "Project #2"));
+        Time time = TimeFactory.builder(2L)
+                .id(1L)
+                .startInMilliseconds(1L)
+                .build();
+
+        when(projectRepository.get())
+                .thenReturn(projects);
+        when(timeRepository.getActiveTime())
+                .thenReturn(Collections.singletonList(time));
+
+        GetProjects getProjects = new GetProjects(
+                projectRepository,
+                timeRepository
+        );
+        List<Project> actual = getProjects.execute();
+
+        assertFalse(actual.get(0).isActive());
+        assertTrue(actual.get(1).isActive());
+    }
+
+    @Test
+    public void execute_withProjectId() throws DomainException {
+        Project project = buildProject(1L, "Project #1");
+        Time time = TimeFactory.builder(1L)
+                .id(1L)
+                .startInMilliseconds(1L)
+                .build();
+
+        when(projectRepository.get(1L))
+                .thenReturn(Optional.of(project));
+        when(timeRepository.getActiveTimeForProject(1L))
+                .thenReturn(Optional.of(time));
+
+        GetProjects getProjects = new GetProjects(
+                projectRepository,
+                timeRepository
+        );
+        Optional<Project> actual = getProjects.execute(1L);
+
+        assertTrue(actual.isPresent());
+        assertTrue(actual.get().isActive());
+        verify(timeRepository, never()).getActiveTime();
+    }
+
+    @Test
+    public void execute_withoutProjectForId() throws DomainException {
+        when(projectRepository.get(1L))
+                .thenReturn(Optional.empty());
+
+        GetProjects getProjects = new GetProjects(
+                projectRepository,
+                timeRepository
+        );
+        Optional<Project> actual = getProjects.execute(1L);
+
+        assertFalse(actual.isPresent());
+        verify(timeRepository, never()).getActiveTimeForProject(anyLong());
     }
 }
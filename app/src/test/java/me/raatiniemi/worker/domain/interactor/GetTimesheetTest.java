@@ -21,6 +21,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,6 +39,7 @@ import me.raatiniemi.worker.domain.repository.TimesheetRepository;
 import me.raatiniemi.worker.factory.TimeFactory;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -140,6 +142,20 @@ public class GetTimesheetTest {
         verify(repository).getTimesheet(eq(1L), eq(pageRequest));
     }
 
+    @Test
+    public void execute_hideRegisteredTimeBeforeDate() throws DomainException {
+        useCase.execute(1L, new Date(1L), true);
+
+        verify(repository).getTimesheetWithoutRegisteredEntries(eq(1L), eq(PageRequest.withBefore(new Date(1L))));
+    }
+
+    @Test
+    public void execute_withRegisteredTimeBeforeDate() throws DomainException {
+        useCase.execute(1L, new Date(1L), false);
+
+        verify(repository).getTimesheet(eq(1L), eq(PageRequest.withBefore(new Date(1L))));
+    }
+
     @Test
     public void execute_withSortedDatesHidingRegisteredTime() throws DomainException {
         when(repository.getTimesheetWithoutRegisteredEntries(1L, pageRequest))
@@ -175,4 +191,42 @@ public class GetTimesheetTest {
             put(new Date(1L), getSortedSet());
         }}, actual);
     }
+
+    @Test
+    public void executeForDay() throws DomainException {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2017, Calendar.FEBRUARY, 10, 12, 0, 0);
+        Date day = calendar.getTime();
+        calendar.add(Calendar.DATE, 1);
+        PageRequest pageRequest = PageRequest.withBeforeAndMaxResults(calendar.getTime(), 1);
+        when(repository.getTimesheet(1L, pageRequest))
+                .thenReturn(new HashMap<Date, Set<Time>>() {{
+                    put(day, getShuffledSet());
+                }});
+
+        SortedMap<Date, SortedSet<Time>> actual = useCase.executeForDay(1L, day, false);
+
+        assertEquals(new TreeMap<Date, SortedSet<Time>>() {{
+            put(day, getSortedSet());
+        }}, actual);
+    }
+
+    @Test
+    public void executeForDay_withoutTimeForDay() throws DomainException {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2017, Calendar.FEBRUARY, 10, 12, 0, 0);
+        Date day = calendar.getTime();
+        calendar.add(Calendar.DATE, 1);
+        PageRequest pageRequest = PageRequest.withBeforeAndMaxResults(calendar.getTime(), 1);
+        calendar.add(Calendar.DATE, -3);
+        Date previousDay = calendar.getTime();
+        when(repository.getTimesheetWithoutRegisteredEntries(1L, pageRequest))
+                .thenReturn(new HashMap<Date, Set<Time>>() {{
+                    put(previousDay, getShuffledSet());
+                }});
+
+        SortedMap<Date, SortedSet<Time>> actual = useCase.executeForDay(1L, day, true);
+
+        assertTrue(actual.isEmpty());
+    }
 }
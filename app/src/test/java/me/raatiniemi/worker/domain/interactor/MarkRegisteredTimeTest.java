@@ -22,6 +22,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
@@ -29,9 +31,13 @@ import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 import me.raatiniemi.worker.factory.TimeFactory;
 
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(JUnit4.class)
 public class MarkRegisteredTimeTest {
@@ -47,46 +53,59 @@ public class MarkRegisteredTimeTest {
         List<Time> timeToUpdate = new ArrayList<>();
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(2L)
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .build()
         );
 
+        when(timeRepository.updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), true))
+                .thenReturn(4);
+
         MarkRegisteredTime markRegisteredTime = new MarkRegisteredTime(timeRepository);
-        markRegisteredTime.execute(timeToUpdate);
+        List<Time> actual = markRegisteredTime.execute(timeToUpdate);
 
         List<Time> expectedTime = new ArrayList<>();
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .register()
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(2L)
                         .register()
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .register()
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .register()
                         .build()
         );
-        verify(timeRepository, times(1)).update(expectedTime);
+        assertEquals(expectedTime, actual);
+        verify(timeRepository, times(1)).updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), true);
+        verify(timeRepository, never()).get(anyList());
     }
 
     @Test
@@ -94,46 +113,58 @@ public class MarkRegisteredTimeTest {
         List<Time> timeToUpdate = new ArrayList<>();
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .register()
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(2L)
                         .register()
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .register()
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .register()
                         .build()
         );
 
+        when(timeRepository.updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), false))
+                .thenReturn(4);
+
         MarkRegisteredTime markRegisteredTime = new MarkRegisteredTime(timeRepository);
-        markRegisteredTime.execute(timeToUpdate);
+        List<Time> actual = markRegisteredTime.execute(timeToUpdate);
 
         List<Time> expectedTime = new ArrayList<>();
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(2L)
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .build()
         );
-        verify(timeRepository, times(1)).update(expectedTime);
+        assertEquals(expectedTime, actual);
+        verify(timeRepository, times(1)).updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), false);
     }
 
     @Test
@@ -141,49 +172,101 @@ public class MarkRegisteredTimeTest {
         List<Time> timeToUpdate = new ArrayList<>();
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(2L)
                         .register()
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .register()
                         .build()
         );
         timeToUpdate.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .register()
                         .build()
         );
 
+        when(timeRepository.updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), true))
+                .thenReturn(1);
+        when(timeRepository.get(Arrays.asList(1L, 2L, 3L, 4L)))
+                .thenReturn(
+                        Arrays.asList(
+                                TimeFactory.builder().id(1L).register().build(),
+                                TimeFactory.builder().id(2L).register().build(),
+                                TimeFactory.builder().id(3L).register().build(),
+                                TimeFactory.builder().id(4L).register().build()
+                        )
+                );
+
         MarkRegisteredTime markRegisteredTime = new MarkRegisteredTime(timeRepository);
-        markRegisteredTime.execute(timeToUpdate);
+        List<Time> actual = markRegisteredTime.execute(timeToUpdate);
 
         List<Time> expectedTime = new ArrayList<>();
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(1L)
+                        .register()
+                        .build()
+        );
+        expectedTime.add(
+                TimeFactory.builder()
+                        .id(2L)
                         .register()
                         .build()
         );
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(3L)
                         .register()
                         .build()
         );
+
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(4L)
                         .register()
                         .build()
         );
+        assertEquals(expectedTime, actual);
+        verify(timeRepository, times(1)).updateRegistered(Arrays.asList(1L, 2L, 3L, 4L), true);
+    }
+
+    @Test
+    public void execute_withRemovedItems() throws DomainException {
+        List<Time> timeToUpdate = new ArrayList<>();
+        timeToUpdate.add(
+                TimeFactory.builder()
+                        .id(1L)
+                        .build()
+        );
+        timeToUpdate.add(
+                TimeFactory.builder()
+                        .id(2L)
+                        .build()
+        );
+        when(timeRepository.updateRegistered(Arrays.asList(1L, 2L), true))
+                .thenReturn(1);
+        when(timeRepository.get(Arrays.asList(1L, 2L)))
+                .thenReturn(Collections.singletonList(TimeFactory.builder().id(1L).register().build()));
 
+        MarkRegisteredTime markRegisteredTime = new MarkRegisteredTime(timeRepository);
+        List<Time> actual = markRegisteredTime.execute(timeToUpdate);
+
+        List<Time> expectedTime = new ArrayList<>();
         expectedTime.add(
                 TimeFactory.builder()
+                        .id(1L)
                         .register()
                         .build()
         );
-        verify(timeRepository, times(1)).update(expectedTime);
+        assertEquals(expectedTime, actual);
     }
 }
@@ -22,6 +22,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import me.raatiniemi.worker.domain.exception.DomainException;
@@ -29,9 +30,11 @@ import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.domain.repository.TimeRepository;
 import me.raatiniemi.worker.factory.TimeFactory;
 
+import static junit.framework.Assert.assertEquals;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(JUnit4.class)
 public class RemoveTimeTest {
@@ -61,9 +64,22 @@ public class RemoveTimeTest {
                 .id(1L)
                 .build();
         List<Time> items = Collections.singletonList(time);
+        when(timeRepository.remove(items))
+                .thenReturn(1);
 
-        removeTime.execute(items);
+        int numberOfRemovedItems = removeTime.execute(items);
 
+        assertEquals(1, numberOfRemovedItems);
         verify(timeRepository).remove(eq(items));
     }
+
+    @Test
+    public void execute_withRange() {
+        when(timeRepository.removeForProjectBetween(1L, 1L, 2L))
+                .thenReturn(2);
+
+        int numberOfRemovedItems = removeTime.execute(1L, new Date(1L), new Date(2L));
+
+        assertEquals(2, numberOfRemovedItems);
+    }
 }
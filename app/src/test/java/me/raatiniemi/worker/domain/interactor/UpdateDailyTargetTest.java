@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.raatiniemi.worker.domain.interactor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import me.raatiniemi.worker.domain.exception.DomainException;
+import me.raatiniemi.worker.domain.exception.NoProjectException;
+import me.raatiniemi.worker.domain.model.Project;
+import me.raatiniemi.worker.domain.repository.ProjectRepository;
+import me.raatiniemi.worker.util.Optional;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class UpdateDailyTargetTest {
+    private ProjectRepository projectRepository;
+    private UpdateDailyTarget updateDailyTarget;
+
+    @Before
+    public void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        updateDailyTarget = new UpdateDailyTarget(projectRepository);
+    }
+
+    @Test
+    public void execute() throws DomainException {
+        Project project = Project.builder("Name")
+                .id(1L)
+                .dailyTargetInMinutes(450L)
+                .build();
+        when(projectRepository.updateDailyTarget(eq(1L), eq(450L)))
+                .thenReturn(Optional.of(project));
+
+        assertEquals(project, updateDailyTarget.execute(1L, 450L));
+    }
+
+    @Test(expected = NoProjectException.class)
+    public void execute_withoutProject() throws DomainException {
+        when(projectRepository.updateDailyTarget(eq(1L), eq(450L)))
+                .thenReturn(Optional.empty());
+
+        updateDailyTarget.execute(1L, 450L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void execute_withNegativeTarget() throws DomainException {
+        updateDailyTarget.execute(1L, -1L);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.model;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class ElapsedTimeTest {
+    @Test
+    public void isActive_withoutActiveStart() {
+        ElapsedTime elapsedTime = new ElapsedTime(1000L, 0L);
+
+        assertFalse(elapsedTime.isActive());
+    }
+
+    @Test
+    public void isActive_withActiveStart() {
+        ElapsedTime elapsedTime = new ElapsedTime(1000L, 5000L);
+
+        assertTrue(elapsedTime.isActive());
+    }
+
+    @Test
+    public void getElapsedAt_withoutActiveStart() {
+        ElapsedTime elapsedTime = new ElapsedTime(1000L, 0L);
+
+        assertEquals(1000L, elapsedTime.getElapsedAt(10000L));
+    }
+
+    @Test
+    public void getElapsedAt_withActiveStart() {
+        ElapsedTime elapsedTime = new ElapsedTime(1000L, 5000L);
+
+        assertEquals(6000L, elapsedTime.getElapsedAt(10000L));
+    }
+}
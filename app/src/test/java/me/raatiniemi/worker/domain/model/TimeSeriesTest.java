@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.domain.model;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Calendar;
+
+import me.raatiniemi.worker.factory.TimeFactory;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+@RunWith(JUnit4.class)
+public class TimeSeriesTest {
+    private static final long HOUR = 3600000L;
+
+    private static long startOfDay(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void add() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 10L, 20L, false);
+        series.add(2L, 30L, 0L, true);
+
+        assertEquals(2, series.size());
+        assertEquals(1L, series.getId(0));
+        assertEquals(10L, series.getStartInMilliseconds(0));
+        assertEquals(20L, series.getStopInMilliseconds(0));
+        assertFalse(series.isRegistered(0));
+        assertFalse(series.isActive(0));
+        assertEquals(10L, series.getTime(0));
+        assertTrue(series.isRegistered(1));
+        assertTrue(series.isActive(1));
+        assertEquals(0L, series.getTime(1));
+    }
+
+    @Test
+    public void add_withTime() {
+        TimeSeries series = new TimeSeries(0);
+        series.add(
+                TimeFactory.builder()
+                        .id(3L)
+                        .startInMilliseconds(1L)
+                        .stopInMilliseconds(2L)
+                        .register()
+                        .build()
+        );
+
+        assertEquals(1, series.size());
+        assertEquals(3L, series.getId(0));
+        assertTrue(series.isRegistered(0));
+    }
+
+    @Test
+    public void add_beyondInitialCapacity() {
+        TimeSeries series = new TimeSeries(1);
+        for (int i = 0; i < 200; i++) {
+            series.add(i, i, i + 1, 0 == i % 3);
+        }
+
+        assertEquals(200, series.size());
+        assertEquals(199L, series.getId(199));
+        assertTrue(series.isRegistered(129));
+        assertFalse(series.isRegistered(130));
+        assertEquals(200L, series.sum());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getId_withIndexOutOfBounds() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 10L, 20L, false);
+
+        series.getId(1);
+    }
+
+    @Test
+    public void isEmpty() {
+        assertTrue(new TimeSeries().isEmpty());
+    }
+
+    @Test
+    public void sum_withActiveTime() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 10L, 20L, false);
+        series.add(2L, 30L, 45L, true);
+        series.add(3L, 50L, 0L, false);
+
+        assertEquals(25L, series.sum());
+    }
+
+    @Test
+    public void sum_withRange() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 10L, 20L, false);
+        series.add(2L, 30L, 45L, false);
+        series.add(3L, 50L, 60L, false);
+
+        assertEquals(25L, series.sum(30L, 60L));
+    }
+
+    @Test
+    public void between() {
+        TimeSeries series = new TimeSeries();
+        series.add(1L, 10L, 20L, false);
+        series.add(2L, 30L, 45L, true);
+        series.add(3L, 50L, 60L, false);
+
+        TimeSeries actual = series.between(20L, 50L);
+
+        assertEquals(1, actual.size());
+        assertEquals(2L, actual.getId(0));
+        assertTrue(actual.isRegistered(0));
+    }
+
+    @Test
+    public void summarizeByDay() {
+        long firstDay = startOfDay(2017, Calendar.JANUARY, 1);
+        long secondDay = startOfDay(2017, Calendar.JANUARY, 2);
+        long fourthDay = startOfDay(2017, Calendar.JANUARY, 4);
+        TimeSeries series = new TimeSeries();
+        series.add(1L, firstDay - HOUR, firstDay, false);
+        series.add(2L, firstDay + HOUR, firstDay + 2 * HOUR, false);
+        series.add(3L, firstDay + 3 * HOUR, firstDay + 5 * HOUR, false);
+        series.add(4L, secondDay, secondDay + HOUR, false);
+        series.add(5L, secondDay + 2 * HOUR, 0L, false);
+        series.add(6L, fourthDay + HOUR, fourthDay + 2 * HOUR, false);
+
+        long[] actual = series.summarizeByDay(firstDay + 6 * HOUR, 3);
+
+        assertArrayEquals(new long[]{3 * HOUR, HOUR, 0L}, actual);
+    }
+}
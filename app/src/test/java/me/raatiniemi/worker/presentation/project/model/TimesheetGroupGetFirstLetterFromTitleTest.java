@@ -25,8 +25,10 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.GregorianCalendar;
+import java.util.TreeSet;
 
 import static junit.framework.Assert.assertEquals;
+import static me.raatiniemi.worker.domain.model.Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
 
 @RunWith(Parameterized.class)
 public class TimesheetGroupGetFirstLetterFromTitleTest {
@@ -35,7 +37,7 @@ public class TimesheetGroupGetFirstLetterFromTitleTest {
 
     public TimesheetGroupGetFirstLetterFromTitleTest(String expected, Calendar calendar) {
         this.expected = expected;
-        item = TimesheetGroup.build(calendar.getTime());
+        item = TimesheetGroup.build(calendar.getTime(), new TreeSet<>(), DEFAULT_DAILY_TARGET_IN_MINUTES);
     }
 
     @Parameters
@@ -25,8 +25,10 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.GregorianCalendar;
+import java.util.TreeSet;
 
 import static junit.framework.Assert.assertEquals;
+import static me.raatiniemi.worker.domain.model.Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
 
 @RunWith(Parameterized.class)
 public class TimesheetGroupGetTitleTest {
@@ -52,7 +54,11 @@ public class TimesheetGroupGetTitleTest {
 
     @Test
     public void getTitle() {
-        TimesheetGroup groupItem = TimesheetGroup.build(calendar.getTime());
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                calendar.getTime(),
+                new TreeSet<>(),
+                DEFAULT_DAILY_TARGET_IN_MINUTES
+        );
 
         assertEquals(expected, groupItem.getTitle());
     }
@@ -31,6 +31,7 @@ import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.factory.TimeFactory;
 
 import static junit.framework.Assert.assertEquals;
+import static me.raatiniemi.worker.domain.model.Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
 
 @RunWith(Parameterized.class)
 public class TimesheetGroupIsRegisteredTest {
@@ -51,7 +52,7 @@ public class TimesheetGroupIsRegisteredTest {
 
         TreeSet<Time> items = new TreeSet<>(new TimesheetItemComparator());
         items.addAll(Arrays.asList(times));
-        item = TimesheetGroup.build(new Date(), items);
+        item = TimesheetGroup.build(new Date(), items, DEFAULT_DAILY_TARGET_IN_MINUTES);
     }
 
     @Parameters
@@ -33,6 +33,7 @@ import me.raatiniemi.worker.domain.model.Time;
 import me.raatiniemi.worker.factory.TimeFactory;
 
 import static junit.framework.Assert.assertEquals;
+import static me.raatiniemi.worker.domain.model.Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
 
 @RunWith(Parameterized.class)
 public class TimesheetGroupItemBuildResultsTest {
@@ -55,7 +56,7 @@ public class TimesheetGroupItemBuildResultsTest {
 
     private static TimesheetGroup buildTimesheetGroupWithNumberOfItems(int numberOfItems) {
         if (0 == numberOfItems) {
-            return TimesheetGroup.build(new Date());
+            return TimesheetGroup.build(new Date(), new TreeSet<>(), DEFAULT_DAILY_TARGET_IN_MINUTES);
         }
 
         SortedSet<Time> times = new TreeSet<>(new TimesheetItemComparator());
@@ -63,7 +64,7 @@ public class TimesheetGroupItemBuildResultsTest {
             times.add(TimeFactory.builder().startInMilliseconds(i).build());
         }
 
-        return TimesheetGroup.build(new Date(), times);
+        return TimesheetGroup.build(new Date(), times, DEFAULT_DAILY_TARGET_IN_MINUTES);
     }
 
     @Parameters
@@ -20,19 +20,107 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import me.raatiniemi.worker.domain.comparator.TimesheetItemComparator;
+import me.raatiniemi.worker.domain.model.Time;
+import me.raatiniemi.worker.domain.model.TimesheetItem;
+import me.raatiniemi.worker.factory.TimeFactory;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static me.raatiniemi.worker.domain.model.Project.DEFAULT_DAILY_TARGET_IN_MINUTES;
 
 @RunWith(JUnit4.class)
 public class TimesheetGroupTest {
+    private static Time buildTimeWithInterval(long interval) {
+        return TimeFactory.builder()
+                .startInMilliseconds(1L)
+                .stopInMilliseconds(interval)
+                .build();
+    }
+
+    private static SortedSet<Time> buildTimes(Time... times) {
+        SortedSet<Time> items = new TreeSet<>(new TimesheetItemComparator());
+        items.addAll(Arrays.asList(times));
+
+        return items;
+    }
+
     @Test
     public void getId() {
         Date date = new Date();
         long days = date.getTime() / 1000 / 60 / 60 / 24;
 
-        TimesheetGroup groupItem = TimesheetGroup.build(date);
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                date,
+                new TreeSet<>(),
+                DEFAULT_DAILY_TARGET_IN_MINUTES
+        );
 
         assertEquals(days, groupItem.getId());
     }
+
+    @Test
+    public void isForDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2017, Calendar.FEBRUARY, 10, 8, 0, 0);
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                calendar.getTime(),
+                new TreeSet<>(),
+                DEFAULT_DAILY_TARGET_IN_MINUTES
+        );
+
+        calendar.set(Calendar.HOUR_OF_DAY, 23);
+        assertTrue(groupItem.isForDay(calendar.getTime()));
+
+        calendar.add(Calendar.DATE, 1);
+        assertFalse(groupItem.isForDay(calendar.getTime()));
+    }
+
+    @Test
+    public void getTimeSummaryWithDifference_withDailyTarget() {
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                new Date(),
+                buildTimes(buildTimeWithInterval(27000000L)),
+                7 * 60 + 30
+        );
+
+        assertEquals("7.50", groupItem.getTimeSummaryWithDifference());
+        assertEquals(750L, groupItem.getTimeSummaryInHundredths());
+        assertEquals(0L, groupItem.getTimeDifferenceInHundredths());
+    }
+
+    @Test
+    public void getTimeSummaryWithDifference_afterSet() {
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                new Date(),
+                buildTimes(buildTimeWithInterval(3600000L)),
+                DEFAULT_DAILY_TARGET_IN_MINUTES
+        );
+
+        groupItem.set(0, new TimesheetItem(buildTimeWithInterval(32400000L)));
+
+        assertEquals("9.00 (+1.00)", groupItem.getTimeSummaryWithDifference());
+        assertEquals(100L, groupItem.getTimeDifferenceInHundredths());
+    }
+
+    @Test
+    public void getTimeSummaryWithDifference_afterRemove() {
+        TimesheetGroup groupItem = TimesheetGroup.build(
+                new Date(),
+                buildTimes(buildTimeWithInterval(3600000L)),
+                DEFAULT_DAILY_TARGET_IN_MINUTES
+        );
+
+        groupItem.remove(0);
+
+        assertEquals("0.00 (-8.00)", groupItem.getTimeSummaryWithDifference());
+        assertEquals(-800L, groupItem.getTimeDifferenceInHundredths());
+    }
 }
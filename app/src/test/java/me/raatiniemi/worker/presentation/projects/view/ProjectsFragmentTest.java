@@ -25,9 +25,11 @@ import java.util.Collections;
 
 import me.raatiniemi.worker.RobolectricTestCase;
 import me.raatiniemi.worker.domain.interactor.ClockActivityChange;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProjectElapsedTimeSince;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
+import me.raatiniemi.worker.domain.interactor.GetProjectTimeSummarySince;
 import me.raatiniemi.worker.domain.interactor.GetProjects;
-import me.raatiniemi.worker.presentation.model.OngoingNotificationActionEvent;
 import me.raatiniemi.worker.presentation.projects.viewmodel.ClockActivityViewModel;
 import me.raatiniemi.worker.presentation.projects.viewmodel.ProjectsViewModel;
 import me.raatiniemi.worker.presentation.settings.model.TimeSummaryStartingPointChangeEvent;
@@ -55,10 +57,22 @@ public class ProjectsFragmentTest extends RobolectricTestCase {
                 .thenReturn(Collections.emptyList());
 
         GetProjectTimeSince getProjectTimeSince = mock(GetProjectTimeSince.class);
+        GetProjectTimeSummarySince getProjectTimeSummarySince = mock(GetProjectTimeSummarySince.class);
+        GetProjectElapsedTimeSince getProjectElapsedTimeSince = mock(GetProjectElapsedTimeSince.class);
+        GetFlexBalance getFlexBalance = mock(GetFlexBalance.class);
         ClockActivityChange clockActivityChange = mock(ClockActivityChange.class);
 
-        ProjectsViewModel.ViewModel projectsViewModel = new ProjectsViewModel.ViewModel(getProjects, getProjectTimeSince);
-        ClockActivityViewModel.ViewModel clockActivityViewModel = new ClockActivityViewModel.ViewModel(clockActivityChange, getProjectTimeSince);
+        ProjectsViewModel.ViewModel projectsViewModel = new ProjectsViewModel.ViewModel(
+                getProjects,
+                getProjectTimeSummarySince,
+                getProjectElapsedTimeSince,
+                getFlexBalance
+        );
+        ClockActivityViewModel.ViewModel clockActivityViewModel = new ClockActivityViewModel.ViewModel(
+                clockActivityChange,
+                getProjectTimeSince,
+                getFlexBalance
+        );
         adapter = mock(ProjectsAdapter.class);
 
         fragment = new ProjectsFragment();
@@ -75,14 +89,6 @@ public class ProjectsFragmentTest extends RobolectricTestCase {
         eventBus.unregister(fragment);
     }
 
-    @Test
-    public void onEventMainThread_ongoingNotificationActionEvent() {
-        eventBus.post(new OngoingNotificationActionEvent(1L));
-
-        verify(adapter).clear();
-        verify(adapter).add(eq(Collections.emptyList()));
-    }
-
     @Test
     public void onEventMainThread_timeSummaryStartingPointChangeEvent() {
         eventBus.post(new TimeSummaryStartingPointChangeEvent());
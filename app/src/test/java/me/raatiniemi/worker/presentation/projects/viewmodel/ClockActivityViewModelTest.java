@@ -27,6 +27,7 @@ import java.util.List;
 import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.interactor.ClockActivityChange;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
@@ -46,6 +47,7 @@ import static org.mockito.Mockito.when;
 public class ClockActivityViewModelTest {
     private final ClockActivityChange clockActivityChange = mock(ClockActivityChange.class);
     private final GetProjectTimeSince getProjectTimeSince = mock(GetProjectTimeSince.class);
+    private final GetFlexBalance getFlexBalance = mock(GetFlexBalance.class);
     private ClockActivityViewModel.ViewModel vm;
 
     private final TestSubscriber<ProjectsItemAdapterResult> clockInSuccess = new TestSubscriber<>();
@@ -56,7 +58,7 @@ public class ClockActivityViewModelTest {
 
     @Before
     public void setUp() {
-        vm = new ClockActivityViewModel.ViewModel(clockActivityChange, getProjectTimeSince);
+        vm = new ClockActivityViewModel.ViewModel(clockActivityChange, getProjectTimeSince, getFlexBalance);
 
         vm.output().clockInSuccess().subscribe(clockInSuccess);
         vm.error().clockInError().subscribe(clockInError);
@@ -106,7 +108,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockInSuccess.getOnNextEvents(), true);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.MONTH));
+                .executeSummary(any(), eq(GetProjectTimeSince.MONTH));
     }
 
     @Test
@@ -131,7 +133,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockInSuccess.getOnNextEvents(), true);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.DAY));
+                .executeSummary(any(), eq(GetProjectTimeSince.DAY));
     }
 
     @Test
@@ -156,7 +158,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockInSuccess.getOnNextEvents(), true);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.MONTH));
+                .executeSummary(any(), eq(GetProjectTimeSince.MONTH));
     }
 
     @Test
@@ -200,7 +202,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockOutSuccess.getOnNextEvents(), false);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.MONTH));
+                .executeSummary(any(), eq(GetProjectTimeSince.MONTH));
     }
 
     @Test
@@ -225,7 +227,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockOutSuccess.getOnNextEvents(), false);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.DAY));
+                .executeSummary(any(), eq(GetProjectTimeSince.DAY));
     }
 
     @Test
@@ -250,7 +252,7 @@ public class ClockActivityViewModelTest {
         clockOutError.assertNoTerminalEvent();
         verifyProjectStatus(clockOutSuccess.getOnNextEvents(), false);
         verify(getProjectTimeSince)
-                .execute(any(), eq(GetProjectTimeSince.MONTH));
+                .executeSummary(any(), eq(GetProjectTimeSince.MONTH));
     }
 
     private Project mockProjectWithStatus(boolean isActive) {
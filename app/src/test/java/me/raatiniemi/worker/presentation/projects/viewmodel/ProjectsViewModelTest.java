@@ -23,20 +23,27 @@ import org.junit.runners.JUnit4;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
-import me.raatiniemi.worker.domain.exception.ClockOutBeforeClockInException;
 import me.raatiniemi.worker.domain.exception.DomainException;
 import me.raatiniemi.worker.domain.exception.InvalidProjectNameException;
+import me.raatiniemi.worker.domain.interactor.GetFlexBalance;
+import me.raatiniemi.worker.domain.interactor.GetProjectElapsedTimeSince;
 import me.raatiniemi.worker.domain.interactor.GetProjectTimeSince;
+import me.raatiniemi.worker.domain.interactor.GetProjectTimeSummarySince;
 import me.raatiniemi.worker.domain.interactor.GetProjects;
+import me.raatiniemi.worker.domain.model.ElapsedTime;
 import me.raatiniemi.worker.domain.model.Project;
 import me.raatiniemi.worker.presentation.projects.model.ProjectsItem;
+import me.raatiniemi.worker.util.Optional;
 import rx.observers.TestSubscriber;
 
+import static junit.framework.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,11 +53,14 @@ public class ProjectsViewModelTest {
     private TestSubscriber<Throwable> projectsError;
 
     private GetProjects getProjects;
-    private GetProjectTimeSince getProjectTimeSince;
+    private GetProjectTimeSummarySince getProjectTimeSummarySince;
+    private GetProjectElapsedTimeSince getProjectElapsedTimeSince;
+    private GetFlexBalance getFlexBalance;
     private ProjectsViewModel.ViewModel vm;
 
     private List<Project> getProjects() throws InvalidProjectNameException {
         Project project = Project.builder("Name")
+                .id(1L)
                 .build();
 
         return Collections.singletonList(project);
@@ -62,8 +72,15 @@ public class ProjectsViewModelTest {
         projectsError = new TestSubscriber<>();
 
         getProjects = mock(GetProjects.class);
-        getProjectTimeSince = mock(GetProjectTimeSince.class);
-        vm = new ProjectsViewModel.ViewModel(getProjects, getProjectTimeSince);
+        getProjectTimeSummarySince = mock(GetProjectTimeSummarySince.class);
+        getProjectElapsedTimeSince = mock(GetProjectElapsedTimeSince.class);
+        getFlexBalance = mock(GetFlexBalance.class);
+        vm = new ProjectsViewModel.ViewModel(
+                getProjects,
+                getProjectTimeSummarySince,
+                getProjectElapsedTimeSince,
+                getFlexBalance
+        );
     }
 
     @Test
@@ -80,11 +97,11 @@ public class ProjectsViewModelTest {
     }
 
     @Test
-    public void projects_withGetProjectTimeSinceError() throws DomainException {
+    public void projects_withoutRegisteredTime() throws DomainException {
         when(getProjects.execute())
                 .thenReturn(getProjects());
-        when(getProjectTimeSince.execute(any(Project.class), eq(GetProjectTimeSince.MONTH)))
-                .thenThrow(ClockOutBeforeClockInException.class);
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(Collections.emptyMap());
         vm.error().projectsError().subscribe(projectsError);
 
         vm.output().projects().subscribe(projects);
@@ -92,14 +109,50 @@ public class ProjectsViewModelTest {
         projects.assertValueCount(1);
         projects.assertCompleted();
         projectsError.assertNoValues();
+        assertEquals("0m", projects.getOnNextEvents().get(0).get(0).getTimeSummary());
+    }
+
+    @Test
+    public void projects_withRegisteredTime() throws DomainException {
+        Map<Long, Long> registeredTimeSummaries = Collections.singletonMap(1L, 5400000L);
+        when(getProjects.execute())
+                .thenReturn(getProjects());
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(registeredTimeSummaries);
+        vm.error().projectsError().subscribe(projectsError);
+
+        vm.output().projects().subscribe(projects);
+
+        projects.assertValueCount(1);
+        projects.assertCompleted();
+        projectsError.assertNoValues();
+        assertEquals("1h 30m", projects.getOnNextEvents().get(0).get(0).getTimeSummary());
+    }
+
+    @Test
+    public void projects_withFlexBalance() throws DomainException {
+        when(getProjects.execute())
+                .thenReturn(getProjects());
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(Collections.emptyMap());
+        when(getFlexBalance.execute())
+                .thenReturn(Collections.singletonMap(1L, -5400000L));
+        vm.error().projectsError().subscribe(projectsError);
+
+        vm.output().projects().subscribe(projects);
+
+        projects.assertValueCount(1);
+        projects.assertCompleted();
+        projectsError.assertNoValues();
+        verify(getFlexBalance).execute();
     }
 
     @Test
     public void projects() throws DomainException {
         when(getProjects.execute())
                 .thenReturn(getProjects());
-        when(getProjectTimeSince.execute(any(Project.class), anyInt()))
-                .thenReturn(Collections.emptyList());
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(Collections.emptyMap());
         vm.error().projectsError().subscribe(projectsError);
 
         vm.output().projects().subscribe(projects);
@@ -107,16 +160,16 @@ public class ProjectsViewModelTest {
         projects.assertValueCount(1);
         projects.assertCompleted();
         projectsError.assertNoValues();
-        verify(getProjectTimeSince)
-                .execute(any(Project.class), eq(GetProjectTimeSince.MONTH));
+        verify(getProjectTimeSummarySince)
+                .execute(eq(GetProjectTimeSince.MONTH));
     }
 
     @Test
     public void projects_withWeekAsTimeSummaryStartingPoint() throws DomainException {
         when(getProjects.execute())
                 .thenReturn(getProjects());
-        when(getProjectTimeSince.execute(any(Project.class), anyInt()))
-                .thenReturn(Collections.emptyList());
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(Collections.emptyMap());
         vm.error().projectsError().subscribe(projectsError);
 
         vm.input().startingPointForTimeSummary(GetProjectTimeSince.WEEK);
@@ -125,16 +178,16 @@ public class ProjectsViewModelTest {
         projects.assertValueCount(1);
         projects.assertCompleted();
         projectsError.assertNoValues();
-        verify(getProjectTimeSince)
-                .execute(any(Project.class), eq(GetProjectTimeSince.WEEK));
+        verify(getProjectTimeSummarySince)
+                .execute(eq(GetProjectTimeSince.WEEK));
     }
 
     @Test
     public void projects_withInvalidTimeSummaryStartingPoint() throws DomainException {
         when(getProjects.execute())
                 .thenReturn(getProjects());
-        when(getProjectTimeSince.execute(any(Project.class), anyInt()))
-                .thenReturn(Collections.emptyList());
+        when(getProjectTimeSummarySince.execute(anyInt()))
+                .thenReturn(Collections.emptyMap());
         vm.error().projectsError().subscribe(projectsError);
 
         vm.input().startingPointForTimeSummary(-1);
@@ -143,8 +196,8 @@ public class ProjectsViewModelTest {
         projects.assertValueCount(1);
         projects.assertCompleted();
         projectsError.assertNoValues();
-        verify(getProjectTimeSince)
-                .execute(any(Project.class), eq(GetProjectTimeSince.MONTH));
+        verify(getProjectTimeSummarySince)
+                .execute(eq(GetProjectTimeSince.MONTH));
     }
 
     @Test
@@ -158,5 +211,55 @@ public class ProjectsViewModelTest {
         projects.assertValueCount(1);
         projects.assertCompleted();
         projectsError.assertNoValues();
+        verify(getProjectTimeSummarySince, never()).execute(anyInt());
+    }
+
+    @Test
+    public void project_withGetProjectError() throws DomainException {
+        TestSubscriber<Optional<ProjectsItem>> project = new TestSubscriber<>();
+        when(getProjects.execute(1L))
+                .thenThrow(DomainException.class);
+        vm.error().projectsError().subscribe(projectsError);
+
+        vm.output().project(1L).subscribe(project);
+
+        project.assertNoValues();
+        project.assertCompleted();
+        projectsError.assertValueCount(1);
+    }
+
+    @Test
+    public void project_withoutProject() throws DomainException {
+        TestSubscriber<Optional<ProjectsItem>> project = new TestSubscriber<>();
+        when(getProjects.execute(1L))
+                .thenReturn(Optional.empty());
+        vm.error().projectsError().subscribe(projectsError);
+
+        vm.output().project(1L).subscribe(project);
+
+        project.assertValue(Optional.empty());
+        project.assertCompleted();
+        projectsError.assertNoValues();
+        verify(getProjectElapsedTimeSince, never()).execute(any(), anyInt());
+    }
+
+    @Test
+    public void project() throws DomainException {
+        TestSubscriber<Optional<ProjectsItem>> project = new TestSubscriber<>();
+        when(getProjects.execute(1L))
+                .thenReturn(Optional.of(getProjects().get(0)));
+        when(getProjectElapsedTimeSince.execute(any(), anyInt()))
+                .thenReturn(new ElapsedTime(5400000L, 0L));
+        vm.error().projectsError().subscribe(projectsError);
+
+        vm.input().startingPointForTimeSummary(GetProjectTimeSince.WEEK);
+        vm.output().project(1L).subscribe(project);
+
+        project.assertValueCount(1);
+        project.assertCompleted();
+        projectsError.assertNoValues();
+        assertEquals("1h 30m", project.getOnNextEvents().get(0).get().getTimeSummary());
+        verify(getProjectElapsedTimeSince)
+                .execute(any(), eq(GetProjectTimeSince.WEEK));
     }
 }
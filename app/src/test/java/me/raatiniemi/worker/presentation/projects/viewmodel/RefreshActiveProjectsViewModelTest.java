@@ -85,4 +85,16 @@ public class RefreshActiveProjectsViewModelTest {
         positionsForActiveProjects.assertValue(Collections.singletonList(1));
         positionsForActiveProjects.assertNotCompleted();
     }
+
+    @Test
+    public void positionsForActiveProjects_withActiveProjects() throws DomainException {
+        vm.output().positionsForActiveProjects()
+                .subscribe(positionsForActiveProjects);
+        ProjectsItem projectsItem = getProjectsItem(true);
+
+        vm.input().projects(Arrays.asList(projectsItem, getProjectsItem(false), projectsItem));
+
+        positionsForActiveProjects.assertValue(Arrays.asList(0, 2));
+        positionsForActiveProjects.assertNotCompleted();
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package me.raatiniemi.worker.presentation.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static junit.framework.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class FlexBalanceFormatTest {
+    private final String expected;
+    private final long balanceInMilliseconds;
+
+    public FlexBalanceFormatTest(String expected, long balanceInMilliseconds) {
+        this.expected = expected;
+        this.balanceInMilliseconds = balanceInMilliseconds;
+    }
+
+    @Parameters
+    public static Collection<Object[]> getParameters() {
+        return Arrays.asList(
+                new Object[][]{
+                        {
+                                "0m",
+                                0L
+                        },
+                        {
+                                "0m",
+                                -10000L
+                        },
+                        {
+                                "+1m",
+                                60000L
+                        },
+                        {
+                                "+7h 30m",
+                                27000000L
+                        },
+                        {
+                                "-30m",
+                                -1800000L
+                        },
+                        {
+                                "-8h 0m",
+                                -28800000L
+                        }
+                }
+        );
+    }
+
+    @Test
+    public void format() {
+        FlexBalanceFormat format = new FlexBalanceFormat();
+
+        assertEquals(expected, format.format(balanceInMilliseconds));
+    }
+}
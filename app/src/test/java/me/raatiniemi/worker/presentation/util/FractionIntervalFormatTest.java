@@ -63,6 +63,26 @@ public class FractionIntervalFormatTest {
                         {
                                 "56.42",
                                 203100000L
+                        },
+                        {
+                                "0.00",
+                                0L
+                        },
+                        {
+                                "0.02",
+                                60000L
+                        },
+                        {
+                                "0.98",
+                                3540000L
+                        },
+                        {
+                                "1.00",
+                                3599000L
+                        },
+                        {
+                                "-1.50",
+                                -5400000L
                         }
                 }
         );
@@ -71,6 +71,14 @@ public class HoursMinutesIntervalFormatTest {
                         {
                                 "1h 0m",
                                 3580000L
+                        },
+                        {
+                                "0m",
+                                0L
+                        },
+                        {
+                                "-1h 30m",
+                                -5400000L
                         }
                 }
         );
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2017 Worker Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package me.raatiniemi.worker.presentation.view.adapter;
+
+import android.support.v7.widget.RecyclerView.ViewHolder;
+import android.view.ViewGroup;
+
+import com.h6ah4i.android.widget.advrecyclerview.expandable.RecyclerViewExpandableItemManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import me.raatiniemi.worker.RobolectricTestCase;
+import me.raatiniemi.worker.presentation.model.ExpandableItem;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class ExpandableListAdapterTest extends RobolectricTestCase {
+    private RecyclerViewExpandableItemManager expandableItemManager;
+    private Adapter adapter;
+
+    private static Group group(String... children) {
+        return new Group(Arrays.asList(children));
+    }
+
+    @Before
+    public void setUp() {
+        expandableItemManager = mock(RecyclerViewExpandableItemManager.class);
+
+        adapter = new Adapter();
+        adapter.add(Arrays.asList(group("a", "b"), group("c")));
+        adapter.setExpandableItemManager(expandableItemManager);
+    }
+
+    @Test
+    public void set_withSameNumberOfChildren() {
+        adapter.set(0, group("d", "e"));
+
+        verify(expandableItemManager).notifyGroupAndChildrenItemsChanged(0);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void set_withMoreChildren() {
+        adapter.set(1, group("d", "e", "f"));
+
+        verify(expandableItemManager).notifyGroupItemChanged(1);
+        verify(expandableItemManager).notifyChildItemRangeChanged(1, 0, 1);
+        verify(expandableItemManager).notifyChildItemRangeInserted(1, 1, 2);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void set_withFewerChildren() {
+        adapter.set(0, group("d"));
+
+        verify(expandableItemManager).notifyGroupItemChanged(0);
+        verify(expandableItemManager).notifyChildItemRangeChanged(0, 0, 1);
+        verify(expandableItemManager).notifyChildItemRangeRemoved(0, 1, 1);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void set_withChild() {
+        adapter.set(0, 1, "d");
+
+        assertEquals("d", adapter.get(0, 1));
+        verify(expandableItemManager).notifyChildItemChanged(0, 1);
+        verify(expandableItemManager).notifyGroupItemChanged(0);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void add_withIndex() {
+        adapter.add(1, group("d"));
+
+        verify(expandableItemManager).notifyGroupItemRangeInserted(1, 1);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void add_withItems() {
+        int index = adapter.add(Arrays.asList(group("d"), group("e")));
+
+        assertEquals(2, index);
+        assertEquals(4, adapter.getGroupCount());
+        verify(expandableItemManager).notifyGroupItemRangeInserted(2, 2);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void add_withoutItems() {
+        int index = adapter.add(Collections.emptyList());
+
+        assertEquals(2, index);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void remove() {
+        adapter.remove(0);
+
+        assertEquals(1, adapter.getGroupCount());
+        verify(expandableItemManager).notifyGroupItemRangeRemoved(0, 1);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void remove_withChild() {
+        adapter.remove(0, 0);
+
+        assertEquals("b", adapter.get(0, 0));
+        verify(expandableItemManager).notifyChildItemRemoved(0, 0);
+        verify(expandableItemManager).notifyGroupItemChanged(0);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void remove_withLastChild() {
+        adapter.remove(1, 0);
+
+        assertEquals(1, adapter.getGroupCount());
+        verify(expandableItemManager).notifyGroupItemRangeRemoved(1, 1);
+        verify(expandableItemManager, never()).notifyChildItemRemoved(1, 0);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    @Test
+    public void clear() {
+        adapter.clear();
+
+        assertEquals(0, adapter.getGroupCount());
+        verify(expandableItemManager).notifyGroupItemRangeRemoved(0, 2);
+        verifyNoMoreInteractions(expandableItemManager);
+    }
+
+    private static class Group implements ExpandableItem<String> {
+        private final List<String> children;
+
+        private Group(List<String> children) {
+            this.children = new ArrayList<>(children);
+        }
+
+        @Override
+        public String get(int index) {
+            return children.get(index);
+        }
+
+        @Override
+        public void set(int index, String item) {
+            children.set(index, item);
+        }
+
+        @Override
+        public String remove(int index) {
+            return children.remove(index);
+        }
+
+        @Override
+        public int size() {
+            return children.size();
+        }
+    }
+
+    private static class Adapter extends ExpandableListAdapter<String, Group, ViewHolder, ViewHolder> {
+        @Override
+        public long getGroupId(int group) {
+            return group;
+        }
+
+        @Override
+        public long getChildId(int group, int child) {
+            return child;
+        }
+
+        @Override
+        public ViewHolder onCreateGroupViewHolder(ViewGroup parent, int viewType) {
+            return null;
+        }
+
+        @Override
+        public ViewHolder onCreateChildViewHolder(ViewGroup parent, int viewType) {
+            return null;
+        }
+
+        @Override
+        public void onBindGroupViewHolder(ViewHolder vh, int group, int viewType) {
+        }
+
+        @Override
+        public void onBindChildViewHolder(ViewHolder vh, int group, int child, int viewType) {
+        }
+
+        @Override
+        public boolean onCheckCanExpandOrCollapseGroup(ViewHolder vh, int group, int x, int y, boolean expand) {
+            return false;
+        }
+    }
+}